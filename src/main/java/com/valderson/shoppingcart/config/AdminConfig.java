@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "admin")
+@Data
+public class AdminConfig {
+    private List<String> emails = new ArrayList<>(); // Emails com acesso às rotas administrativas; vazio, ninguém tem
+
+    public boolean isAdmin(String email) {
+        return email != null && emails.stream().anyMatch(email::equalsIgnoreCase);
+    }
+}
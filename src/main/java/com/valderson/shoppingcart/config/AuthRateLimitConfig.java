@@ -0,0 +1,27 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "auth-rate-limit")
+@Data
+public class AuthRateLimitConfig {
+    private boolean enabled = true; // Desligado, login e registro não têm limite de tentativas
+    private int maxEntries = 100000; // IPs ou emails acompanhados por limite; acima disso chaves novas dividem um único balde
+    private Limit login = new Limit(20, 20, 5, 5); // Tentativas de login
+    private Limit register = new Limit(5, 5, 3, 1); // Tentativas de registro
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int ipCapacity; // Rajada máxima por IP
+        private int ipPerMinute; // Tentativas repostas por minuto para cada IP
+        private int emailCapacity; // Rajada máxima por email
+        private int emailPerMinute; // Tentativas repostas por minuto para cada email
+    }
+}
@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "cart-events")
+@Data
+public class CartEventsConfig {
+    private long timeout = 3600000; // 1 hora em milissegundos; o EventSource reconecta sozinho
+    private long heartbeatInterval = 25000; // Mantém proxies e balanceadores com a conexão aberta
+}
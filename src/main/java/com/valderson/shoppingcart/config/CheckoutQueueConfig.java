@@ -0,0 +1,15 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "checkout.queue")
+@Data
+public class CheckoutQueueConfig {
+    private boolean asyncEnabled = false; // Clientes também podem pedir com "Prefer: respond-async"
+    private int capacity = 1000; // Tickets aguardando processamento antes de responder 503
+    private int dbConcurrency = 8; // Checkouts simultâneos no banco; deve ficar abaixo do pool de conexões
+    private long ticketTtl = 3600; // Tempo em segundos que um ticket finalizado fica disponível para consulta
+}
@@ -0,0 +1,14 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "currency")
+@Data
+public class CurrencyConfig {
+    private String base = "BRL"; // Moeda em que preços e pedidos são gravados
+    private String ratesFile = ""; // Arquivo opcional MOEDA=cotacao; sobrepõe as cotações da tabela
+    private long reloadInterval = 60000; // Intervalo em milissegundos para recarregar as cotações
+}
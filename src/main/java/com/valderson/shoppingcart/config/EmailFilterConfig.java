@@ -0,0 +1,16 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "email-filter")
+@Data
+public class EmailFilterConfig {
+    private boolean enabled = true; // Desligado, todo registro consulta o banco antes do hash
+    private long initialCapacity = 100000; // Emails da primeira fatia; as seguintes dobram de tamanho
+    private double falsePositiveRate = 0.01; // Taxa máxima de "talvez exista" para emails novos
+    private int fetchSize = 1000; // Emails trazidos por ida ao banco na carga inicial
+    private boolean rejectBeforeHashing = true; // Confirma no banco o "talvez exista" antes do hash; desligado, fica só a constraint única
+}
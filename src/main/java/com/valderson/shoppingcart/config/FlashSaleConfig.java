@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties(prefix = "flash-sale")
+@Data
+public class FlashSaleConfig {
+    private Set<Long> productIds = new HashSet<>(); // Produtos que já iniciam em modo flash sale
+    private int maxConcurrent = 4; // Requisições simultâneas por produto dentro do serviço
+    private int ratePerSecond = 50; // Requisições admitidas por segundo, por produto
+    private int queueCapacity = 200; // Requisições aguardando vez; acima disso a resposta é imediata
+    private long maxWait = 2000; // Tempo máximo em milissegundos na fila antes de desistir
+}
@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+@Data
+public class IdempotencyConfig {
+    private long ttl = 86400; // 24 horas em segundos
+    private int maxEntries = 100000; // Limite de chaves mantidas em memória; cheio, chaves novas recebem 503
+}
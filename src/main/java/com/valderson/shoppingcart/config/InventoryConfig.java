@@ -0,0 +1,14 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "inventory")
+@Data
+public class InventoryConfig {
+    private int shards = 8; // Linhas de estoque por produto; mais shards, menos disputa por lock
+    private long reservationTtl = 900; // Tempo em segundos que o carrinho segura o estoque
+    private int sweepBatchSize = 500; // Reservas expiradas liberadas por transação
+}
@@ -0,0 +1,18 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order-archive")
+@Data
+public class OrderArchiveConfig {
+    private boolean enabled = true;
+    private int retentionDays = 365; // Pedidos finalizados mais antigos que isso saem do banco
+    private String directory = "data/order-archive"; // Raiz dos arquivos, particionados por mês e grupo de usuários
+    private int buckets = 16; // Grupos de usuários por mês; o leitor só abre o grupo do usuário consultado
+    private int chunkSize = 1000; // Pedidos gravados em arquivo e removidos do banco por vez
+    private int fetchSize = 500; // Linhas trazidas por ida ao banco pelo cursor
+    private long interval = 86400000; // Intervalo em milissegundos entre execuções do arquivamento
+}
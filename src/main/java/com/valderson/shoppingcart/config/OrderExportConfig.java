@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order-export")
+@Data
+public class OrderExportConfig {
+    private String directory = "data/order-export"; // Pasta dos arquivos gerados pela exportação em arquivo
+    private int fetchSize = 1000; // Linhas trazidas por ida ao banco pelo cursor
+}
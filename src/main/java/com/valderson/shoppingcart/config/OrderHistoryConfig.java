@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order-history")
+@Data
+public class OrderHistoryConfig {
+    private boolean backfillOnStartup = true; // Gera documentos para pedidos criados antes do modelo de leitura
+    private int backfillBatchSize = 500;
+}
@@ -0,0 +1,16 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order-processor")
+@Data
+public class OrderProcessorConfig {
+    private boolean enabled = true;
+    private int batchSize = 500; // Pedidos reivindicados por transação
+    private int parallelism = 4; // Lotes processados em paralelo por instância
+    private long interval = 1000; // Intervalo em milissegundos entre rodadas
+    private long minAge = 900000; // Idade mínima em milissegundos do pedido confirmado; até lá ele pode ser cancelado
+}
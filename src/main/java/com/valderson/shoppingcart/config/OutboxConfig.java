@@ -0,0 +1,16 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxConfig {
+    private boolean enabled = true;
+    private int batchSize = 200; // Eventos entregues por transação
+    private long pollInterval = 500; // Intervalo em milissegundos entre consultas ao outbox
+    private long retention = 86400; // Tempo em segundos que eventos entregues ficam na tabela
+    private String filePath = ""; // Arquivo JSON Lines com os eventos; vazio desativa esse destino
+}
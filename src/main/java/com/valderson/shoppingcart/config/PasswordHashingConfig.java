@@ -0,0 +1,26 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+@Data
+public class PasswordHashingConfig {
+    private int threads = 0; // Threads dedicadas ao BCrypt; 0 usa o número de núcleos
+    private int queueCapacity = 64; // Hashes aguardando thread; acima disso a requisição recebe 503
+    private int strength = 10; // Custo do BCrypt quando a calibração está desligada
+    private boolean calibrate = true; // Mede o host na inicialização e escolhe o custo pelo tempo alvo
+    private long targetLatency = 250; // Tempo alvo em milissegundos de um hash na calibração
+    private int minStrength = 10; // Custo mínimo aceito pela calibração, mesmo em host lento
+    private int maxStrength = 14; // Custo máximo testado pela calibração
+    private String algorithm = "bcrypt"; // Algoritmo dos hashes novos: bcrypt, pbkdf2, argon2 ou scrypt
+    private int argon2Memory = 19456; // Memória do Argon2 em KiB
+    private int argon2Iterations = 2; // Passadas do Argon2 sobre a memória
+    private int argon2Parallelism = 1; // Faixas paralelas do Argon2
+    private int scryptCpuCost = 32768; // Parâmetro N do scrypt (potência de 2)
+    private int scryptMemoryCost = 8; // Parâmetro r do scrypt (tamanho do bloco)
+    private int scryptParallelization = 1; // Parâmetro p do scrypt
+    private int pbkdf2Iterations = 310000; // Iterações do PBKDF2-HMAC-SHA256
+}
@@ -0,0 +1,15 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "price-history")
+@Data
+public class PriceHistoryConfig {
+    private boolean enabled = true; // Compactação periódica das séries
+    private int compactAfterDays = 30; // Pontos mais antigos que isso ficam reduzidos ao último preço de cada dia
+    private int compactPageSize = 500; // Séries compactadas por transação
+    private long compactInterval = 86400000; // Intervalo em milissegundos entre compactações
+}
@@ -0,0 +1,12 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "promotions")
+@Data
+public class PromotionConfig {
+    private long refreshInterval = 60000; // Intervalo em milissegundos para recarregar as regras de outras instâncias
+}
@@ -0,0 +1,15 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "recommendations")
+@Data
+public class RecommendationConfig {
+    private int maxNeighbors = 100; // Produtos relacionados mantidos por produto após a poda
+    private int maxBasketSize = 50; // Itens considerados por pedido (o custo cresce com o quadrado)
+    private boolean rebuildOnStartup = true;
+    private int rebuildPageSize = 10000; // Faixa de ids de pedido lida por consulta na reconstrução
+}
@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "repricing")
+@Data
+public class RepricingConfig {
+    private int chunkSize = 5000; // Produtos lidos, recalculados e gravados por lote
+    private int jobTtl = 3600; // Tempo em segundos que um reajuste concluído fica disponível para consulta
+}
@@ -0,0 +1,14 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sales-rollup")
+@Data
+public class SalesRollupConfig {
+    private long flushInterval = 1000; // Intervalo em milissegundos para gravar os deltas acumulados
+    private int rebuildParallelism = 4; // Blocos de dias recalculados ao mesmo tempo na reconstrução
+    private int maxRebuildDays = 366; // Maior período aceito por reconstrução; cada dia é uma consulta
+}
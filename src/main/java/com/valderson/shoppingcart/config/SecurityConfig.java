@@ -1,14 +1,18 @@
 // src/main/java/com/valderson/shoppingcart/config/SecurityConfig.java
 package com.valderson.shoppingcart.config;
 
+import com.valderson.shoppingcart.security.BCryptStrengthCalibrator;
+import com.valderson.shoppingcart.security.BoundedPasswordEncoder;
 import com.valderson.shoppingcart.security.JwtAuthenticationFilter;
+import com.valderson.shoppingcart.security.PasswordEncoders;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -26,8 +30,22 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig passwordHashingConfig, MeterRegistry meterRegistry) {
+        // O custo do BCrypt só importa para hashes novos, então só calibra quando ele é o algoritmo em uso
+        boolean calibrate = passwordHashingConfig.isCalibrate()
+                && PasswordEncoders.BCRYPT.equalsIgnoreCase(passwordHashingConfig.getAlgorithm());
+        int strength = calibrate
+                ? BCryptStrengthCalibrator.calibrate(passwordHashingConfig.getTargetLatency(),
+                        passwordHashingConfig.getMinStrength(), passwordHashingConfig.getMaxStrength())
+                : passwordHashingConfig.getStrength();
+        int threads = passwordHashingConfig.getThreads() > 0
+                ? passwordHashingConfig.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+
+        // Hashes já gravados continuam válidos: algoritmo e custo ficam registrados no próprio hash,
+        // e o login regrava com os parâmetros atuais os que estiverem desatualizados
+        return new BoundedPasswordEncoder(PasswordEncoders.delegating(passwordHashingConfig, strength), threads,
+                passwordHashingConfig.getQueueCapacity(), meterRegistry);
     }
 
     @Bean
@@ -37,7 +55,14 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
-                        .requestMatchers("/api/products/**").permitAll()
+                        // Catálogo é público só para leitura; alterações de produto são administrativas
+                        .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
+                        .requestMatchers(HttpMethod.PUT, "/api/products/*/stock").hasRole("ADMIN")
+                        .requestMatchers("/api/products/*/flash-sale").hasRole("ADMIN")
+                        .requestMatchers("/api/reports/**").hasRole("ADMIN")
+                        .requestMatchers("/api/pricing/**").hasRole("ADMIN")
+                        .requestMatchers("/api/coupons/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/currencies/*").hasRole("ADMIN")
                         // Swagger endpoints
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
                         .anyRequest().authenticated()
@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "trending")
+@Data
+public class TrendingConfig {
+    private int sketchWidth = 2048; // Contadores por linha do count-min sketch
+    private int sketchDepth = 4; // Linhas (funções de hash) do sketch
+    private int windows = 6; // Janelas de tempo mantidas
+    private long windowSeconds = 600; // Duração de cada janela
+    private double decay = 0.5; // Peso de uma janela em relação à seguinte, mais recente
+    private int capacity = 100; // Produtos acompanhados no ranking
+    private int checkoutWeight = 3; // Peso de cada unidade comprada
+    private int cartWeight = 1; // Peso de cada unidade adicionada ao carrinho
+}
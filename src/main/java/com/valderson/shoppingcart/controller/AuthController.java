@@ -4,12 +4,14 @@ import com.valderson.shoppingcart.dto.request.LoginRequest;
 import com.valderson.shoppingcart.dto.request.RegisterRequest;
 import com.valderson.shoppingcart.dto.response.UserResponse;
 import com.valderson.shoppingcart.security.JwtTokenProvider;
+import com.valderson.shoppingcart.service.AuthRateLimiter;
 import com.valderson.shoppingcart.service.AuthService;
 import com.valderson.shoppingcart.util.CookieUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,10 +24,17 @@ public class AuthController {
     private final AuthService authService;
     private final JwtTokenProvider jwtTokenProvider;
     private final CookieUtil cookieUtil;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                 HttpServletRequest httpRequest,
                                                  HttpServletResponse response) {
+        long retryAfter = authRateLimiter.tryAcquireRegister(httpRequest.getRemoteAddr(), request.getEmail());
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
+
         UserResponse user = authService.register(request);
 
         // Gerar token JWT
@@ -39,7 +48,15 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<UserResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest,
                                               HttpServletResponse response) {
+        // Antes de consultar o banco ou conferir a senha; atrás de proxy o IP real depende de
+        // server.forward-headers-strategy
+        long retryAfter = authRateLimiter.tryAcquireLogin(httpRequest.getRemoteAddr(), request.getEmail());
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
+
         UserResponse user = authService.login(request);
 
         // Gerar token JWT
@@ -70,4 +87,10 @@ public class AuthController {
         UserResponse user = authService.getUserById(userId);
         return ResponseEntity.ok(user);
     }
+
+    private ResponseEntity<UserResponse> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
 }
\ No newline at end of file
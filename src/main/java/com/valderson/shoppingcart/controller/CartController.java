@@ -1,8 +1,12 @@
 package com.valderson.shoppingcart.controller;
 
 import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.request.ApplyCouponRequest;
+import com.valderson.shoppingcart.dto.request.ChangeCurrencyRequest;
 import com.valderson.shoppingcart.dto.response.CartResponse;
 import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import com.valderson.shoppingcart.service.ReadCoalescingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,17 +21,21 @@ import java.math.BigDecimal;
 public class CartController {
 
     private final CartService cartService;
+    private final ReadCoalescingService readCoalescingService;
+    private final FlashSaleService flashSaleService;
 
     @GetMapping("/{userId}")
     public ResponseEntity<CartResponse> getCart(@PathVariable Long userId) {
-        CartResponse cart = cartService.getCartByUserId(userId);
+        CartResponse cart = readCoalescingService.getCartByUserId(userId);
         return ResponseEntity.ok(cart);
     }
 
     @PostMapping("/{userId}/items")
     public ResponseEntity<CartResponse> addItemToCart(@PathVariable Long userId,
                                                       @Valid @RequestBody AddToCartRequest request) {
-        CartResponse cart = cartService.addItemToCart(userId, request);
+        // Produtos em flash sale passam pela fila de admissão antes de abrir a transação
+        CartResponse cart = flashSaleService.admit(request.getProductId(),
+                () -> cartService.addItemToCart(userId, request));
         return ResponseEntity.ok(cart);
     }
 
@@ -38,9 +46,29 @@ public class CartController {
         return ResponseEntity.ok(cart);
     }
 
+    @PutMapping("/{userId}/coupon")
+    public ResponseEntity<CartResponse> applyCoupon(@PathVariable Long userId,
+                                                    @Valid @RequestBody ApplyCouponRequest request) {
+        CartResponse cart = cartService.applyCoupon(userId, request.getCode());
+        return ResponseEntity.ok(cart);
+    }
+
+    @PutMapping("/{userId}/currency")
+    public ResponseEntity<CartResponse> changeCurrency(@PathVariable Long userId,
+                                                       @Valid @RequestBody ChangeCurrencyRequest request) {
+        CartResponse cart = cartService.changeCurrency(userId, request.getCurrency());
+        return ResponseEntity.ok(cart);
+    }
+
+    @DeleteMapping("/{userId}/coupon")
+    public ResponseEntity<CartResponse> removeCoupon(@PathVariable Long userId) {
+        CartResponse cart = cartService.removeCoupon(userId);
+        return ResponseEntity.ok(cart);
+    }
+
     @GetMapping("/{userId}/total")
     public ResponseEntity<BigDecimal> getCartTotal(@PathVariable Long userId) {
-        BigDecimal total = cartService.getCartTotal(userId);
+        BigDecimal total = readCoalescingService.getCartTotal(userId);
         return ResponseEntity.ok(total);
     }
 
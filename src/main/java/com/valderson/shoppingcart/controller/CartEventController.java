@@ -0,0 +1,21 @@
+package com.valderson.shoppingcart.controller;
+
+import com.valderson.shoppingcart.service.CartEventStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/cart")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CartEventController {
+
+    private final CartEventStreamService cartEventStreamService;
+
+    @GetMapping(value = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long userId) {
+        return cartEventStreamService.subscribe(userId);
+    }
+}
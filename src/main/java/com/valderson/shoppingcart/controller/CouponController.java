@@ -0,0 +1,32 @@
+package com.valderson.shoppingcart.controller;
+
+import com.valderson.shoppingcart.dto.request.CreateCouponRequest;
+import com.valderson.shoppingcart.dto.response.CouponResponse;
+import com.valderson.shoppingcart.service.CouponService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/coupons")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CouponController {
+
+    private final CouponService couponService;
+
+    @PostMapping
+    public ResponseEntity<CouponResponse> createCoupon(@Valid @RequestBody CreateCouponRequest request) {
+        CouponResponse coupon = couponService.createCoupon(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(coupon);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CouponResponse>> getAllCoupons() {
+        return ResponseEntity.ok(couponService.getAllCoupons());
+    }
+}
@@ -0,0 +1,29 @@
+package com.valderson.shoppingcart.controller;
+
+import com.valderson.shoppingcart.dto.request.UpdateExchangeRateRequest;
+import com.valderson.shoppingcart.dto.response.ExchangeRatesResponse;
+import com.valderson.shoppingcart.service.ExchangeRateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/currencies")
+@RequiredArgsConstructor
+public class CurrencyController {
+
+    private final ExchangeRateService exchangeRateService;
+
+    @GetMapping
+    public ResponseEntity<ExchangeRatesResponse> getRates() {
+        return ResponseEntity.ok(exchangeRateService.getRates());
+    }
+
+    // Grava a cotação e recarrega a tabela na hora, sem esperar a próxima recarga periódica
+    @PutMapping("/{currency}")
+    public ResponseEntity<ExchangeRatesResponse> updateRate(@PathVariable String currency,
+                                                            @Valid @RequestBody UpdateExchangeRateRequest request) {
+        return ResponseEntity.ok(exchangeRateService.updateRate(currency, request.getRate()));
+    }
+}
@@ -1,12 +1,20 @@
 package com.valderson.shoppingcart.controller;
 
+import com.valderson.shoppingcart.config.CheckoutQueueConfig;
+import com.valderson.shoppingcart.dto.response.CheckoutTicketResponse;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderPageResponse;
 import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.service.CheckoutQueueService;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import com.valderson.shoppingcart.service.IdempotencyService;
 import com.valderson.shoppingcart.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,23 +24,71 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final CheckoutQueueService checkoutQueueService;
+    private final CheckoutQueueConfig checkoutQueueConfig;
+    private final FlashSaleService flashSaleService;
 
     @PostMapping("/{userId}")
-    public ResponseEntity<OrderResponse> createOrder(@PathVariable Long userId) {
-        OrderResponse order = orderService.createOrder(userId);
+    public ResponseEntity<?> createOrder(@PathVariable Long userId,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                         @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (checkoutQueueConfig.isAsyncEnabled() || (prefer != null && prefer.contains("respond-async"))) {
+            // Modo assíncrono: devolve um ticket para consulta do resultado
+            CheckoutTicketResponse ticket = idempotencyKey == null
+                    ? checkoutQueueService.submit(userId)
+                    : idempotencyService.execute("checkout:" + userId + ":" + idempotencyKey,
+                            () -> checkoutQueueService.submit(userId));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/" + userId + "/checkout/" + ticket.getTicketId()))
+                    .body(ticket);
+        }
+
+        // Repetições com a mesma chave devolvem o pedido já criado sem refazer o checkout
+        OrderResponse order = idempotencyKey == null
+                ? checkout(userId)
+                : idempotencyService.execute("orders:" + userId + ":" + idempotencyKey,
+                        () -> checkout(userId));
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
+    @GetMapping("/{userId}/checkout/{ticketId}")
+    public ResponseEntity<CheckoutTicketResponse> getCheckoutTicket(@PathVariable Long userId,
+                                                                    @PathVariable String ticketId) {
+        CheckoutTicketResponse ticket = checkoutQueueService.getTicket(userId, ticketId);
+        return ResponseEntity.ok(ticket);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<List<OrderResponse>> getUserOrders(@PathVariable Long userId) {
-        List<OrderResponse> orders = orderService.getUserOrders(userId);
+    public ResponseEntity<?> getUserOrders(@PathVariable Long userId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(defaultValue = "false") boolean includeArchived) {
+        // Com cursor ou limit, responde a página de resumos; sem eles mantém a lista completa
+        if (cursor != null || limit != null) {
+            OrderPageResponse page = orderService.getUserOrderPage(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        }
+
+        List<OrderResponse> orders = orderService.getUserOrders(userId, includeArchived);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/{userId}/{orderId}/items")
+    public ResponseEntity<List<OrderItemResponse>> getOrderItems(@PathVariable Long userId,
+                                                                 @PathVariable Long orderId) {
+        List<OrderItemResponse> items = orderService.getOrderItems(userId, orderId);
+        return ResponseEntity.ok(items);
+    }
+
     @PutMapping("/{userId}/{orderId}/cancel")
     public ResponseEntity<OrderResponse> cancelOrder(@PathVariable Long userId,
                                                      @PathVariable Long orderId) {
         OrderResponse order = orderService.cancelOrder(userId, orderId);
         return ResponseEntity.ok(order);
     }
-}
\ No newline at end of file
+
+    private OrderResponse checkout(Long userId) {
+        return flashSaleService.admitCheckout(userId, () -> orderService.createOrder(userId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.valderson.shoppingcart.controller;
+
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.dto.response.RepricingJobResponse;
+import com.valderson.shoppingcart.service.RepricingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/pricing")
+@RequiredArgsConstructor
+public class PricingController {
+
+    private final RepricingService repricingService;
+
+    // Reajuste em massa roda em segundo plano; o progresso é consultado pelo id devolvido
+    @PostMapping("/repricing")
+    public ResponseEntity<RepricingJobResponse> startRepricing(@Valid @RequestBody RepricingRequest request) {
+        RepricingJobResponse job = repricingService.start(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/pricing/repricing/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/repricing/{jobId}")
+    public ResponseEntity<RepricingJobResponse> getRepricing(@PathVariable String jobId) {
+        return ResponseEntity.ok(repricingService.getJob(jobId));
+    }
+}
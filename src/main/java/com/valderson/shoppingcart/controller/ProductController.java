@@ -1,12 +1,27 @@
 package com.valderson.shoppingcart.controller;
 
+import com.valderson.shoppingcart.dto.request.UpdateStockRequest;
+import com.valderson.shoppingcart.dto.response.PricePointResponse;
 import com.valderson.shoppingcart.dto.response.ProductResponse;
+import com.valderson.shoppingcart.dto.response.RelatedProductResponse;
+import com.valderson.shoppingcart.dto.response.StockResponse;
+import com.valderson.shoppingcart.dto.response.TrendingProductResponse;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import com.valderson.shoppingcart.service.InventoryService;
+import com.valderson.shoppingcart.service.PriceHistoryService;
 import com.valderson.shoppingcart.service.ProductService;
+import com.valderson.shoppingcart.service.ReadCoalescingService;
+import com.valderson.shoppingcart.service.RecommendationService;
+import com.valderson.shoppingcart.service.TrendingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -14,16 +29,89 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ReadCoalescingService readCoalescingService;
+    private final InventoryService inventoryService;
+    private final FlashSaleService flashSaleService;
+    private final TrendingService trendingService;
+    private final RecommendationService recommendationService;
+    private final PriceHistoryService priceHistoryService;
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts();
+    public ResponseEntity<List<ProductResponse>> getAllProducts(@RequestParam(required = false) String currency) {
+        List<ProductResponse> products = productService.getAllProducts(currency);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingProductResponse>> getTrendingProducts(
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
+    }
+
+    // Recomendações para um conjunto de produtos, como os itens do carrinho
+    @GetMapping("/related")
+    public ResponseEntity<List<RelatedProductResponse>> getRelatedToProducts(
+            @RequestParam List<Long> productIds,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(recommendationService.getRelated(Set.copyOf(productIds), limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-        ProductResponse product = productService.getProductById(id);
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id,
+                                                          @RequestParam(required = false) String currency) {
+        // A resposta coalescida é compartilhada: a conversão gera uma cópia
+        ProductResponse product = productService.convert(readCoalescingService.getProductById(id), currency);
         return ResponseEntity.ok(product);
     }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedProductResponse>> getRelatedProducts(@PathVariable Long id,
+                                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(recommendationService.getRelated(id, limit));
+    }
+
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<List<PricePointResponse>> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(priceHistoryService.getHistory(id, from, to));
+    }
+
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<StockResponse> getStock(@PathVariable Long id) {
+        return ResponseEntity.ok(buildStockResponse(id));
+    }
+
+    @PutMapping("/{id}/stock")
+    public ResponseEntity<StockResponse> updateStock(@PathVariable Long id,
+                                                     @Valid @RequestBody UpdateStockRequest request) {
+        // Garante que o produto existe antes de criar as linhas de estoque
+        productService.getProductById(id);
+        inventoryService.setStock(id, request.getQuantity());
+        return ResponseEntity.ok(buildStockResponse(id));
+    }
+
+    @PutMapping("/{id}/flash-sale")
+    public ResponseEntity<String> enableFlashSale(@PathVariable Long id) {
+        productService.getProductById(id);
+        flashSaleService.enable(id);
+        return ResponseEntity.ok("Modo flash sale ativado");
+    }
+
+    @DeleteMapping("/{id}/flash-sale")
+    public ResponseEntity<String> disableFlashSale(@PathVariable Long id) {
+        flashSaleService.disable(id);
+        return ResponseEntity.ok("Modo flash sale desativado");
+    }
+
+    private StockResponse buildStockResponse(Long productId) {
+        Long available = inventoryService.getAvailableStock(productId);
+
+        return StockResponse.builder()
+                .productId(productId)
+                .tracked(available != null)
+                .available(available)
+                .build();
+    }
 }
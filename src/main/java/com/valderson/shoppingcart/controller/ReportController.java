@@ -0,0 +1,66 @@
+package com.valderson.shoppingcart.controller;
+
+import com.valderson.shoppingcart.dto.response.OrderExportResponse;
+import com.valderson.shoppingcart.dto.response.SalesRollupResponse;
+import com.valderson.shoppingcart.service.OrderExportService;
+import com.valderson.shoppingcart.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final SalesRollupService salesRollupService;
+    private final OrderExportService orderExportService;
+
+    // Receita, unidades e pedidos por produto e status no período, lidos dos agregados diários
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesRollupResponse>> getSalesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId) {
+        return ResponseEntity.ok(salesRollupService.getSalesReport(from, to, productId));
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<List<SalesRollupResponse>> rebuildSalesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesRollupService.rebuild(from, to));
+    }
+
+    // CSV com pedidos e itens do período, escrito direto na resposta enquanto o cursor avança
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Valida antes de começar a resposta: depois do primeiro byte não dá mais para devolver erro
+        orderExportService.validatePeriod(from, to);
+
+        StreamingResponseBody body = output -> orderExportService.exportCsv(from, to, output);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-" + from + "-" + to + ".csv\"")
+                .body(body);
+    }
+
+    // Mesma exportação gravada em arquivo no servidor, para períodos grandes
+    @PostMapping("/orders/export")
+    public ResponseEntity<OrderExportResponse> exportOrdersToFile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderExportService.exportCsvToFile(from, to));
+    }
+}
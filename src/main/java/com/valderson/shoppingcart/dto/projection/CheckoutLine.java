@@ -0,0 +1,12 @@
+package com.valderson.shoppingcart.dto.projection;
+
+import java.math.BigDecimal;
+
+// Linha do carrinho com o preço atual do produto, carregada em uma única consulta no checkout
+public record CheckoutLine(Long productId, String productName, BigDecimal productPrice, Integer quantity,
+                           Boolean stockTracked) {
+
+    public BigDecimal subtotal() {
+        return productPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
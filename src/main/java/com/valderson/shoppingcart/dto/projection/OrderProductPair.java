@@ -0,0 +1,5 @@
+package com.valderson.shoppingcart.dto.projection;
+
+// Produto presente em um pedido, lido em lote para reconstruir as recomendações
+public record OrderProductPair(Long orderId, Long productId) {
+}
@@ -0,0 +1,7 @@
+package com.valderson.shoppingcart.dto.projection;
+
+import java.math.BigDecimal;
+
+// Preço atual de um produto, lido em blocos pelo reajuste em massa
+public record ProductPrice(Long productId, BigDecimal price) {
+}
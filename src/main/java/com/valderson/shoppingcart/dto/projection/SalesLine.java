@@ -0,0 +1,8 @@
+package com.valderson.shoppingcart.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Item de pedido com o necessário para mover as vendas entre status nos agregados
+public record SalesLine(Long orderId, LocalDateTime createdAt, Long productId, BigDecimal subtotal, Integer quantity) {
+}
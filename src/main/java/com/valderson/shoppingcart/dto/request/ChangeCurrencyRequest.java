@@ -0,0 +1,17 @@
+package com.valderson.shoppingcart.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeCurrencyRequest {
+
+    @NotBlank(message = "Moeda é obrigatória")
+    private String currency;
+}
@@ -0,0 +1,46 @@
+package com.valderson.shoppingcart.dto.request;
+
+import com.valderson.shoppingcart.enums.CouponType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateCouponRequest {
+
+    @NotBlank(message = "Código do cupom é obrigatório")
+    private String code;
+
+    @NotNull(message = "Tipo do cupom é obrigatório")
+    private CouponType type;
+
+    @PositiveOrZero(message = "Valor não pode ser negativo")
+    private BigDecimal value;
+
+    private Long productId;
+
+    @Min(value = 1, message = "Quantidade comprada deve ser pelo menos 1")
+    private Integer buyQuantity;
+
+    @Min(value = 1, message = "Quantidade grátis deve ser pelo menos 1")
+    private Integer freeQuantity;
+
+    @PositiveOrZero(message = "Gasto mínimo não pode ser negativo")
+    private BigDecimal minSpend;
+
+    @Min(value = 1, message = "Limite de uso deve ser pelo menos 1")
+    private Integer usageLimit;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,38 @@
+package com.valderson.shoppingcart.dto.request;
+
+import com.valderson.shoppingcart.enums.RepricingRounding;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingRequest {
+
+    // Percentual de reajuste: -10 reduz 10%, 5 aumenta 5%
+    @NotNull(message = "Percentual é obrigatório")
+    @DecimalMin(value = "-99.99", message = "Percentual deve ser maior que -100")
+    @DecimalMax(value = "1000", message = "Percentual deve ser no máximo 1000")
+    private BigDecimal percentage;
+
+    private RepricingRounding rounding;
+
+    @PositiveOrZero(message = "Preço mínimo não pode ser negativo")
+    private BigDecimal minPrice;
+
+    // Faixa de preço atual dos produtos afetados; sem limites, reajusta o catálogo inteiro
+    @PositiveOrZero(message = "Preço inicial da faixa não pode ser negativo")
+    private BigDecimal priceFrom;
+
+    @PositiveOrZero(message = "Preço final da faixa não pode ser negativo")
+    private BigDecimal priceTo;
+}
@@ -0,0 +1,21 @@
+package com.valderson.shoppingcart.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateExchangeRateRequest {
+
+    @NotNull(message = "Cotação é obrigatória")
+    @Positive(message = "Cotação deve ser positiva")
+    private BigDecimal rate;
+}
@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateStockRequest {
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Min(value = 0, message = "Quantidade não pode ser negativa")
+    private Integer quantity;
+}
@@ -17,6 +17,9 @@ public class CartResponse {
     private Long id;
     private Long userId;
     private List<CartItemResponse> items;
+    private String couponCode;
+    private BigDecimal discountAmount;
     private BigDecimal totalAmount;
+    private String currency;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
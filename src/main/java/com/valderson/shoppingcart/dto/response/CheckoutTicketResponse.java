@@ -0,0 +1,22 @@
+package com.valderson.shoppingcart.dto.response;
+
+import com.valderson.shoppingcart.enums.CheckoutTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutTicketResponse {
+    private String ticketId;
+    private Long userId;
+    private CheckoutTicketStatus status;
+    private OrderResponse order;
+    private String error;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.valderson.shoppingcart.dto.response;
+
+import com.valderson.shoppingcart.enums.CouponType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CouponResponse {
+    private Long id;
+    private String code;
+    private CouponType type;
+    private BigDecimal value;
+    private Long productId;
+    private Integer buyQuantity;
+    private Integer freeQuantity;
+    private BigDecimal minSpend;
+    private Integer usageLimit;
+    private Integer usageCount;
+    private LocalDateTime expiresAt;
+}
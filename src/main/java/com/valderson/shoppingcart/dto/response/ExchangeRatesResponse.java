@@ -0,0 +1,21 @@
+package com.valderson.shoppingcart.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRatesResponse {
+    private Long version;
+    private String baseCurrency;
+    private Map<String, BigDecimal> rates;
+    private LocalDateTime loadedAt;
+}
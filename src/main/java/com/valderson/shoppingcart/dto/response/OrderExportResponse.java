@@ -0,0 +1,15 @@
+package com.valderson.shoppingcart.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportResponse {
+    private String file;
+    private Long rows;
+}
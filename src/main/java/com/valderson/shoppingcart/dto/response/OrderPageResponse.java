@@ -0,0 +1,17 @@
+package com.valderson.shoppingcart.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponse {
+    private List<OrderSummaryResponse> orders;
+    private String nextCursor;
+}
@@ -18,7 +18,12 @@ public class OrderResponse {
     private Long id;
     private Long userId;
     private List<OrderItemResponse> items;
+    private String couponCode;
+    private BigDecimal discountAmount;
     private BigDecimal totalAmount;
+    private String currency;
+    private BigDecimal exchangeRate;
+    private BigDecimal convertedTotalAmount;
     private OrderStatus status;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
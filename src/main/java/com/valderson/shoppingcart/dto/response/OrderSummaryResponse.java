@@ -0,0 +1,22 @@
+package com.valderson.shoppingcart.dto.response;
+
+import com.valderson.shoppingcart.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponse {
+    private Long id;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private Long itemCount;
+    private LocalDateTime createdAt;
+}
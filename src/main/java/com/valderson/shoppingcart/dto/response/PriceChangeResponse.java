@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceChangeResponse {
+    private Long productId;
+    private BigDecimal oldPrice;
+    private BigDecimal newPrice;
+    private Long version;
+}
@@ -17,5 +17,6 @@ public class ProductResponse {
     private String name;
     private String description;
     private BigDecimal price;
+    private String currency;
     private LocalDateTime createdAt;
 }
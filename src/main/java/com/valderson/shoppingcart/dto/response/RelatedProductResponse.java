@@ -0,0 +1,15 @@
+package com.valderson.shoppingcart.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedProductResponse {
+    private Long productId;
+    private Integer orders; // Pedidos em que os produtos foram comprados juntos
+}
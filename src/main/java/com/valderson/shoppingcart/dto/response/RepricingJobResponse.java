@@ -0,0 +1,26 @@
+package com.valderson.shoppingcart.dto.response;
+
+import com.valderson.shoppingcart.enums.RepricingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingJobResponse {
+    private String jobId;
+    private RepricingStatus status;
+    private Long total;
+    private Long processed;
+    private Long updated;
+    // Produtos cujo novo preço não caberia na coluna de preço e ficaram sem reajuste
+    private Long skipped;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,21 @@
+package com.valderson.shoppingcart.dto.response;
+
+import com.valderson.shoppingcart.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupResponse {
+    private Long productId;
+    private OrderStatus status;
+    private BigDecimal revenue;
+    private Long units;
+    private Long orders;
+}
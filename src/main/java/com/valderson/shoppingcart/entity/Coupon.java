@@ -0,0 +1,73 @@
+package com.valderson.shoppingcart.entity;
+
+import com.valderson.shoppingcart.enums.CouponType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "coupons", schema = "public")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Coupon {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "code", nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private CouponType type;
+
+    // Percentual (PERCENTAGE) ou valor (FIXED); não usado em BUY_X_GET_Y
+    @Column(name = "discount_value", precision = 10, scale = 2)
+    private BigDecimal value;
+
+    // Restringe o desconto a um produto; obrigatório em BUY_X_GET_Y
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "buy_quantity")
+    private Integer buyQuantity;
+
+    @Column(name = "free_quantity")
+    private Integer freeQuantity;
+
+    @Column(name = "min_spend", precision = 10, scale = 2)
+    private BigDecimal minSpend;
+
+    // Sem limite quando nulo
+    @Column(name = "usage_limit")
+    private Integer usageLimit;
+
+    @Column(name = "usage_count", nullable = false)
+    @Builder.Default
+    private Integer usageCount = 0;
+
+    @Column(name = "active", nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
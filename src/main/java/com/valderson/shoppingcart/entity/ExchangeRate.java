@@ -0,0 +1,32 @@
+package com.valderson.shoppingcart.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Cotação de uma moeda: quantas unidades dela valem uma unidade da moeda base
+@Entity
+@Table(name = "exchange_rates", schema = "public")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRate {
+
+    @Id
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "rate", nullable = false, precision = 18, scale = 8)
+    private BigDecimal rate;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.valderson.shoppingcart.entity;
+
+import com.valderson.shoppingcart.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Modelo de leitura do histórico: cada pedido já serializado como o OrderResponse devolvido pela API
+@Entity
+@Table(name = "order_history", schema = "public",
+        indexes = @Index(name = "idx_order_history_user_created_at", columnList = "user_id, created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryEntry {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Mantido fora do documento para que mudanças de status sejam um UPDATE simples
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "document", nullable = false, columnDefinition = "TEXT")
+    private String document;
+}
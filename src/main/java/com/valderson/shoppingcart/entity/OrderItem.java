@@ -16,8 +16,10 @@ import java.math.BigDecimal;
 @Builder
 public class OrderItem {
 
+    // Sequência com alocação em blocos permite inserir os itens do pedido em lote (JDBC batch)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_seq")
+    @SequenceGenerator(name = "order_items_id_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "product_name", nullable = false)
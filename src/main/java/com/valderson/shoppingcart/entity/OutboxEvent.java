@@ -0,0 +1,45 @@
+package com.valderson.shoppingcart.entity;
+
+import com.valderson.shoppingcart.enums.OrderEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Eventos de pedido gravados na mesma transação do pedido e entregues depois pelo despachante
+@Entity
+@Table(name = "order_outbox", schema = "public",
+        indexes = @Index(name = "idx_order_outbox_order_id", columnList = "order_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OrderEventType eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Nulo enquanto o evento não foi entregue a todos os destinos
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
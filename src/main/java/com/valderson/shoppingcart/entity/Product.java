@@ -33,6 +33,11 @@ public class Product {
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    // Só produtos com estoque cadastrado consultam e travam product_stock no carrinho e no checkout
+    @Builder.Default
+    @Column(name = "stock_tracked", nullable = false)
+    private Boolean stockTracked = false;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
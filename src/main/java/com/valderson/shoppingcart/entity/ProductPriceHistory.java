@@ -0,0 +1,37 @@
+package com.valderson.shoppingcart.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Histórico de preços de um produto em uma única linha: os pontos ficam codificados em `series`
+// (ver PriceSeriesCodec) e o último ponto é repetido em colunas para acrescentar sem decodificar
+@Entity
+@Table(name = "product_price_history", schema = "public")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPriceHistory {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "series", nullable = false, length = 1048576)
+    private byte[] series;
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @Column(name = "last_point_at", nullable = false)
+    private LocalDateTime lastPointAt;
+
+    @Column(name = "last_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal lastPrice;
+}
@@ -0,0 +1,32 @@
+package com.valderson.shoppingcart.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Estoque de um produto dividido em várias linhas (shards): checkouts simultâneos do mesmo
+// produto disputam linhas diferentes em vez de serializar em um único lock
+@Entity
+@Table(name = "product_stock", schema = "public",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_product_shard", columnNames = {"product_id", "shard"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+}
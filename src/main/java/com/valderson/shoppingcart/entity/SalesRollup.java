@@ -0,0 +1,47 @@
+package com.valderson.shoppingcart.entity;
+
+import com.valderson.shoppingcart.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Vendas agregadas por dia de criação do pedido, produto e status atual do pedido
+@Entity
+@Table(name = "sales_rollups", schema = "public",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_rollups_day_product_status",
+                columnNames = {"sales_date", "product_id", "status"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    // Soma dos subtotais dos itens, antes do desconto de cupom (que é do pedido, não do produto)
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+}
@@ -32,6 +32,14 @@ public class ShoppingCart {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Cupom aplicado ao carrinho; o desconto é recalculado a cada leitura
+    @Column(name = "coupon_code", length = 50)
+    private String couponCode;
+
+    // Moeda de exibição escolhida pelo cliente; nula exibe na moeda base
+    @Column(name = "currency", length = 3)
+    private String currency;
+
     @OneToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
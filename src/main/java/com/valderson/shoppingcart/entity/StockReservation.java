@@ -0,0 +1,37 @@
+package com.valderson.shoppingcart.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Quantidade separada para o carrinho de um usuário; expira se o carrinho for abandonado
+@Entity
+@Table(name = "stock_reservations", schema = "public",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_reservations_user_product", columnNames = {"user_id", "product_id"}),
+        indexes = @Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,8 @@
+package com.valderson.shoppingcart.enums;
+
+public enum CheckoutTicketStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.valderson.shoppingcart.enums;
+
+public enum CouponType {
+    PERCENTAGE,
+    FIXED,
+    BUY_X_GET_Y
+}
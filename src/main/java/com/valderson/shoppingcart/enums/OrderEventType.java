@@ -0,0 +1,6 @@
+package com.valderson.shoppingcart.enums;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_CANCELLED
+}
@@ -0,0 +1,7 @@
+package com.valderson.shoppingcart.enums;
+
+public enum RepricingRounding {
+    NONE,
+    NEAREST_TEN_CENTS,
+    ENDING_99
+}
@@ -0,0 +1,7 @@
+package com.valderson.shoppingcart.enums;
+
+public enum RepricingStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
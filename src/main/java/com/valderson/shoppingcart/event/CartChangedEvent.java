@@ -0,0 +1,5 @@
+package com.valderson.shoppingcart.event;
+
+// Publicado pelo CartService sempre que o conteúdo do carrinho de um usuário muda
+public record CartChangedEvent(Long userId) {
+}
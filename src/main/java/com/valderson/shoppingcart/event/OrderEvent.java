@@ -0,0 +1,10 @@
+package com.valderson.shoppingcart.event;
+
+import com.valderson.shoppingcart.enums.OrderEventType;
+
+import java.time.LocalDateTime;
+
+// Evento de pedido entregue pelo outbox depois do commit; payload é o OrderResponse em JSON
+public record OrderEvent(Long eventId, OrderEventType type, Long orderId, Long userId,
+                         String payload, LocalDateTime occurredAt) {
+}
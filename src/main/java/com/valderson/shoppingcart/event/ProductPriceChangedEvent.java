@@ -0,0 +1,11 @@
+package com.valderson.shoppingcart.event;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Publicado uma única vez por lote de alterações de preço de produtos
+public record ProductPriceChangedEvent(List<PriceChange> changes) {
+
+    public record PriceChange(Long productId, BigDecimal oldPrice, BigDecimal newPrice) {
+    }
+}
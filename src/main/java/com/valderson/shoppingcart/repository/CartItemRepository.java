@@ -1,5 +1,6 @@
 package com.valderson.shoppingcart.repository;
 
+import com.valderson.shoppingcart.dto.projection.CheckoutLine;
 import com.valderson.shoppingcart.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,11 +26,28 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     Optional<CartItem> findByShoppingCart_IdAndProduct_Id(Long shoppingCartId, Long productId);
 
+    // Itens do carrinho do usuário com nome e preço atual dos produtos, sem carregar entidades
+    @Query("SELECT new com.valderson.shoppingcart.dto.projection.CheckoutLine(p.id, p.name, p.price, ci.quantity, p.stockTracked) " +
+            "FROM CartItem ci JOIN ci.product p WHERE ci.shoppingCart.user.id = :userId ORDER BY ci.id")
+    List<CheckoutLine> findCheckoutLinesByUserId(@Param("userId") Long userId);
+
+    // Pares (usuário, produto) dos carrinhos que contêm algum dos produtos informados
+    @Query("SELECT ci.shoppingCart.user.id, ci.product.id FROM CartItem ci WHERE ci.product.id IN :productIds")
+    List<Object[]> findUserIdAndProductIdByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :cartId")
     void deleteAllByShoppingCartId(@Param("cartId") Long cartId);
 
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id IN " +
+            "(SELECT c.id FROM ShoppingCart c WHERE c.user.id = :userId)")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :cartId AND ci.product.id = :productId")
     void deleteByShoppingCartIdAndProductId(@Param("cartId") Long cartId, @Param("productId") Long productId);
-}
\ No newline at end of file
+
+    @Query("SELECT ci.product.id FROM CartItem ci WHERE ci.shoppingCart.user.id = :userId")
+    List<Long> findProductIdsByUserId(@Param("userId") Long userId);
+}
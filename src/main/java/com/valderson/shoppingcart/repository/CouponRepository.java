@@ -0,0 +1,28 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.Coupon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CouponRepository extends JpaRepository<Coupon, Long> {
+
+    boolean existsByCode(String code);
+
+    List<Coupon> findByActiveTrue();
+
+    // Contador de uso atômico: só incrementa enquanto houver usos disponíveis
+    @Modifying
+    @Query("UPDATE Coupon c SET c.usageCount = c.usageCount + 1 " +
+            "WHERE c.id = :id AND (c.usageLimit IS NULL OR c.usageCount < c.usageLimit)")
+    int incrementUsage(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Coupon c SET c.usageCount = c.usageCount - 1 WHERE c.code = :code AND c.usageCount > 0")
+    int decrementUsage(@Param("code") String code);
+}
@@ -0,0 +1,9 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, String> {
+}
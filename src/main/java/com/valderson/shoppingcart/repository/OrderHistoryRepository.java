@@ -0,0 +1,29 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.OrderHistoryEntry;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderHistoryRepository extends JpaRepository<OrderHistoryEntry, Long> {
+
+    List<OrderHistoryEntry> findByUserIdOrderByCreatedAtDescOrderIdDesc(Long userId);
+
+    @Modifying
+    @Query("UPDATE OrderHistoryEntry h SET h.status = :status WHERE h.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("UPDATE OrderHistoryEntry h SET h.status = :status WHERE h.orderId IN :orderIds")
+    int updateStatusByOrderIdIn(@Param("orderIds") List<Long> orderIds, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OrderHistoryEntry h WHERE h.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") List<Long> orderIds);
+}
@@ -1,13 +1,50 @@
 package com.valderson.shoppingcart.repository;
 
+import com.valderson.shoppingcart.dto.projection.OrderProductPair;
+import com.valderson.shoppingcart.dto.projection.SalesLine;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.SalesRollupResponse;
 import com.valderson.shoppingcart.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
+
+    // Itens de um pedido do usuário em uma única consulta, sem carregar produtos
+    @Query("SELECT new com.valderson.shoppingcart.dto.response.OrderItemResponse(" +
+            "oi.id, oi.product.id, oi.productName, oi.productPrice, oi.quantity, oi.subtotal) " +
+            "FROM OrderItem oi WHERE oi.order.id = :orderId AND oi.order.user.id = :userId ORDER BY oi.id")
+    List<OrderItemResponse> findResponsesByOrderIdAndUserId(@Param("orderId") Long orderId,
+                                                            @Param("userId") Long userId);
+
+    @Query("SELECT new com.valderson.shoppingcart.dto.projection.SalesLine(" +
+            "o.id, o.createdAt, oi.product.id, oi.subtotal, oi.quantity) " +
+            "FROM OrderItem oi JOIN oi.order o WHERE o.id IN :orderIds")
+    List<SalesLine> findSalesLinesByOrderIdIn(@Param("orderIds") List<Long> orderIds);
+
+    // Vendas brutas de um intervalo agrupadas como nos agregados, usada para reconstruí-los
+    @Query("SELECT new com.valderson.shoppingcart.dto.response.SalesRollupResponse(" +
+            "oi.product.id, o.status, SUM(oi.subtotal), SUM(oi.quantity), COUNT(DISTINCT o.id)) " +
+            "FROM OrderItem oi JOIN oi.order o WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "GROUP BY oi.product.id, o.status")
+    List<SalesRollupResponse> summarizeSales(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.valderson.shoppingcart.dto.projection.OrderProductPair(oi.order.id, oi.product.id) " +
+            "FROM OrderItem oi WHERE oi.order.id > :afterOrderId AND oi.order.id <= :upToOrderId " +
+            "ORDER BY oi.order.id")
+    List<OrderProductPair> findOrderProductPairs(@Param("afterOrderId") Long afterOrderId,
+                                                 @Param("upToOrderId") Long upToOrderId);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") List<Long> orderIds);
 }
\ No newline at end of file
@@ -1,10 +1,20 @@
 package com.valderson.shoppingcart.repository;
 
+import com.valderson.shoppingcart.dto.response.OrderSummaryResponse;
 import com.valderson.shoppingcart.entity.Order;
 import com.valderson.shoppingcart.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,5 +22,73 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // Primeira página do histórico (keyset), já projetada em resumo
+    @Query("SELECT new com.valderson.shoppingcart.dto.response.OrderSummaryResponse(" +
+            "o.id, o.status, o.totalAmount, (SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order = o), o.createdAt) " +
+            "FROM Order o WHERE o.user.id = :userId " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryResponse> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, Limit limit);
+
+    // Páginas seguintes: continua a partir do último pedido (data, id) da página anterior
+    @Query("SELECT new com.valderson.shoppingcart.dto.response.OrderSummaryResponse(" +
+            "o.id, o.status, o.totalAmount, (SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order = o), o.createdAt) " +
+            "FROM Order o WHERE o.user.id = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryResponse> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId,
+                                                                @Param("createdAt") LocalDateTime createdAt,
+                                                                @Param("id") Long id,
+                                                                Limit limit);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Pedidos que ainda não possuem documento no modelo de leitura do histórico
+    @Query("SELECT o.id FROM Order o WHERE NOT EXISTS " +
+            "(SELECT 1 FROM OrderHistoryEntry h WHERE h.orderId = o.id) ORDER BY o.id")
+    List<Long> findIdsWithoutHistoryEntry(Limit limit);
+
+    @Query("SELECT DISTINCT o FROM Order o JOIN FETCH o.user LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") List<Long> ids);
+
+    // Transição de status em um único comando: só altera se o pedido for do usuário e estiver no status esperado
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.user.id = :userId AND o.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("userId") Long userId,
+                              @Param("expectedStatus") OrderStatus expectedStatus,
+                              @Param("newStatus") OrderStatus newStatus,
+                              @Param("now") LocalDateTime now);
+
+    // Reivindica um lote de pedidos: FOR UPDATE SKIP LOCKED (lock.timeout = -2), então várias
+    // instâncias pegam lotes disjuntos sem esperar umas pelas outras
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.createdAt <= :createdBefore ORDER BY o.id")
+    List<Long> claimIdsByStatus(@Param("status") OrderStatus status,
+                                @Param("createdBefore") LocalDateTime createdBefore,
+                                Limit limit);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id IN :ids AND o.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("ids") List<Long> ids,
+                              @Param("expectedStatus") OrderStatus expectedStatus,
+                              @Param("newStatus") OrderStatus newStatus,
+                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o WHERE o.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") OrderStatus status);
+
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT MAX(o.id) FROM Order o")
+    Long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.ProductPriceHistory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, Long> {
+
+    // Bloqueia as séries do lote para que alterações concorrentes do mesmo produto não percam pontos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ProductPriceHistory h WHERE h.productId IN :productIds")
+    List<ProductPriceHistory> findAllForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT h.productId FROM ProductPriceHistory h WHERE h.productId > :afterId ORDER BY h.productId")
+    List<Long> findProductIdsAfter(@Param("afterId") Long afterId, Limit limit);
+}
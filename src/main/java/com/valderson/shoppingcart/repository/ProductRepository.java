@@ -1,13 +1,48 @@
 package com.valderson.shoppingcart.repository;
 
+import com.valderson.shoppingcart.dto.projection.ProductPrice;
 import com.valderson.shoppingcart.entity.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockTracked = true WHERE p.id = :id")
+    int markStockTracked(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.stockTracked = true")
+    List<Long> findStockTrackedIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Trava os produtos em ordem de id: a primeira gravação do histórico de preços não tem linha para travar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id, p.createdAt FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Object[]> findCreatedAtByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Paginação por chave: cada bloco continua do último id lido, sem OFFSET
+    @Query("SELECT new com.valderson.shoppingcart.dto.projection.ProductPrice(p.id, p.price) FROM Product p " +
+            "WHERE p.id > :afterId " +
+            "AND (:priceFrom IS NULL OR p.price >= :priceFrom) AND (:priceTo IS NULL OR p.price <= :priceTo) " +
+            "ORDER BY p.id")
+    List<ProductPrice> findPricesAfter(@Param("afterId") Long afterId,
+                                       @Param("priceFrom") BigDecimal priceFrom,
+                                       @Param("priceTo") BigDecimal priceTo,
+                                       Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Product p " +
+            "WHERE (:priceFrom IS NULL OR p.price >= :priceFrom) AND (:priceTo IS NULL OR p.price <= :priceTo)")
+    long countInPriceRange(@Param("priceFrom") BigDecimal priceFrom, @Param("priceTo") BigDecimal priceTo);
+}
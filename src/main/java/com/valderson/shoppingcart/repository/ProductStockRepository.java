@@ -0,0 +1,57 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.ProductStock;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+
+    // Reivindica um shard com saldo suficiente: FOR UPDATE SKIP LOCKED (lock.timeout = -2) pula os shards
+    // em uso por outras retiradas, nunca espera e não deixa lock em shard que não serviu. A ordem é a
+    // mesma da trava de todos os shards, para bancos que ignoram o SKIP LOCKED não travarem em ciclo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s.shard FROM ProductStock s WHERE s.productId = :productId AND s.quantity >= :quantity " +
+            "ORDER BY s.shard")
+    List<Integer> claimShardWithQuantity(@Param("productId") Long productId,
+                                         @Param("quantity") int quantity,
+                                         Limit limit);
+
+    // Retira do shard apenas se ele tiver saldo suficiente; 0 linhas afetadas indica falta no shard
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.quantity = s.quantity - :quantity " +
+            "WHERE s.productId = :productId AND s.shard = :shard AND s.quantity >= :quantity")
+    int takeFromShard(@Param("productId") Long productId,
+                      @Param("shard") int shard,
+                      @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.quantity = s.quantity + :quantity " +
+            "WHERE s.productId = :productId AND s.shard = :shard")
+    int returnToShard(@Param("productId") Long productId,
+                      @Param("shard") int shard,
+                      @Param("quantity") int quantity);
+
+    // Trava todos os shards do produto, sempre na mesma ordem, para retirar saldo espalhado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.shard, s.quantity FROM ProductStock s WHERE s.productId = :productId ORDER BY s.shard")
+    List<Object[]> findShardQuantitiesForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT SUM(s.quantity) FROM ProductStock s WHERE s.productId = :productId")
+    Long sumQuantityByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM ProductStock s WHERE s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,44 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.dto.response.SalesRollupResponse;
+import com.valderson.shoppingcart.entity.SalesRollup;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // Soma o delta na linha existente; 0 linhas afetadas indica que a linha ainda precisa ser criada
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.revenue = r.revenue + :revenue, r.units = r.units + :units, " +
+            "r.orderCount = r.orderCount + :orders " +
+            "WHERE r.salesDate = :salesDate AND r.productId = :productId AND r.status = :status")
+    int addDelta(@Param("salesDate") LocalDate salesDate,
+                 @Param("productId") Long productId,
+                 @Param("status") OrderStatus status,
+                 @Param("revenue") BigDecimal revenue,
+                 @Param("units") long units,
+                 @Param("orders") long orders);
+
+    // Status que ficaram sem pedidos no período (todos mudaram de status) não aparecem
+    @Query("SELECT new com.valderson.shoppingcart.dto.response.SalesRollupResponse(" +
+            "r.productId, r.status, SUM(r.revenue), SUM(r.units), SUM(r.orderCount)) " +
+            "FROM SalesRollup r WHERE r.salesDate BETWEEN :from AND :to " +
+            "AND (:productId IS NULL OR r.productId = :productId) " +
+            "GROUP BY r.productId, r.status HAVING SUM(r.orderCount) > 0 ORDER BY r.productId, r.status")
+    List<SalesRollupResponse> summarize(@Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.salesDate BETWEEN :from AND :to")
+    int deleteBySalesDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -2,6 +2,9 @@ package com.valderson.shoppingcart.repository;
 
 import com.valderson.shoppingcart.entity.ShoppingCart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +15,14 @@ public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long
     Optional<ShoppingCart> findByUserId(Long userId);
 
     void deleteByUserId(Long userId);
+
+    @Query("SELECT c.couponCode FROM ShoppingCart c WHERE c.user.id = :userId")
+    Optional<String> findCouponCodeByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT c.currency FROM ShoppingCart c WHERE c.user.id = :userId")
+    Optional<String> findCurrencyByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE ShoppingCart c SET c.couponCode = NULL WHERE c.user.id = :userId")
+    int clearCouponCodeByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.valderson.shoppingcart.repository;
+
+import com.valderson.shoppingcart.entity.StockReservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    Optional<StockReservation> findByUserIdAndProductId(Long userId, Long productId);
+
+    // Inclui reservas já expiradas e ainda não recolhidas: todas voltam para o estoque
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM StockReservation r WHERE r.productId = :productId")
+    long sumQuantityByProductId(@Param("productId") Long productId);
+
+    // Checkout e limpeza de expiradas disputam as mesmas reservas: quem travar primeiro decide
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.userId = :userId")
+    List<StockReservation> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM StockReservation r WHERE r.expiresAt < :now ORDER BY r.id")
+    List<StockReservation> claimExpired(@Param("now") LocalDateTime now, Limit limit);
+}
@@ -0,0 +1,51 @@
+package com.valderson.shoppingcart.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Escolhe o custo do BCrypt medindo o próprio host: o maior custo cujo hash ainda fica dentro
+// do tempo alvo. Cada custo a mais dobra o tempo, então a medição para no primeiro que estoura.
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibracao-do-custo-bcrypt";
+    // Medições por custo; vale a mais rápida, para descontar aquecimento da JIT e ruído do host
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        int chosen = minStrength;
+
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long millis = measure(strength);
+            log.info("BCrypt strength {} takes {} ms on this host", strength, millis);
+
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+
+        log.info("Using BCrypt strength {} for a {} ms target", chosen, targetMillis);
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+
+            // Custos altos já mostram na primeira medição se estão muito acima do alvo
+            if (best > 1000) {
+                break;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,62 @@
+package com.valderson.shoppingcart.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// O PBKDF2 do Spring não grava o número de iterações no hash, então trocar a configuração
+// invalidaria as senhas já gravadas. Aqui o hash leva as iterações na frente
+// ("310000$<hash>") e cada hash é conferido com as iterações com que foi gerado.
+public class IteratedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private static final int SALT_LENGTH = 16;
+    private static final char SEPARATOR = '$';
+
+    private final int iterations;
+    private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    public IteratedPbkdf2PasswordEncoder(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + String.valueOf(SEPARATOR) + encoderFor(iterations).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int separator = encodedPassword == null ? -1 : encodedPassword.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            return false;
+        }
+
+        Integer storedIterations = parseIterations(encodedPassword.substring(0, separator));
+        return storedIterations != null
+                && encoderFor(storedIterations).matches(rawPassword, encodedPassword.substring(separator + 1));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int separator = encodedPassword == null ? -1 : encodedPassword.indexOf(SEPARATOR);
+        Integer storedIterations = separator > 0 ? parseIterations(encodedPassword.substring(0, separator)) : null;
+        return storedIterations == null || storedIterations < iterations;
+    }
+
+    private Pbkdf2PasswordEncoder encoderFor(int iterations) {
+        return encoders.computeIfAbsent(iterations, n ->
+                new Pbkdf2PasswordEncoder("", SALT_LENGTH, n, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    }
+
+    private static Integer parseIterations(String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed > 0 ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.valderson.shoppingcart.security;
+
+import com.valderson.shoppingcart.config.PasswordHashingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Monta o encoder versionado: cada hash novo sai com o prefixo do algoritmo ("{bcrypt}...",
+// "{argon2}...") e os hashes antigos continuam conferindo pelo prefixo que já têm. Hashes sem
+// prefixo, gravados antes do esquema versionado, são BCrypt puro.
+@Slf4j
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+    public static final String SCRYPT = "scrypt";
+
+    // Argon2 e scrypt do Spring dependem do BouncyCastle
+    private static final String BOUNCY_CASTLE_CLASS = "org.bouncycastle.crypto.params.Argon2Parameters";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder delegating(PasswordHashingConfig config, int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, new IteratedPbkdf2PasswordEncoder(config.getPbkdf2Iterations()));
+
+        if (ClassUtils.isPresent(BOUNCY_CASTLE_CLASS, PasswordEncoders.class.getClassLoader())) {
+            encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, config.getArgon2Parallelism(),
+                    config.getArgon2Memory(), config.getArgon2Iterations()));
+            encoders.put(SCRYPT, new SCryptPasswordEncoder(config.getScryptCpuCost(), config.getScryptMemoryCost(),
+                    config.getScryptParallelization(), 32, 16));
+        } else {
+            log.info("BouncyCastle not on the classpath, argon2 and scrypt password hashing disabled");
+        }
+
+        String algorithm = config.getAlgorithm().toLowerCase();
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Algoritmo de hash de senha indisponível: " + config.getAlgorithm());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
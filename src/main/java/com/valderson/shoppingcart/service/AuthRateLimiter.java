@@ -0,0 +1,108 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.AuthRateLimitConfig;
+import com.valderson.shoppingcart.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Limite de tentativas de login e registro por IP e por email, checado antes de qualquer consulta
+// ao banco ou hash de senha. O limite por email segura tentativas distribuídas contra uma conta;
+// o limite por IP segura um único cliente testando muitas contas.
+@Service
+public class AuthRateLimiter {
+
+    private final AuthRateLimitConfig authRateLimitConfig;
+    private final Endpoint login;
+    private final Endpoint register;
+
+    public AuthRateLimiter(AuthRateLimitConfig authRateLimitConfig, MeterRegistry meterRegistry) {
+        this.authRateLimitConfig = authRateLimitConfig;
+        this.login = new Endpoint("login", authRateLimitConfig.getLogin(), authRateLimitConfig.getMaxEntries(), meterRegistry);
+        this.register = new Endpoint("register", authRateLimitConfig.getRegister(), authRateLimitConfig.getMaxEntries(), meterRegistry);
+    }
+
+    // Devolve 0 se a tentativa pode seguir, ou em quantos segundos tentar de novo
+    public long tryAcquireLogin(String ip, String email) {
+        return authRateLimitConfig.isEnabled() ? login.tryAcquire(ip, email) : 0;
+    }
+
+    public long tryAcquireRegister(String ip, String email) {
+        return authRateLimitConfig.isEnabled() ? register.tryAcquire(ip, email) : 0;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeRefilledBuckets() {
+        long now = System.nanoTime();
+        for (Endpoint endpoint : List.of(login, register)) {
+            endpoint.byIp.purge(now);
+            endpoint.byEmail.purge(now);
+        }
+    }
+
+    private static final class Endpoint {
+        private final RateLimiter byIp;
+        private final RateLimiter byEmail;
+        private final Counter ipRejected;
+        private final Counter emailRejected;
+
+        private Endpoint(String name, AuthRateLimitConfig.Limit limit, int maxEntries, MeterRegistry meterRegistry) {
+            this.byIp = new RateLimiter(limit.getIpCapacity(), limit.getIpPerMinute(), maxEntries);
+            this.byEmail = new RateLimiter(limit.getEmailCapacity(), limit.getEmailPerMinute(), maxEntries);
+            this.ipRejected = rejectedCounter(meterRegistry, name, "ip");
+            this.emailRejected = rejectedCounter(meterRegistry, name, "email");
+            registerMetrics(meterRegistry, name, "ip", byIp);
+            registerMetrics(meterRegistry, name, "email", byEmail);
+        }
+
+        private long tryAcquire(String ip, String email) {
+            long now = System.nanoTime();
+
+            // IP primeiro: com ele esgotado, a tentativa não gasta a cota do email de outra pessoa
+            long wait = byIp.tryAcquire(ip, now);
+            if (wait > 0) {
+                ipRejected.increment();
+                return toRetryAfterSeconds(wait);
+            }
+
+            wait = byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                emailRejected.increment();
+                return toRetryAfterSeconds(wait);
+            }
+            return 0;
+        }
+
+        private static long toRetryAfterSeconds(long waitNanos) {
+            return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+
+        private static Counter rejectedCounter(MeterRegistry meterRegistry, String endpoint, String key) {
+            return Counter.builder("auth.rate.limit.rejected")
+                    .description("Tentativas recusadas pelo limite")
+                    .tag("endpoint", endpoint)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+
+        private static void registerMetrics(MeterRegistry meterRegistry, String endpoint, String key, RateLimiter limiter) {
+            Gauge.builder("auth.rate.limit.buckets", limiter, RateLimiter::size)
+                    .description("Chaves com balde em memória")
+                    .tag("endpoint", endpoint)
+                    .tag("key", key)
+                    .register(meterRegistry);
+            FunctionCounter.builder("auth.rate.limit.untracked", limiter, RateLimiter::getUntrackedCount)
+                    .description("Tentativas liberadas sem limite por falta de espaço no mapa")
+                    .tag("endpoint", endpoint)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+    }
+}
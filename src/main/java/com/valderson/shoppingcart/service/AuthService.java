@@ -6,21 +6,27 @@ import com.valderson.shoppingcart.dto.response.UserResponse;
 import com.valderson.shoppingcart.entity.User;
 import com.valderson.shoppingcart.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+// Sem transação no serviço: o hash de senha leva dezenas de milissegundos e não pode segurar uma
+// conexão do pool. Cada consulta e gravação roda na transação curta do próprio repositório.
 @Service
-@Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilterService registeredEmailFilterService;
 
     public UserResponse register(RegisterRequest request) {
-        // Verificar se email já existe
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Verificar se email já existe; email que o filtro descarta nem chega ao banco
+        if (registeredEmailFilterService.requiresLookup(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email já está em uso");
         }
 
@@ -31,7 +37,14 @@ public class AuthService {
                 .passwordHash(passwordEncoder.encode(request.getPassword()))
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // A constraint única resolve o que o filtro deixou passar e registros simultâneos
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Email já está em uso");
+        }
+        registeredEmailFilterService.add(savedUser.getEmail());
 
         return UserResponse.builder()
                 .id(savedUser.getId())
@@ -49,6 +62,8 @@ public class AuthService {
             throw new RuntimeException("Senha incorreta");
         }
 
+        upgradePasswordHash(user, request.getPassword());
+
         return UserResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
@@ -57,6 +72,21 @@ public class AuthService {
                 .build();
     }
 
+    // Só no login temos a senha em claro para regravar um hash com algoritmo ou custo antigos
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+
+        try {
+            user.setPasswordHash(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (ResponseStatusException e) {
+            // Com o pool de hash saturado o login segue; a troca fica para o próximo login
+            log.debug("Password hash upgrade skipped for user {}: {}", user.getId(), e.getReason());
+        }
+    }
+
     public UserResponse getUserById(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
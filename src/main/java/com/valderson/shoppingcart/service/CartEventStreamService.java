@@ -0,0 +1,190 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.CartEventsConfig;
+import com.valderson.shoppingcart.dto.response.CartVersionResponse;
+import com.valderson.shoppingcart.dto.response.PriceChangeResponse;
+import com.valderson.shoppingcart.event.CartChangedEvent;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent;
+import com.valderson.shoppingcart.repository.CartItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartEventStreamService {
+
+    private final CartItemRepository cartItemRepository;
+    private final CartEventsConfig cartEventsConfig;
+
+    // Conexões ociosas ficam em modo assíncrono do servlet e não prendem threads;
+    // só o envio usa threads virtuais
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(cartEventsConfig.getTimeout()));
+    }
+
+    // Recebe o emitter pronto para os testes trocarem o envio HTTP por um que só registra os eventos
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // O "connected" (versão 0) entra na fila antes de a conexão ficar visível aos eventos
+        subscriber.enqueue(SseEmitter.event()
+                .name("connected")
+                .data(new CartVersionResponse(userId, 0L)));
+        subscribers.compute(userId, (id, current) -> {
+            Set<Subscriber> target = current != null ? current : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        publish(event.userId(), version -> SseEmitter.event()
+                .id(String.valueOf(version))
+                .name("cart-updated")
+                .data(new CartVersionResponse(event.userId(), version)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        if (subscribers.isEmpty() || event.changes().isEmpty()) {
+            return;
+        }
+
+        Map<Long, ProductPriceChangedEvent.PriceChange> changesByProduct = new HashMap<>();
+        event.changes().forEach(change -> changesByProduct.put(change.productId(), change));
+
+        // Uma consulta por lote de alterações, filtrando em memória apenas quem está conectado
+        List<Object[]> affected = cartItemRepository.findUserIdAndProductIdByProductIdIn(changesByProduct.keySet());
+
+        for (Object[] row : affected) {
+            Long userId = (Long) row[0];
+            ProductPriceChangedEvent.PriceChange change = changesByProduct.get((Long) row[1]);
+
+            publish(userId, version -> SseEmitter.event()
+                    .id(String.valueOf(version))
+                    .name("price-changed")
+                    .data(PriceChangeResponse.builder()
+                            .productId(change.productId())
+                            .oldPrice(change.oldPrice())
+                            .newPrice(change.newPrice())
+                            .version(version)
+                            .build()));
+        }
+    }
+
+    @Scheduled(fixedRateString = "#{@cartEventsConfig.heartbeatInterval}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(current ->
+                current.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(current -> current.forEach(subscriber -> subscriber.emitter.complete()));
+        deliveryExecutor.shutdown();
+    }
+
+    private void publish(Long userId, LongFunction<SseEmitter.SseEventBuilder> event) {
+        subscribers.getOrDefault(userId, Set.of()).forEach(subscriber -> subscriber.enqueueNext(event));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    // Fila de envio de uma conexão, drenada por no máximo uma thread virtual por vez. A versão é
+    // da conexão: cresce de um em um a cada evento, então o cliente percebe um evento perdido pelo
+    // salto, e some junto com a conexão. Ao reconectar a contagem recomeça do zero
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long version;
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Numera e enfileira sob o mesmo lock: a fila fica na ordem das versões
+        private synchronized void enqueueNext(LongFunction<SseEmitter.SseEventBuilder> event) {
+            enqueue(event.apply(++version));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou: remove sem propagar erro para quem publicou o evento
+                log.debug("Removing SSE subscriber for user {}: {}", userId, e.getMessage());
+                closed = true;
+                pending.clear();
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+
+            // Evento enfileirado enquanto terminávamos: ninguém mais agendaria a drenagem
+            if (!closed && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
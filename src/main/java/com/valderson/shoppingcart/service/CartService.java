@@ -7,18 +7,20 @@ import com.valderson.shoppingcart.entity.CartItem;
 import com.valderson.shoppingcart.entity.Product;
 import com.valderson.shoppingcart.entity.ShoppingCart;
 import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.event.CartChangedEvent;
 import com.valderson.shoppingcart.repository.CartItemRepository;
 import com.valderson.shoppingcart.repository.ProductRepository;
 import com.valderson.shoppingcart.repository.ShoppingCartRepository;
 import com.valderson.shoppingcart.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,6 +31,11 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventoryService inventoryService;
+    private final PromotionCatalog promotionCatalog;
+    private final TrendingService trendingService;
+    private final ExchangeRateService exchangeRateService;
 
     public CartResponse getCartByUserId(Long userId) {
         ShoppingCart cart = findOrCreateCart(userId);
@@ -44,6 +51,9 @@ public class CartService {
 
         ShoppingCart cart = findOrCreateCart(userId);
 
+        // Separar a quantidade no estoque antes de alterar o carrinho
+        inventoryService.reserve(userId, product, request.getQuantity());
+
         // Verificar se item já existe no carrinho
         Optional<CartItem> existingItem = cart.getCartItems().stream()
                 .filter(item -> item.getProduct().getId().equals(request.getProductId()))
@@ -64,6 +74,9 @@ public class CartService {
             cartItemRepository.save(newItem);
         }
 
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+        trendingService.recordAddToCart(product.getId(), request.getQuantity());
+
         // Retornar carrinho atualizado
         return getCartByUserId(userId);
     }
@@ -74,6 +87,10 @@ public class CartService {
         cart.getCartItems().removeIf(item -> item.getProduct().getId().equals(productId));
         cartRepository.save(cart);
 
+        inventoryService.release(userId, productId);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+
         return getCartByUserId(userId);
     }
 
@@ -82,15 +99,67 @@ public class CartService {
 
         List<CartItem> items = cartItemRepository.findByShoppingCartIdWithProduct(cart.getId());
 
-        return items.stream()
-                .map(this::calculateItemSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        PromotionRule.Pricing pricing = findPromotion(cart).start();
+        for (CartItem item : items) {
+            Product product = item.getProduct();
+            pricing.add(product.getId(), product.getPrice(), item.getQuantity(), calculateItemSubtotal(item));
+        }
+
+        CurrencyConverter converter = findConverter(cart);
+        return converter == null ? pricing.getTotal() : converter.convert(pricing.getTotal());
+    }
+
+    public CartResponse applyCoupon(Long userId, String code) {
+        PromotionRule promotion = promotionCatalog.find(code)
+                .orElseThrow(() -> new RuntimeException("Cupom inválido"));
+
+        ShoppingCart cart = findOrCreateCart(userId);
+        cart.setCouponCode(promotion.getCode());
+        cartRepository.save(cart);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+
+        return getCartByUserId(userId);
+    }
+
+    // Moeda base limpa a preferência: o carrinho volta a ser exibido sem conversão
+    public CartResponse changeCurrency(Long userId, String currency) {
+        CurrencyConverter converter = exchangeRateService.converterFor(currency);
+
+        ShoppingCart cart = findOrCreateCart(userId);
+        cart.setCurrency(converter.currency().equals(exchangeRateService.getBaseCurrency()) ? null : converter.currency());
+        cartRepository.save(cart);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+
+        return getCartByUserId(userId);
+    }
+
+    public CartResponse removeCoupon(Long userId) {
+        ShoppingCart cart = findOrCreateCart(userId);
+        cart.setCouponCode(null);
+        cartRepository.save(cart);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+
+        return getCartByUserId(userId);
     }
 
     @Transactional
     public void clearCart(Long userId) {
         ShoppingCart cart = findOrCreateCart(userId);
         cartItemRepository.deleteAllByShoppingCartId(cart.getId());
+
+        inventoryService.releaseAll(userId);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
+    }
+
+    // Remove os itens com um único DELETE, sem carregar usuário ou carrinho
+    public void clearCartItems(Long userId) {
+        cartItemRepository.deleteAllByUserId(userId);
+
+        eventPublisher.publishEvent(new CartChangedEvent(userId));
     }
 
     private ShoppingCart findOrCreateCart(Long userId) {
@@ -118,23 +187,47 @@ public class CartService {
     }
 
     private CartResponse buildCartResponse(ShoppingCart cart, List<CartItem> items) {
-        List<CartItemResponse> itemResponses = items.stream()
-                .map(this::mapToCartItemResponse)
-                .collect(Collectors.toList());
-
-        BigDecimal total = itemResponses.stream()
-                .map(CartItemResponse::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        PromotionRule promotion = findPromotion(cart);
+        PromotionRule.Pricing pricing = promotion.start();
+
+        // O desconto é calculado na moeda base; a conversão só troca os valores exibidos
+        CurrencyConverter converter = findConverter(cart);
+
+        // Uma passada: monta os itens e acumula subtotal e base do desconto
+        List<CartItemResponse> itemResponses = new ArrayList<>(items.size());
+        for (CartItem item : items) {
+            CartItemResponse itemResponse = mapToCartItemResponse(item);
+            pricing.add(itemResponse.getProductId(), itemResponse.getProductPrice(),
+                    itemResponse.getQuantity(), itemResponse.getSubtotal());
+            if (converter != null) {
+                itemResponse.setProductPrice(converter.convert(itemResponse.getProductPrice()));
+                itemResponse.setSubtotal(converter.convert(itemResponse.getSubtotal()));
+            }
+            itemResponses.add(itemResponse);
+        }
 
         return CartResponse.builder()
                 .id(cart.getId())
                 .userId(cart.getUser().getId())
                 .items(itemResponses)
-                .totalAmount(total)
+                .couponCode(promotion.getCode())
+                .discountAmount(converter == null ? pricing.getDiscount() : converter.convert(pricing.getDiscount()))
+                .totalAmount(converter == null ? pricing.getTotal() : converter.convert(pricing.getTotal()))
+                .currency(converter == null ? null : converter.currency())
                 .updatedAt(cart.getUpdatedAt())
                 .build();
     }
 
+    // Moeda que saiu da tabela de cotações volta a ser exibida na moeda base
+    private CurrencyConverter findConverter(ShoppingCart cart) {
+        return cart.getCurrency() == null ? null : exchangeRateService.findConverter(cart.getCurrency()).orElse(null);
+    }
+
+    // Cupom desativado ou removido do catálogo deixa de dar desconto
+    private PromotionRule findPromotion(ShoppingCart cart) {
+        return promotionCatalog.find(cart.getCouponCode()).orElse(PromotionRule.NONE);
+    }
+
     private CartItemResponse mapToCartItemResponse(CartItem item) {
         Product product = item.getProduct();
         BigDecimal subtotal = calculateItemSubtotal(item);
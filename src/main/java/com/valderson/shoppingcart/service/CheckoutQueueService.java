@@ -0,0 +1,191 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.CheckoutQueueConfig;
+import com.valderson.shoppingcart.dto.response.CheckoutTicketResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.enums.CheckoutTicketStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Checkout assíncrono: a requisição só enfileira um ticket e os pedidos são criados por
+// threads virtuais, em ordem para cada usuário e com concorrência limitada no banco
+@Service
+@Slf4j
+public class CheckoutQueueService {
+
+    private final OrderService orderService;
+    private final CheckoutQueueConfig checkoutQueueConfig;
+    private final FlashSaleService flashSaleService;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore dbPermits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public CheckoutQueueService(OrderService orderService,
+                                CheckoutQueueConfig checkoutQueueConfig,
+                                FlashSaleService flashSaleService,
+                                MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.checkoutQueueConfig = checkoutQueueConfig;
+        this.flashSaleService = flashSaleService;
+        this.dbPermits = new Semaphore(checkoutQueueConfig.getDbConcurrency(), true);
+
+        Gauge.builder("checkout.queue.depth", queued, AtomicInteger::get)
+                .description("Tickets de checkout aguardando processamento")
+                .register(meterRegistry);
+    }
+
+    public CheckoutTicketResponse submit(Long userId) {
+        // Backpressure: com a fila cheia, rejeita na hora em vez de acumular trabalho
+        if (queued.incrementAndGet() > checkoutQueueConfig.getCapacity()) {
+            queued.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Fila de checkout cheia, tente novamente");
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), userId, LocalDateTime.now());
+        tickets.put(ticket.id, ticket);
+
+        Lane lane = lanes.compute(userId, (id, current) -> {
+            Lane target = current != null ? current : new Lane();
+            target.pending.add(ticket);
+            return target;
+        });
+        schedule(userId, lane);
+
+        return ticket.toResponse();
+    }
+
+    public CheckoutTicketResponse getTicket(Long userId, String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+
+        if (ticket == null || !ticket.userId.equals(userId)) {
+            throw new RuntimeException("Ticket não encontrado");
+        }
+
+        return ticket.toResponse();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedTickets() {
+        long cutoff = System.currentTimeMillis() - checkoutQueueConfig.getTicketTtl() * 1000L;
+        tickets.values().removeIf(ticket -> ticket.finishedAt > 0 && ticket.finishedAt < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void schedule(Long userId, Lane lane) {
+        if (lane.running.compareAndSet(false, true)) {
+            workers.execute(() -> drain(userId, lane));
+        }
+    }
+
+    private void drain(Long userId, Lane lane) {
+        try {
+            Ticket ticket;
+            while ((ticket = lane.pending.poll()) != null) {
+                queued.decrementAndGet();
+                process(ticket);
+            }
+        } finally {
+            lane.running.set(false);
+        }
+
+        // Só remove a fila do usuário se ninguém enfileirou nada enquanto terminávamos
+        Lane remaining = lanes.computeIfPresent(userId, (id, current) ->
+                current == lane && lane.pending.isEmpty() && !lane.running.get() ? null : current);
+        if (remaining == lane && !lane.pending.isEmpty()) {
+            schedule(userId, lane);
+        }
+    }
+
+    private void process(Ticket ticket) {
+        ticket.status = CheckoutTicketStatus.PROCESSING;
+        CheckoutTicketStatus outcome = CheckoutTicketStatus.FAILED;
+        try {
+            // A fila da promoção vem antes do permit: quem espera a vez não segura conexão do banco
+            ticket.order = flashSaleService.admitCheckout(ticket.userId, () -> createOrder(ticket.userId));
+            outcome = CheckoutTicketStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            log.debug("Checkout ticket {} failed: {}", ticket.id, e.getMessage());
+            ticket.error = e.getMessage();
+        } catch (Throwable e) {
+            // Error não sobe: derrubaria a fila do usuário e deixaria os próximos tickets parados
+            log.error("Checkout ticket {} failed", ticket.id, e);
+            ticket.error = "Falha inesperada no checkout";
+        } finally {
+            // Todo ticket termina com finishedAt, senão a limpeza nunca o remove; o status vem
+            // depois para quem o vê encerrado já encontrar finishedAt preenchido
+            ticket.finishedAt = System.currentTimeMillis();
+            ticket.status = outcome;
+        }
+    }
+
+    private OrderResponse createOrder(Long userId) {
+        try {
+            dbPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Checkout interrompido");
+        }
+        try {
+            return orderService.createOrder(userId);
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    private static final class Lane {
+        private final Queue<Ticket> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final Long userId;
+        private final LocalDateTime createdAt;
+        private volatile CheckoutTicketStatus status = CheckoutTicketStatus.QUEUED;
+        private volatile OrderResponse order;
+        private volatile String error;
+        private volatile long finishedAt;
+
+        private Ticket(String id, Long userId, LocalDateTime createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.createdAt = createdAt;
+        }
+
+        private CheckoutTicketResponse toResponse() {
+            return CheckoutTicketResponse.builder()
+                    .ticketId(id)
+                    .userId(userId)
+                    .status(status)
+                    .order(order)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+}
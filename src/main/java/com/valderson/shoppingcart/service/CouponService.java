@@ -0,0 +1,94 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.dto.request.CreateCouponRequest;
+import com.valderson.shoppingcart.dto.response.CouponResponse;
+import com.valderson.shoppingcart.entity.Coupon;
+import com.valderson.shoppingcart.enums.CouponType;
+import com.valderson.shoppingcart.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CouponService {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final CouponRepository couponRepository;
+    private final PromotionCatalog promotionCatalog;
+
+    public CouponResponse createCoupon(CreateCouponRequest request) {
+        String code = PromotionCatalog.normalize(request.getCode());
+
+        if (couponRepository.existsByCode(code)) {
+            throw new RuntimeException("Cupom já cadastrado");
+        }
+
+        validate(request);
+
+        Coupon coupon = couponRepository.save(Coupon.builder()
+                .code(code)
+                .type(request.getType())
+                .value(request.getValue())
+                .productId(request.getProductId())
+                .buyQuantity(request.getBuyQuantity())
+                .freeQuantity(request.getFreeQuantity())
+                .minSpend(request.getMinSpend())
+                .usageLimit(request.getUsageLimit())
+                .expiresAt(request.getExpiresAt())
+                .build());
+
+        // O catálogo só enxerga o cupom depois do commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                promotionCatalog.reload();
+            }
+        });
+
+        return mapToCouponResponse(coupon);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CouponResponse> getAllCoupons() {
+        return couponRepository.findAll().stream()
+                .map(this::mapToCouponResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void validate(CreateCouponRequest request) {
+        if (request.getType() == CouponType.BUY_X_GET_Y) {
+            if (request.getProductId() == null || request.getBuyQuantity() == null || request.getFreeQuantity() == null) {
+                throw new RuntimeException("Cupom leve X pague Y exige produto e quantidades");
+            }
+        } else if (request.getValue() == null) {
+            throw new RuntimeException("Valor do cupom é obrigatório");
+        } else if (request.getType() == CouponType.PERCENTAGE && request.getValue().compareTo(ONE_HUNDRED) > 0) {
+            throw new RuntimeException("Desconto percentual deve ser no máximo 100");
+        }
+    }
+
+    private CouponResponse mapToCouponResponse(Coupon coupon) {
+        return CouponResponse.builder()
+                .id(coupon.getId())
+                .code(coupon.getCode())
+                .type(coupon.getType())
+                .value(coupon.getValue())
+                .productId(coupon.getProductId())
+                .buyQuantity(coupon.getBuyQuantity())
+                .freeQuantity(coupon.getFreeQuantity())
+                .minSpend(coupon.getMinSpend())
+                .usageLimit(coupon.getUsageLimit())
+                .usageCount(coupon.getUsageCount())
+                .expiresAt(coupon.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.valderson.shoppingcart.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+// Conversão da moeda base para uma moeda, montada uma vez por versão da tabela de cotações:
+// na leitura resta só uma multiplicação por valor, já com as casas decimais da moeda resolvidas
+public record CurrencyConverter(String currency, BigDecimal rate, int fractionDigits) {
+
+    public static CurrencyConverter of(String currency, BigDecimal rate) {
+        return new CurrencyConverter(currency, rate,
+                Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0));
+    }
+
+    public BigDecimal convert(BigDecimal amount) {
+        return amount == null ? null : amount.multiply(rate).setScale(fractionDigits, RoundingMode.HALF_UP);
+    }
+}
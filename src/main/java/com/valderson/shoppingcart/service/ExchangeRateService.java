@@ -0,0 +1,173 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.CurrencyConfig;
+import com.valderson.shoppingcart.dto.response.ExchangeRatesResponse;
+import com.valderson.shoppingcart.entity.ExchangeRate;
+import com.valderson.shoppingcart.repository.ExchangeRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Tabela de cotações em memória, versionada: cada recarga monta uma tabela nova com os conversores
+// já prontos e troca a referência de uma vez, então uma leitura nunca mistura duas versões
+@Service
+@Slf4j
+public class ExchangeRateService {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final CurrencyConfig currencyConfig;
+
+    private volatile RateTable rates;
+
+    public ExchangeRateService(ExchangeRateRepository exchangeRateRepository, CurrencyConfig currencyConfig) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.currencyConfig = currencyConfig;
+
+        // Até a primeira carga, só a moeda base está disponível
+        String base = currencyConfig.getBase();
+        this.rates = new RateTable(0, LocalDateTime.now(), Map.of(base, CurrencyConverter.of(base, BigDecimal.ONE)));
+    }
+
+    public CurrencyConverter converterFor(String currency) {
+        return findConverter(currency)
+                .orElseThrow(() -> new RuntimeException("Moeda não suportada"));
+    }
+
+    public Optional<CurrencyConverter> findConverter(String currency) {
+        return Optional.ofNullable(rates.converters().get(currency.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    public String getBaseCurrency() {
+        return currencyConfig.getBase();
+    }
+
+    public ExchangeRatesResponse getRates() {
+        RateTable current = rates;
+        Map<String, BigDecimal> values = new TreeMap<>();
+        current.converters().forEach((currency, converter) -> values.put(currency, converter.rate()));
+
+        return ExchangeRatesResponse.builder()
+                .version(current.version())
+                .baseCurrency(currencyConfig.getBase())
+                .rates(values)
+                .loadedAt(current.loadedAt())
+                .build();
+    }
+
+    public ExchangeRatesResponse updateRate(String currency, BigDecimal rate) {
+        String code = currency.trim().toUpperCase(Locale.ROOT);
+        if (code.equals(currencyConfig.getBase())) {
+            throw new RuntimeException("A moeda base tem cotação fixa");
+        }
+        if (!isIsoCurrency(code)) {
+            throw new RuntimeException("Moeda não suportada");
+        }
+        // O arquivo sobrepõe o banco a cada recarga: uma cotação gravada aqui seria desfeita em silêncio
+        if (readRatesFile().containsKey(code)) {
+            throw new RuntimeException("Cotação definida pelo arquivo de cotações");
+        }
+
+        exchangeRateRepository.save(ExchangeRate.builder()
+                .currency(code)
+                .rate(rate)
+                .build());
+        reload();
+
+        return getRates();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "#{@currencyConfig.reloadInterval}",
+            initialDelayString = "#{@currencyConfig.reloadInterval}")
+    public synchronized void reload() {
+        Map<String, BigDecimal> loaded = new HashMap<>();
+        exchangeRateRepository.findAll().forEach(rate -> loaded.put(rate.getCurrency(), rate.getRate()));
+        loaded.putAll(readRatesFile());
+        loaded.put(currencyConfig.getBase(), BigDecimal.ONE);
+        loaded.keySet().removeIf(currency -> {
+            boolean unknown = !isIsoCurrency(currency);
+            if (unknown) {
+                log.warn("Ignoring exchange rate for unknown currency {}", currency);
+            }
+            return unknown;
+        });
+
+        RateTable current = rates;
+        if (sameRates(current, loaded)) {
+            return;
+        }
+
+        Map<String, CurrencyConverter> converters = new HashMap<>();
+        loaded.forEach((currency, rate) -> converters.put(currency, CurrencyConverter.of(currency, rate.stripTrailingZeros())));
+
+        rates = new RateTable(current.version() + 1, LocalDateTime.now(), Map.copyOf(converters));
+        log.info("Exchange rates reloaded: version {}, {} currencies", current.version() + 1, converters.size());
+    }
+
+    private Map<String, BigDecimal> readRatesFile() {
+        if (currencyConfig.getRatesFile() == null || currencyConfig.getRatesFile().isBlank()) {
+            return Map.of();
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(currencyConfig.getRatesFile()))) {
+            properties.load(reader);
+        } catch (IOException e) {
+            // Arquivo indisponível não derruba a tabela: valem as cotações do banco
+            log.warn("Could not read exchange rates file {}: {}", currencyConfig.getRatesFile(), e.getMessage());
+            return Map.of();
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        properties.forEach((currency, rate) -> {
+            try {
+                rates.put(currency.toString().trim().toUpperCase(Locale.ROOT), new BigDecimal(rate.toString().trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid exchange rate {}={}", currency, rate);
+            }
+        });
+        return rates;
+    }
+
+    private boolean sameRates(RateTable table, Map<String, BigDecimal> loaded) {
+        if (table.converters().size() != loaded.size()) {
+            return false;
+        }
+        return loaded.entrySet().stream().allMatch(entry -> {
+            CurrencyConverter converter = table.converters().get(entry.getKey());
+            return converter != null && converter.rate().compareTo(entry.getValue()) == 0;
+        });
+    }
+
+    private boolean isIsoCurrency(String code) {
+        try {
+            Currency.getInstance(code);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private record RateTable(long version, LocalDateTime loadedAt, Map<String, CurrencyConverter> converters) {
+    }
+}
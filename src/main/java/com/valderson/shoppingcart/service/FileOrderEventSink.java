@@ -0,0 +1,41 @@
+package com.valderson.shoppingcart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.config.OutboxConfig;
+import com.valderson.shoppingcart.event.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Grava os eventos em um arquivo JSON Lines, um por linha; ativo quando outbox.file-path é informado
+@Component
+@ConditionalOnExpression("!'${outbox.file-path:}'.isEmpty()")
+@RequiredArgsConstructor
+public class FileOrderEventSink implements OrderEventSink {
+
+    private final OutboxConfig outboxConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void publish(List<OrderEvent> events) {
+        Path path = Path.of(outboxConfig.getFilePath());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao gravar eventos de pedido em arquivo", e);
+        }
+    }
+}
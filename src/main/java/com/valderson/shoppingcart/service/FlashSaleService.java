@@ -0,0 +1,163 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.FlashSaleConfig;
+import com.valderson.shoppingcart.repository.CartItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Modo flash sale: requisições de um produto em promoção passam por uma fila justa e limitada
+// antes de chegar às transações, com taxa e concorrência configuráveis. O excesso recebe 503
+// na hora e o restante do catálogo não disputa conexões com o produto em promoção.
+@Service
+public class FlashSaleService {
+
+    private final FlashSaleConfig flashSaleConfig;
+    private final CartItemRepository cartItemRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+
+    public FlashSaleService(FlashSaleConfig flashSaleConfig,
+                            CartItemRepository cartItemRepository,
+                            MeterRegistry meterRegistry) {
+        this.flashSaleConfig = flashSaleConfig;
+        this.cartItemRepository = cartItemRepository;
+        this.meterRegistry = meterRegistry;
+
+        flashSaleConfig.getProductIds().forEach(this::enable);
+    }
+
+    public void enable(Long productId) {
+        gates.computeIfAbsent(productId, id -> new Gate(flashSaleConfig));
+    }
+
+    public void disable(Long productId) {
+        gates.remove(productId);
+    }
+
+    public boolean isEnabled(Long productId) {
+        return gates.containsKey(productId);
+    }
+
+    public <T> T admit(Long productId, Supplier<T> action) {
+        Gate gate = gates.get(productId);
+        return gate == null ? action.get() : pass(productId, gate, action);
+    }
+
+    // Checkout: só consulta os produtos do carrinho quando há alguma promoção ativa
+    public <T> T admitCheckout(Long userId, Supplier<T> action) {
+        if (gates.isEmpty()) {
+            return action.get();
+        }
+
+        List<Long> productIds = new ArrayList<>(cartItemRepository.findProductIdsByUserId(userId));
+        productIds.removeIf(productId -> !gates.containsKey(productId));
+        // Ordem fixa para que checkouts com os mesmos produtos não travem uns aos outros
+        productIds.sort(null);
+
+        return admitAll(productIds, 0, action);
+    }
+
+    private <T> T admitAll(List<Long> productIds, int index, Supplier<T> action) {
+        if (index == productIds.size()) {
+            return action.get();
+        }
+        return admit(productIds.get(index), () -> admitAll(productIds, index + 1, action));
+    }
+
+    private <T> T pass(Long productId, Gate gate, Supplier<T> action) {
+        if (!gate.enterQueue(flashSaleConfig.getQueueCapacity())) {
+            throw rejection(productId);
+        }
+
+        boolean admitted;
+        try {
+            admitted = gate.awaitTurn(TimeUnit.MILLISECONDS.toNanos(flashSaleConfig.getMaxWait()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        } finally {
+            gate.leaveQueue();
+        }
+
+        if (!admitted) {
+            throw rejection(productId);
+        }
+
+        meterRegistry.counter("flash.sale.admitted", "product", productId.toString()).increment();
+        try {
+            return action.get();
+        } finally {
+            gate.permits.release();
+        }
+    }
+
+    private ResponseStatusException rejection(Long productId) {
+        meterRegistry.counter("flash.sale.rejected", "product", productId.toString()).increment();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Produto esgotado ou com alta demanda, tente novamente em instantes");
+    }
+
+    private static final class Gate {
+        private final Semaphore permits;
+        private final long intervalNanos;
+        private final AtomicInteger queued = new AtomicInteger();
+        // Próximo horário livre (System.nanoTime) para respeitar a taxa de admissão
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        private Gate(FlashSaleConfig config) {
+            this.permits = new Semaphore(config.getMaxConcurrent(), true);
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getRatePerSecond());
+        }
+
+        private boolean enterQueue(int capacity) {
+            if (queued.incrementAndGet() > capacity) {
+                queued.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void leaveQueue() {
+            queued.decrementAndGet();
+        }
+
+        // Reserva um horário respeitando a taxa, espera por ele e então por uma vaga de concorrência
+        private boolean awaitTurn(long maxWaitNanos) throws InterruptedException {
+            long now = System.nanoTime();
+            long deadline = now + maxWaitNanos;
+
+            long slot;
+            while (true) {
+                long next = nextSlot.get();
+                slot = next - now > 0 ? next : now;
+                if (slot - deadline > 0) {
+                    // Nem chegaria a vez dentro do tempo máximo: recusa sem consumir o horário
+                    return false;
+                }
+                if (nextSlot.compareAndSet(next, slot + intervalNanos)) {
+                    break;
+                }
+            }
+
+            long delay = slot - System.nanoTime();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+
+            return permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.IdempotencyConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyConfig idempotencyConfig;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Executa a ação uma única vez por chave: repetições recebem o resultado guardado
+    // e requisições simultâneas aguardam a execução em andamento
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> action) {
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(new CompletableFuture<>(), now + idempotencyConfig.getTtl() * 1000L);
+
+        Entry existing = entries.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now)) {
+                return current;
+            }
+            // No limite, uma chave nova só entra quando a limpeza agendada abrir espaço
+            if (current == null && entries.size() >= idempotencyConfig.getMaxEntries()) {
+                return null;
+            }
+            return created;
+        });
+
+        if (existing == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Muitas requisições em andamento, tente novamente");
+        }
+        if (existing != created) {
+            return (T) await(existing.result());
+        }
+
+        try {
+            T value = action.get();
+            created.result().complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Falhas não são memorizadas: a próxima tentativa com a mesma chave executa de novo.
+            // Qualquer Throwable libera quem aguarda, senão a chave ficaria presa até expirar
+            entries.remove(key, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now) && entry.getValue().result().isDone());
+
+        if (entries.size() >= idempotencyConfig.getMaxEntries()) {
+            log.warn("Idempotency store full: {} entries, new keys are rejected", entries.size());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> result, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.event.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Entrega os eventos para os listeners da própria aplicação (@EventListener de OrderEvent)
+@Component
+@RequiredArgsConstructor
+public class InProcessOrderEventSink implements OrderEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,257 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.InventoryConfig;
+import com.valderson.shoppingcart.dto.projection.CheckoutLine;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ProductStock;
+import com.valderson.shoppingcart.entity.StockReservation;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.repository.ProductStockRepository;
+import com.valderson.shoppingcart.repository.StockReservationRepository;
+import com.valderson.shoppingcart.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Estoque por produto em shards. Produtos sem estoque cadastrado não são controlados (estoque ilimitado).
+// O carrinho reserva a quantidade ao adicionar o item; o checkout consome a reserva e reservas de
+// carrinhos abandonados expiram e devolvem o estoque.
+// A retirada reivindica com SKIP LOCKED um shard livre com saldo, então compradores do mesmo produto
+// pegam shards diferentes sem esperar uns pelos outros; só quando nenhum shard livre basta sozinho ela trava todos os
+// shards do produto, em ordem. Transações com vários produtos os percorrem em ordem de id.
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private final ProductStockRepository productStockRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final InventoryConfig inventoryConfig;
+
+    // A quantidade informada é o total em mãos, incluindo o que está reservado em carrinhos: as reservas
+    // voltam para os shards ao expirar ou sair do carrinho, então os shards recebem só o restante
+    public void setStock(Long productId, int quantity) {
+        // Trava os shards antes de somar as reservas: retiradas em andamento terminam antes da soma
+        productStockRepository.findShardQuantitiesForUpdate(productId);
+        long reserved = stockReservationRepository.sumQuantityByProductId(productId);
+        int unreserved = (int) (quantity - reserved);
+
+        productStockRepository.deleteByProductId(productId);
+        productRepository.markStockTracked(productId);
+
+        // Distribui o saldo igualmente; o resto vai para os primeiros shards. Com mais reservado que o
+        // total, o shard 0 fica negativo e nenhuma retirada passa até as reservas voltarem
+        int shards = inventoryConfig.getShards();
+        List<ProductStock> rows = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int share = unreserved < 0
+                    ? (shard == 0 ? unreserved : 0)
+                    : unreserved / shards + (shard < unreserved % shards ? 1 : 0);
+            rows.add(ProductStock.builder()
+                    .productId(productId)
+                    .shard(shard)
+                    .quantity(share)
+                    .build());
+        }
+        productStockRepository.saveAll(rows);
+    }
+
+    // null quando o produto não tem estoque controlado
+    @Transactional(readOnly = true)
+    public Long getAvailableStock(Long productId) {
+        Long available = productStockRepository.sumQuantityByProductId(productId);
+        return available == null ? null : Math.max(available, 0L);
+    }
+
+    public void reserve(Long userId, Product product, int quantity) {
+        if (!isTracked(product.getStockTracked())) {
+            return;
+        }
+
+        // Sem a trava, duas adições simultâneas do mesmo produto inseririam a mesma reserva e a segunda
+        // falharia na constraint única depois de já ter retirado do estoque
+        userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+
+        Long productId = product.getId();
+        if (take(productId, quantity) == Take.INSUFFICIENT) {
+            throw new RuntimeException("Estoque insuficiente");
+        }
+
+        LocalDateTime expiresAt = reservationExpiry();
+        StockReservation reservation = stockReservationRepository.findByUserIdAndProductId(userId, productId)
+                .map(existing -> {
+                    existing.setQuantity(existing.getQuantity() + quantity);
+                    existing.setExpiresAt(expiresAt);
+                    return existing;
+                })
+                .orElseGet(() -> StockReservation.builder()
+                        .userId(userId)
+                        .productId(productId)
+                        .quantity(quantity)
+                        .expiresAt(expiresAt)
+                        .build());
+
+        stockReservationRepository.save(reservation);
+    }
+
+    public void release(Long userId, Long productId) {
+        stockReservationRepository.findByUserIdAndProductId(userId, productId)
+                .ifPresent(this::releaseReservation);
+    }
+
+    public void releaseAll(Long userId) {
+        stockReservationRepository.findByUserIdForUpdate(userId).stream()
+                .sorted(Comparator.comparing(StockReservation::getProductId))
+                .forEach(this::releaseReservation);
+    }
+
+    // Converte as reservas do usuário em baixa definitiva para as linhas do checkout. Itens cuja
+    // reserva expirou (ou aumentou de quantidade) retiram a diferença do estoque agora.
+    public void commitReservations(Long userId, List<CheckoutLine> lines) {
+        List<StockReservation> reservations = stockReservationRepository.findByUserIdForUpdate(userId);
+        Map<Long, Integer> reserved = reservations.stream()
+                .collect(Collectors.toMap(StockReservation::getProductId, StockReservation::getQuantity));
+        Map<Long, CheckoutLine> linesByProduct = lines.stream()
+                .collect(Collectors.toMap(CheckoutLine::productId, line -> line, (first, second) -> first));
+
+        // Produtos em ordem de id, incluindo reservas de produtos que já saíram do carrinho
+        SortedSet<Long> productIds = new TreeSet<>(reserved.keySet());
+        lines.stream()
+                .filter(line -> isTracked(line.stockTracked()))
+                .forEach(line -> productIds.add(line.productId()));
+
+        for (Long productId : productIds) {
+            CheckoutLine line = linesByProduct.get(productId);
+            int wanted = line != null && isTracked(line.stockTracked()) ? line.quantity() : 0;
+            int missing = wanted - reserved.getOrDefault(productId, 0);
+
+            if (missing > 0 && take(productId, missing) == Take.INSUFFICIENT) {
+                throw new RuntimeException("Estoque insuficiente para o produto: " + line.productName());
+            }
+            if (missing < 0) {
+                give(productId, -missing);
+            }
+        }
+
+        if (!reservations.isEmpty()) {
+            stockReservationRepository.deleteAllInBatch(reservations);
+        }
+    }
+
+    // Devolve ao estoque os itens de um pedido cancelado
+    public void restock(List<OrderItemResponse> items) {
+        Set<Long> tracked = trackedProductIds(items.stream().map(OrderItemResponse::getProductId).toList());
+        items.stream()
+                .filter(item -> tracked.contains(item.getProductId()))
+                .sorted(Comparator.comparing(OrderItemResponse::getProductId))
+                .forEach(item -> give(item.getProductId(), item.getQuantity()));
+    }
+
+    @Scheduled(fixedDelay = 30000)
+    public void releaseExpiredReservations() {
+        // SKIP LOCKED: reservas em uso por um checkout são ignoradas nesta rodada
+        List<StockReservation> expired = stockReservationRepository.claimExpired(
+                LocalDateTime.now(), Limit.of(inventoryConfig.getSweepBatchSize()));
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Set<Long> tracked = trackedProductIds(expired.stream().map(StockReservation::getProductId).toList());
+        expired.stream()
+                .filter(reservation -> tracked.contains(reservation.getProductId()))
+                .sorted(Comparator.comparing(StockReservation::getProductId))
+                .forEach(reservation -> give(reservation.getProductId(), reservation.getQuantity()));
+        stockReservationRepository.deleteAllInBatch(expired);
+
+        log.debug("Released {} expired stock reservations", expired.size());
+    }
+
+    private void releaseReservation(StockReservation reservation) {
+        give(reservation.getProductId(), reservation.getQuantity());
+        stockReservationRepository.delete(reservation);
+    }
+
+    // Caminho rápido: reivindica um único shard com saldo, pulando os travados por outras retiradas.
+    // Um UPDATE condicional que esperasse por um shard ocupado e não achasse saldo continuaria com o lock,
+    // e quem trava todos os shards em seguida entraria em ciclo com outra retirada fazendo o mesmo
+    private Take take(Long productId, int quantity) {
+        List<Integer> claimed = productStockRepository.claimShardWithQuantity(productId, quantity, Limit.of(1));
+        if (!claimed.isEmpty()) {
+            productStockRepository.takeFromShard(productId, claimed.get(0), quantity);
+            return Take.TAKEN;
+        }
+        return takeAcrossShards(productId, quantity);
+    }
+
+    // Trava todos os shards do produto em ordem antes de retirar o saldo espalhado entre eles
+    private Take takeAcrossShards(Long productId, int quantity) {
+        List<Object[]> shards = productStockRepository.findShardQuantitiesForUpdate(productId);
+        long available = shards.stream().mapToLong(row -> (Integer) row[1]).sum();
+        if (available < quantity) {
+            return Take.INSUFFICIENT;
+        }
+
+        int remaining = quantity;
+        for (Object[] row : shards) {
+            int taken = Math.min(remaining, (Integer) row[1]);
+            if (taken > 0) {
+                productStockRepository.takeFromShard(productId, (Integer) row[0], taken);
+                remaining -= taken;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return Take.TAKEN;
+    }
+
+    private void give(Long productId, int quantity) {
+        int shard = ThreadLocalRandom.current().nextInt(inventoryConfig.getShards());
+
+        // O shard sorteado pode não existir se o número de shards mudou depois do cadastro do estoque
+        if (productStockRepository.returnToShard(productId, shard, quantity) == 0 && shard != 0) {
+            productStockRepository.returnToShard(productId, 0, quantity);
+        }
+    }
+
+    private Set<Long> trackedProductIds(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(productRepository.findStockTrackedIdsByIdIn(productIds));
+    }
+
+    private static boolean isTracked(Boolean stockTracked) {
+        return Boolean.TRUE.equals(stockTracked);
+    }
+
+    private LocalDateTime reservationExpiry() {
+        return LocalDateTime.now().plusSeconds(inventoryConfig.getReservationTtl());
+    }
+
+    private enum Take {
+        TAKEN,
+        INSUFFICIENT
+    }
+}
@@ -0,0 +1,135 @@
+package com.valderson.shoppingcart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+// Caminho frio do histórico: lê os pedidos arquivados direto dos arquivos compactados.
+// Só abre os arquivos do grupo do usuário e só à medida que o stream é consumido.
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveReader {
+
+    static final String FILE_SUFFIX = ".jsonl.gz";
+    static final DateTimeFormatter MONTH_PARTITION = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final OrderArchiveConfig orderArchiveConfig;
+    private final ObjectMapper objectMapper;
+
+    // Meses mais recentes primeiro; dentro do mês, na ordem em que foram arquivados.
+    // O stream precisa ser fechado por quem o consome.
+    public Stream<OrderResponse> findUserOrders(Long userId) {
+        Path root = Path.of(orderArchiveConfig.getDirectory());
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+
+        String bucket = bucketName(userId, orderArchiveConfig.getBuckets());
+        // Uma execução interrompida entre gravar o arquivo e apagar do banco arquiva o pedido de novo
+        Set<Long> seen = new HashSet<>();
+
+        return list(root)
+                .filter(Files::isDirectory)
+                .sorted(Comparator.reverseOrder())
+                .map(month -> month.resolve(bucket))
+                .filter(Files::isDirectory)
+                .flatMap(dir -> list(dir)
+                        .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                        .sorted())
+                .flatMap(this::readOrders)
+                .filter(order -> userId.equals(order.getUserId()))
+                .filter(order -> seen.add(order.getId()));
+    }
+
+    // Pedidos criados em [start, end), mês a mês e grupo a grupo, para relatórios de todos os usuários.
+    // A repetição de uma execução interrompida fica no mesmo grupo do mês, então só os ids do grupo
+    // corrente ficam em memória. O stream precisa ser fechado por quem o consome.
+    public Stream<OrderResponse> findOrdersCreatedBetween(LocalDateTime start, LocalDateTime end) {
+        Path root = Path.of(orderArchiveConfig.getDirectory());
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+
+        String firstMonth = start.format(MONTH_PARTITION);
+        String lastMonth = end.minusNanos(1).format(MONTH_PARTITION);
+
+        return list(root)
+                .filter(Files::isDirectory)
+                .filter(month -> {
+                    String name = month.getFileName().toString();
+                    return name.compareTo(firstMonth) >= 0 && name.compareTo(lastMonth) <= 0;
+                })
+                .sorted()
+                .flatMap(month -> list(month).filter(Files::isDirectory).sorted())
+                .flatMap(bucket -> {
+                    Set<Long> seen = new HashSet<>();
+                    return list(bucket)
+                            .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                            .sorted()
+                            .flatMap(this::readOrders)
+                            .filter(order -> seen.add(order.getId()));
+                })
+                .filter(order -> !order.getCreatedAt().isBefore(start) && order.getCreatedAt().isBefore(end));
+    }
+
+    static String bucketName(Long userId, int buckets) {
+        return "bucket-" + Math.floorMod(userId, buckets);
+    }
+
+    private Stream<OrderResponse> readOrders(Path file) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8));
+            return reader.lines()
+                    .map(this::parse)
+                    .onClose(() -> close(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OrderResponse parse(String line) {
+        try {
+            return objectMapper.readValue(line, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao ler pedido arquivado", e);
+        }
+    }
+
+    private Stream<Path> list(Path dir) {
+        // Lista pequena (meses ou arquivos de um grupo): carrega tudo e libera o diretório na hora
+        try (Stream<Path> entries = Files.list(dir)) {
+            List<Path> paths = entries.toList();
+            return paths.stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
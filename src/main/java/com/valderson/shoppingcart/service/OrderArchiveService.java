@@ -0,0 +1,206 @@
+package com.valderson.shoppingcart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.OrderHistoryRepository;
+import com.valderson.shoppingcart.repository.OrderItemRepository;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Move pedidos finalizados antigos para arquivos compactados em disco. Os pedidos são lidos
+// por um cursor de StatelessSession (sem contexto de persistência crescendo), gravados em
+// blocos e só então removidos do banco, um bloco por transação.
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    // Uma linha por item, já ordenada por pedido: o pedido é montado sem consultas extras
+    private static final String ARCHIVE_QUERY =
+            "SELECT o.id, o.user.id, o.status, o.totalAmount, o.discountAmount, o.couponCode, o.createdAt, " +
+            "i.id, i.product.id, i.productName, i.productPrice, i.quantity, i.subtotal, o.currency, o.exchangeRate " +
+            "FROM Order o JOIN o.orderItems i " +
+            "WHERE o.createdAt < :cutoff AND o.status <> :pending " +
+            "ORDER BY o.id, i.id";
+
+    private final SessionFactory sessionFactory;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderArchiveConfig orderArchiveConfig;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderArchiveService(EntityManagerFactory entityManagerFactory,
+                               OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               OrderHistoryRepository orderHistoryRepository,
+                               OrderArchiveConfig orderArchiveConfig,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderHistoryRepository = orderHistoryRepository;
+        this.orderArchiveConfig = orderArchiveConfig;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "#{@orderArchiveConfig.interval}",
+            initialDelayString = "#{@orderArchiveConfig.interval}")
+    public void run() {
+        if (orderArchiveConfig.isEnabled()) {
+            archiveOlderThan(LocalDateTime.now().minusDays(orderArchiveConfig.getRetentionDays()));
+        }
+    }
+
+    // Pedidos pendentes ficam no banco mesmo antigos: ainda podem ser confirmados ou cancelados
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        String runId = String.valueOf(System.currentTimeMillis());
+        List<OrderResponse> chunk = new ArrayList<>();
+        int archived = 0;
+        int chunkNumber = 0;
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> rows = session.createQuery(ARCHIVE_QUERY, Object[].class)
+                    .setParameter("cutoff", cutoff)
+                    .setParameter("pending", OrderStatus.PENDING)
+                    .setFetchSize(orderArchiveConfig.getFetchSize())
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                OrderResponse current = null;
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    Long orderId = (Long) row[0];
+
+                    if (current == null || !current.getId().equals(orderId)) {
+                        // O pedido anterior está completo; o bloco só é gravado entre pedidos
+                        if (current != null && chunk.size() >= orderArchiveConfig.getChunkSize()) {
+                            archived += flush(runId, ++chunkNumber, chunk);
+                            chunk.clear();
+                        }
+                        current = toOrder(row);
+                        chunk.add(current);
+                    }
+                    current.getItems().add(toItem(row));
+                }
+            }
+            transaction.commit();
+        }
+
+        if (!chunk.isEmpty()) {
+            archived += flush(runId, ++chunkNumber, chunk);
+        }
+
+        if (archived > 0) {
+            log.info("Order archival finished: {} orders older than {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int flush(String runId, int chunkNumber, List<OrderResponse> orders) {
+        Map<Path, List<OrderResponse>> partitions = new LinkedHashMap<>();
+        for (OrderResponse order : orders) {
+            partitions.computeIfAbsent(partitionOf(order), path -> new ArrayList<>()).add(order);
+        }
+
+        // Os arquivos ficam completos em disco antes de qualquer remoção no banco
+        String fileName = "orders-" + runId + "-" + chunkNumber + OrderArchiveReader.FILE_SUFFIX;
+        partitions.forEach((dir, partition) -> write(dir.resolve(fileName), partition));
+
+        List<Long> orderIds = orders.stream().map(OrderResponse::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            orderHistoryRepository.deleteByOrderIdIn(orderIds);
+            orderItemRepository.deleteByOrderIdIn(orderIds);
+            orderRepository.deleteByIdIn(orderIds);
+        });
+
+        return orders.size();
+    }
+
+    private Path partitionOf(OrderResponse order) {
+        return Path.of(orderArchiveConfig.getDirectory())
+                .resolve(order.getCreatedAt().format(OrderArchiveReader.MONTH_PARTITION))
+                .resolve(OrderArchiveReader.bucketName(order.getUserId(), orderArchiveConfig.getBuckets()));
+    }
+
+    private void write(Path file, List<OrderResponse> orders) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                for (OrderResponse order : orders) {
+                    writer.write(objectMapper.writeValueAsString(order));
+                    writer.newLine();
+                }
+            }
+            // O leitor nunca enxerga um arquivo pela metade
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OrderResponse toOrder(Object[] row) {
+        String currency = (String) row[13];
+        BigDecimal exchangeRate = (BigDecimal) row[14];
+
+        return OrderResponse.builder()
+                .id((Long) row[0])
+                .userId((Long) row[1])
+                .status((OrderStatus) row[2])
+                .totalAmount((BigDecimal) row[3])
+                .discountAmount((BigDecimal) row[4])
+                .couponCode((String) row[5])
+                .createdAt((LocalDateTime) row[6])
+                .currency(currency)
+                .exchangeRate(exchangeRate)
+                .convertedTotalAmount(currency == null ? null
+                        : CurrencyConverter.of(currency, exchangeRate).convert((BigDecimal) row[3]))
+                .items(new ArrayList<>())
+                .build();
+    }
+
+    private OrderItemResponse toItem(Object[] row) {
+        return OrderItemResponse.builder()
+                .id((Long) row[7])
+                .productId((Long) row[8])
+                .productName((String) row[9])
+                .productPrice((BigDecimal) row[10])
+                .quantity((Integer) row[11])
+                .subtotal((BigDecimal) row[12])
+                .build();
+    }
+}
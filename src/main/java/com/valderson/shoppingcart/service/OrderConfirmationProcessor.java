@@ -0,0 +1,162 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.OrderProcessorConfig;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Confirma pedidos pendentes com mais de `order-processor.min-age` em segundo plano. Cada lote é reivindicado com FOR UPDATE SKIP LOCKED,
+// passa pelas etapas de confirmação e tem o status atualizado na mesma transação, então várias
+// instâncias da aplicação podem rodar o processador ao mesmo tempo sem processar o mesmo pedido
+@Service
+@Slf4j
+public class OrderConfirmationProcessor {
+
+    private final OrderRepository orderRepository;
+    private final OrderHistoryService orderHistoryService;
+    private final ObjectProvider<OrderConfirmationStep> steps;
+    private final OrderProcessorConfig orderProcessorConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter confirmedOrders;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+
+    public OrderConfirmationProcessor(OrderRepository orderRepository,
+                                      OrderHistoryService orderHistoryService,
+                                      ObjectProvider<OrderConfirmationStep> steps,
+                                      OrderProcessorConfig orderProcessorConfig,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderHistoryService = orderHistoryService;
+        this.steps = steps;
+        this.orderProcessorConfig = orderProcessorConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.confirmedOrders = Counter.builder("orders.confirmation.confirmed")
+                .description("Pedidos confirmados pelo processador")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("orders.confirmation.failed.batches")
+                .description("Lotes devolvidos para PENDING por falha em alguma etapa")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.confirmation.batch")
+                .description("Duração de cada lote, da reivindicação ao commit")
+                .register(meterRegistry);
+        Gauge.builder("orders.confirmation.lag", lagSeconds, AtomicLong::get)
+                .description("Idade em segundos do pedido pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@orderProcessorConfig.interval}")
+    public void run() {
+        if (orderProcessorConfig.isEnabled()) {
+            processPending();
+        }
+    }
+
+    // Drena os pendentes com até `parallelism` lotes simultâneos; devolve quantos pedidos foram confirmados
+    public int processPending() {
+        List<Future<Integer>> drains = new ArrayList<>();
+        for (int i = 0; i < orderProcessorConfig.getParallelism(); i++) {
+            drains.add(workers.submit(this::drain));
+        }
+
+        int total = 0;
+        for (Future<Integer> drain : drains) {
+            try {
+                total += drain.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Order confirmation worker failed", e.getCause());
+            }
+        }
+
+        refreshLag();
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private int drain() {
+        int total = 0;
+        while (true) {
+            BatchResult result;
+            Timer.Sample sample = Timer.start();
+            try {
+                result = transactionTemplate.execute(status -> confirmBatch());
+            } catch (RuntimeException e) {
+                // O lote volta para PENDING com o rollback; este worker para até a próxima rodada
+                failedBatches.increment();
+                log.warn("Order confirmation batch failed: {}", e.getMessage());
+                return total;
+            } finally {
+                sample.stop(batchTimer);
+            }
+
+            confirmedOrders.increment(result.confirmed());
+            total += result.confirmed();
+
+            // Lote incompleto: não há mais pendentes livres neste momento
+            if (result.claimed() < orderProcessorConfig.getBatchSize()) {
+                return total;
+            }
+        }
+    }
+
+    private BatchResult confirmBatch() {
+        // Pedidos recém-criados ficam de fora: enquanto PENDING, o cliente ainda pode cancelar
+        LocalDateTime createdBefore = LocalDateTime.now().minus(Duration.ofMillis(orderProcessorConfig.getMinAge()));
+        List<Long> orderIds = orderRepository.claimIdsByStatus(
+                OrderStatus.PENDING, createdBefore, Limit.of(orderProcessorConfig.getBatchSize()));
+
+        if (orderIds.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        steps.orderedStream().forEach(step -> step.process(orderIds));
+
+        int confirmed = orderRepository.updateStatusIfCurrent(
+                orderIds, OrderStatus.PENDING, OrderStatus.CONFIRMED, LocalDateTime.now());
+        orderHistoryService.updateStatus(orderIds, OrderStatus.CONFIRMED);
+
+        return new BatchResult(orderIds.size(), confirmed);
+    }
+
+    private void refreshLag() {
+        LocalDateTime oldest = orderRepository.findOldestCreatedAtByStatus(OrderStatus.PENDING);
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+
+    private record BatchResult(int claimed, int confirmed) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.valderson.shoppingcart.service;
+
+import java.util.List;
+
+// Etapa do pipeline de confirmação; roda dentro da transação que reivindicou o lote.
+// Lançar exceção devolve o lote inteiro para PENDING, para nova tentativa na próxima rodada.
+public interface OrderConfirmationStep {
+
+    void process(List<Long> orderIds);
+}
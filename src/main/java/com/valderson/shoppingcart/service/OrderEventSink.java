@@ -0,0 +1,12 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.event.OrderEvent;
+
+import java.util.List;
+
+// Destino dos eventos do outbox. Recebe os lotes em ordem de gravação; lançar exceção mantém
+// o lote pendente e ele é entregue de novo na próxima rodada (entrega pelo menos uma vez)
+public interface OrderEventSink {
+
+    void publish(List<OrderEvent> events);
+}
@@ -0,0 +1,221 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.config.OrderExportConfig;
+import com.valderson.shoppingcart.dto.response.OrderExportResponse;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Exportação de pedidos para o financeiro: um único SELECT juntando orders e order_items, lido
+// por um cursor somente-avanço e escrito linha a linha em CSV. A memória usada não depende do
+// período: só `fetchSize` linhas ficam carregadas por vez e nada entra em contexto de persistência.
+// Períodos que alcançam pedidos já arquivados leem também os arquivos do arquivamento, antes do banco.
+@Service
+public class OrderExportService {
+
+    private static final String HEADER = "order_id,user_id,status,created_at,coupon_code,discount_amount," +
+            "total_amount,currency,exchange_rate,item_id,product_id,product_name,product_price,quantity,subtotal";
+
+    private static final String EXPORT_QUERY =
+            "SELECT o.id, o.user.id, o.status, o.createdAt, o.couponCode, o.discountAmount, o.totalAmount, " +
+            "o.currency, o.exchangeRate, " +
+            "i.id, i.product.id, i.productName, i.productPrice, i.quantity, i.subtotal " +
+            "FROM Order o JOIN o.orderItems i " +
+            "WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "ORDER BY o.id, i.id";
+
+    private final SessionFactory sessionFactory;
+    private final OrderExportConfig orderExportConfig;
+    private final OrderArchiveConfig orderArchiveConfig;
+    private final OrderArchiveReader orderArchiveReader;
+    private final OrderRepository orderRepository;
+
+    public OrderExportService(EntityManagerFactory entityManagerFactory,
+                              OrderExportConfig orderExportConfig,
+                              OrderArchiveConfig orderArchiveConfig,
+                              OrderArchiveReader orderArchiveReader,
+                              OrderRepository orderRepository) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.orderExportConfig = orderExportConfig;
+        this.orderArchiveConfig = orderArchiveConfig;
+        this.orderArchiveReader = orderArchiveReader;
+        this.orderRepository = orderRepository;
+    }
+
+    // Uma linha por item, com os dados do pedido repetidos; devolve o número de linhas de dados
+    public long exportCsv(LocalDate from, LocalDate to, OutputStream output) {
+        validatePeriod(from, to);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long rowCount = 0;
+
+        try {
+            writer.write(HEADER);
+            writer.write('\n');
+            rowCount += writeArchived(writer, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            // O PostgreSQL só usa cursor (e respeita o fetch size) dentro de uma transação
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> rows = session.createQuery(EXPORT_QUERY, Object[].class)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .setFetchSize(orderExportConfig.getFetchSize())
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                while (rows.next()) {
+                    writeRow(writer, rows.get());
+                    rowCount++;
+                }
+            }
+            transaction.commit();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return rowCount;
+    }
+
+    // Gera o CSV em arquivo local; o nome só aparece completo depois de escrito
+    public OrderExportResponse exportCsvToFile(LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+
+        Path directory = Path.of(orderExportConfig.getDirectory());
+        Path file = directory.resolve("orders-" + from + "-" + to + "-" + System.currentTimeMillis() + ".csv");
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        long rows;
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                rows = exportCsv(from, to, output);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return OrderExportResponse.builder()
+                .file(file.toString())
+                .rows(rows)
+                .build();
+    }
+
+    // Só pedidos criados antes do corte do arquivamento podem ter saído do banco
+    private long writeArchived(Writer writer, LocalDateTime start, LocalDateTime end) throws IOException {
+        if (!start.isBefore(LocalDateTime.now().minusDays(orderArchiveConfig.getRetentionDays()))) {
+            return 0;
+        }
+
+        long rowCount = 0;
+        List<OrderResponse> batch = new ArrayList<>();
+        try (Stream<OrderResponse> orders = orderArchiveReader.findOrdersCreatedBetween(start, end)) {
+            Iterator<OrderResponse> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= orderExportConfig.getFetchSize()) {
+                    rowCount += writeArchivedBatch(writer, batch);
+                    batch.clear();
+                }
+            }
+        }
+        return rowCount + writeArchivedBatch(writer, batch);
+    }
+
+    // Uma execução interrompida do arquivamento deixa o pedido no arquivo e no banco: sai pelo banco
+    private long writeArchivedBatch(Writer writer, List<OrderResponse> orders) throws IOException {
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> inDatabase = new HashSet<>(orderRepository.findIdsByIdIn(
+                orders.stream().map(OrderResponse::getId).toList()));
+        long rowCount = 0;
+        for (OrderResponse order : orders) {
+            if (inDatabase.contains(order.getId())) {
+                continue;
+            }
+            for (OrderItemResponse item : order.getItems()) {
+                writeRow(writer, new Object[]{
+                        order.getId(), order.getUserId(), order.getStatus(), order.getCreatedAt(),
+                        order.getCouponCode(), order.getDiscountAmount(), order.getTotalAmount(),
+                        order.getCurrency(), order.getExchangeRate(),
+                        item.getId(), item.getProductId(), item.getProductName(), item.getProductPrice(),
+                        item.getQuantity(), item.getSubtotal()});
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
+    private void writeRow(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] instanceof String text) {
+                writer.write(escape(neutralizeFormula(text)));
+            } else if (row[i] != null) {
+                writer.write(escape(row[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas, com aspas duplicadas
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Textos livres (nome do produto) que começam como fórmula seriam executados pela planilha:
+    // o apóstrofo faz o Excel e o LibreOffice tratarem a célula como texto. Números não passam aqui
+    private String neutralizeFormula(String value) {
+        if (value.isEmpty() || "=+-@\t\r".indexOf(value.charAt(0)) < 0) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    public void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("Período inválido");
+        }
+    }
+}
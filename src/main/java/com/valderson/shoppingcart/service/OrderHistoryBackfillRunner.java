@@ -0,0 +1,36 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.OrderHistoryConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Gera os documentos do histórico para pedidos anteriores ao modelo de leitura
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderHistoryBackfillRunner {
+
+    private final OrderService orderService;
+    private final OrderHistoryConfig orderHistoryConfig;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!orderHistoryConfig.isBackfillOnStartup()) {
+            return;
+        }
+
+        int total = 0;
+        int processed;
+        // Cada lote roda em sua própria transação
+        while ((processed = orderService.backfillOrderHistory(orderHistoryConfig.getBackfillBatchSize())) > 0) {
+            total += processed;
+        }
+
+        if (total > 0) {
+            log.info("Order history backfill finished: {} orders", total);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.valderson.shoppingcart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.OrderHistoryEntry;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.OrderHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Mantém o modelo de leitura do histórico de pedidos, gravado na mesma transação do pedido
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    public void record(OrderResponse order) {
+        OrderHistoryEntry entry = OrderHistoryEntry.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .document(serialize(order))
+                .build();
+
+        orderHistoryRepository.save(entry);
+    }
+
+    public void updateStatus(Long orderId, OrderStatus status) {
+        orderHistoryRepository.updateStatus(orderId, status);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> findOrder(Long orderId) {
+        return orderHistoryRepository.findById(orderId).map(this::deserialize);
+    }
+
+    public void updateStatus(List<Long> orderIds, OrderStatus status) {
+        orderHistoryRepository.updateStatusByOrderIdIn(orderIds, status);
+    }
+
+    // Uma leitura indexada por usuário; sem joins com pedidos, itens ou produtos
+    @Transactional(readOnly = true)
+    public List<OrderResponse> findUserOrders(Long userId) {
+        return orderHistoryRepository.findByUserIdOrderByCreatedAtDescOrderIdDesc(userId).stream()
+                .map(this::deserialize)
+                .collect(Collectors.toList());
+    }
+
+    private String serialize(OrderResponse order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao gravar histórico do pedido", e);
+        }
+    }
+
+    private OrderResponse deserialize(OrderHistoryEntry entry) {
+        try {
+            OrderResponse order = objectMapper.readValue(entry.getDocument(), OrderResponse.class);
+            // O status é mantido em coluna própria e prevalece sobre o documento
+            order.setStatus(entry.getStatus());
+            return order;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao ler histórico do pedido", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.OutboxConfig;
+import com.valderson.shoppingcart.entity.OutboxEvent;
+import com.valderson.shoppingcart.event.OrderEvent;
+import com.valderson.shoppingcart.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Lê o outbox em lotes, entrega os eventos aos destinos e marca o lote como enviado com um
+// único UPDATE, tudo na mesma transação. O checkout só paga o INSERT do evento.
+@Service
+@Slf4j
+public class OrderOutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<OrderEventSink> sinks;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter dispatchedEvents;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+
+    public OrderOutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                                 ObjectProvider<OrderEventSink> sinks,
+                                 OutboxConfig outboxConfig,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.dispatchedEvents = Counter.builder("outbox.dispatched")
+                .description("Eventos de pedido entregues aos destinos")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.failed.batches")
+                .description("Lotes que falharam e continuam pendentes")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.dispatch.batch")
+                .description("Duração de cada lote, da leitura ao commit")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dispatch.lag", lagSeconds, AtomicLong::get)
+                .description("Idade em segundos do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxConfig.pollInterval}")
+    public void run() {
+        if (outboxConfig.isEnabled()) {
+            dispatchPending();
+        }
+    }
+
+    // Entrega lotes até o outbox esvaziar; devolve quantos eventos foram entregues
+    public int dispatchPending() {
+        int total = 0;
+        while (true) {
+            int dispatched;
+            Timer.Sample sample = Timer.start();
+            try {
+                dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Outbox dispatch failed: {}", e.getMessage());
+                break;
+            } finally {
+                sample.stop(batchTimer);
+            }
+
+            dispatchedEvents.increment(dispatched);
+            total += dispatched;
+
+            // Um lote incompleto não prova que o outbox esvaziou: eventos seguintes do mesmo pedido
+            // só ficam disponíveis depois que o anterior é marcado como enviado
+            if (dispatched == 0) {
+                break;
+            }
+        }
+
+        refreshLag();
+        return total;
+    }
+
+    @Scheduled(fixedDelay = 3600000)
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(outboxConfig.getRetention());
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteSentBefore(cutoff));
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimPending(Limit.of(outboxConfig.getBatchSize()));
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderEvent> events = batch.stream()
+                .map(this::toOrderEvent)
+                .collect(Collectors.toList());
+        sinks.orderedStream().forEach(sink -> sink.publish(events));
+
+        outboxEventRepository.markSent(
+                batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()), LocalDateTime.now());
+
+        return batch.size();
+    }
+
+    private OrderEvent toOrderEvent(OutboxEvent event) {
+        return new OrderEvent(event.getId(), event.getEventType(), event.getOrderId(), event.getUserId(),
+                event.getPayload(), event.getCreatedAt());
+    }
+
+    private void refreshLag() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+}
@@ -0,0 +1,42 @@
+package com.valderson.shoppingcart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.OutboxEvent;
+import com.valderson.shoppingcart.enums.OrderEventType;
+import com.valderson.shoppingcart.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OrderOutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Exige a transação do pedido: o evento só existe se o pedido for gravado
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEventType type, OrderResponse order) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .eventType(type)
+                .payload(serialize(order))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String serialize(OrderResponse order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao gravar evento do pedido", e);
+        }
+    }
+}
@@ -1,27 +1,35 @@
 package com.valderson.shoppingcart.service;
 
+import com.valderson.shoppingcart.dto.projection.CheckoutLine;
 import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderPageResponse;
 import com.valderson.shoppingcart.dto.response.OrderResponse;
-import com.valderson.shoppingcart.entity.CartItem;
+import com.valderson.shoppingcart.dto.response.OrderSummaryResponse;
 import com.valderson.shoppingcart.entity.Order;
 import com.valderson.shoppingcart.entity.OrderItem;
-import com.valderson.shoppingcart.entity.Product;
-import com.valderson.shoppingcart.entity.ShoppingCart;
-import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.OrderEventType;
 import com.valderson.shoppingcart.enums.OrderStatus;
 import com.valderson.shoppingcart.repository.CartItemRepository;
+import com.valderson.shoppingcart.repository.CouponRepository;
 import com.valderson.shoppingcart.repository.OrderItemRepository;
 import com.valderson.shoppingcart.repository.OrderRepository;
 import com.valderson.shoppingcart.repository.ProductRepository;
 import com.valderson.shoppingcart.repository.ShoppingCartRepository;
 import com.valderson.shoppingcart.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -35,104 +43,249 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final CartService cartService;
+    private final OrderHistoryService orderHistoryService;
+    private final InventoryService inventoryService;
+    private final PromotionCatalog promotionCatalog;
+    private final CouponRepository couponRepository;
+    private final OrderOutboxService orderOutboxService;
+    private final OrderArchiveReader orderArchiveReader;
+    private final SalesRollupService salesRollupService;
+    private final TrendingService trendingService;
+    private final RecommendationService recommendationService;
+    private final ExchangeRateService exchangeRateService;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public OrderResponse createOrder(Long userId) {
-        // Buscar usuário
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        // Buscar carrinho do usuário
-        ShoppingCart cart = user.getShoppingCart();
-        if (cart == null) {
-            throw new RuntimeException("Carrinho não encontrado");
+        // Itens do carrinho e preços atuais em uma única consulta
+        List<CheckoutLine> lines = cartItemRepository.findCheckoutLinesByUserId(userId);
+
+        if (lines.isEmpty()) {
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("Usuário não encontrado");
+            }
+            throw new RuntimeException("Carrinho está vazio");
         }
 
-        List<CartItem> cartItems = cart.getCartItems();
+        // Reservas do carrinho viram baixa definitiva; falta de estoque desfaz o checkout inteiro
+        inventoryService.commitReservations(userId, lines);
 
-        if (cartItems == null || cartItems.isEmpty()) {
-            throw new RuntimeException("Carrinho está vazio");
+        // Calcular total do pedido com o cupom do carrinho em uma única passada
+        PromotionRule promotion = cartRepository.findCouponCodeByUserId(userId)
+                .flatMap(promotionCatalog::find)
+                .orElse(PromotionRule.NONE);
+        PromotionRule.Pricing pricing = promotion.start();
+        lines.forEach(line -> pricing.add(line.productId(), line.productPrice(), line.quantity(), line.subtotal()));
+
+        BigDecimal discount = pricing.getDiscount();
+        boolean couponUsed = discount.signum() > 0;
+
+        // Limite de uso garantido pelo UPDATE condicional no contador do cupom
+        if (couponUsed && couponRepository.incrementUsage(promotion.getCouponId()) == 0) {
+            throw new RuntimeException("Cupom esgotado");
         }
 
-        // Calcular total do pedido
-        BigDecimal totalAmount = calculateOrderTotal(cartItems);
+        // Cotação da moeda do carrinho congelada no pedido; sem moeda, o pedido fica só na moeda base
+        CurrencyConverter converter = cartRepository.findCurrencyByUserId(userId)
+                .flatMap(exchangeRateService::findConverter)
+                .orElse(null);
 
-        // Criar pedido
+        // Criar pedido (referência ao usuário sem carregá-lo)
         Order order = Order.builder()
-                .user(user)
-                .totalAmount(totalAmount)
+                .user(userRepository.getReferenceById(userId))
+                .totalAmount(pricing.getTotal())
+                .discountAmount(discount)
+                .couponCode(couponUsed ? promotion.getCode() : null)
+                .currency(converter == null ? null : converter.currency())
+                .exchangeRate(converter == null ? null : converter.rate())
                 .status(OrderStatus.PENDING)
                 .build();
 
         Order savedOrder = orderRepository.save(order);
 
-        // Copiar itens do carrinho para o pedido (snapshot)
-        List<OrderItem> orderItems = cartItems.stream()
-                .map(cartItem -> createOrderItemFromCartItem(savedOrder, cartItem))
+        // Copiar itens do carrinho para o pedido (snapshot), inseridos em lote no flush
+        List<OrderItem> orderItems = lines.stream()
+                .map(line -> createOrderItemFromCheckoutLine(savedOrder, line))
                 .collect(Collectors.toList());
 
         orderItemRepository.saveAll(orderItems);
 
         // Limpar carrinho após criação do pedido
-        cartService.clearCart(userId);
+        cartService.clearCartItems(userId);
+        if (promotion != PromotionRule.NONE) {
+            cartRepository.clearCouponCodeByUserId(userId);
+        }
 
-        return mapToOrderResponse(savedOrder, orderItems);
+        OrderResponse response = mapToOrderResponse(savedOrder, orderItems);
+        orderHistoryService.record(response);
+        orderOutboxService.append(OrderEventType.ORDER_CREATED, response);
+        salesRollupService.recordCreated(response);
+        trendingService.recordCheckout(response);
+        recommendationService.recordOrder(response);
+
+        return response;
     }
 
     public List<OrderResponse> getUserOrders(Long userId) {
-        // Buscar usuário
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        // Documentos pré-montados do modelo de leitura do histórico
+        List<OrderResponse> orders = orderHistoryService.findUserOrders(userId);
 
-        List<Order> orders = user.getOrders();
+        // Só consulta o usuário quando não há pedidos, para distinguir "sem pedidos" de "usuário inexistente"
+        if (orders.isEmpty() && !userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
 
-        return orders.stream()
-                .map(order -> {
-                    List<OrderItem> items = order.getOrderItems();
-                    return mapToOrderResponse(order, items);
-                })
-                .collect(Collectors.toList());
+        return orders;
+    }
+
+    public List<OrderResponse> getUserOrders(Long userId, boolean includeArchived) {
+        List<OrderResponse> orders = getUserOrders(userId);
+
+        if (!includeArchived) {
+            return orders;
+        }
+
+        // Pedidos arquivados só são lidos do disco quando pedidos explicitamente
+        List<OrderResponse> merged = new ArrayList<>(orders);
+        try (Stream<OrderResponse> archived = orderArchiveReader.findUserOrders(userId)) {
+            archived.forEach(merged::add);
+        }
+        merged.sort(Comparator.comparing(OrderResponse::getCreatedAt)
+                .thenComparing(OrderResponse::getId)
+                .reversed());
+
+        return merged;
+    }
+
+    public OrderPageResponse getUserOrderPage(Long userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // Busca um registro a mais para saber se existe próxima página
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<OrderSummaryResponse> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId, fetchLimit);
+        } else {
+            OrderCursor position = decodeCursor(cursor);
+            orders = orderRepository.findByUserIdOrderByCreatedAtDesc(
+                    userId, position.createdAt(), position.id(), fetchLimit);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummaryResponse last = orders.get(pageSize - 1);
+            nextCursor = encodeCursor(new OrderCursor(last.getCreatedAt(), last.getId()));
+        }
+
+        return OrderPageResponse.builder()
+                .orders(orders)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public List<OrderItemResponse> getOrderItems(Long userId, Long orderId) {
+        List<OrderItemResponse> items = orderItemRepository.findResponsesByOrderIdAndUserId(orderId, userId);
+
+        // Todo pedido tem ao menos um item: lista vazia indica pedido inexistente ou de outro usuário
+        if (items.isEmpty() && !orderRepository.existsByIdAndUserId(orderId, userId)) {
+            // Caminho frio: o pedido pode ter sido arquivado
+            try (Stream<OrderResponse> archived = orderArchiveReader.findUserOrders(userId)) {
+                return archived.filter(order -> order.getId().equals(orderId))
+                        .findFirst()
+                        .map(OrderResponse::getItems)
+                        .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+            }
+        }
+
+        return items;
     }
 
     public OrderResponse cancelOrder(Long userId, Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        // O número de linhas afetadas decide a disputa com outras transições concorrentes
+        int updated = orderRepository.updateStatusIfCurrent(
+                orderId, userId, OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now());
 
-        if (!order.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Pedido não pertence ao usuário");
+        if (updated == 0) {
+            throw cancelRejection(userId, orderId);
         }
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new RuntimeException("Apenas pedidos pendentes podem ser cancelados");
+        orderHistoryService.updateStatus(orderId, OrderStatus.CANCELLED);
+
+        // A resposta vem do modelo de leitura; pedidos ainda sem documento são montados e gravados agora
+        OrderResponse response = orderHistoryService.findOrder(orderId)
+                .orElseGet(() -> recordOrderHistory(orderId));
+
+        inventoryService.restock(response.getItems());
+        if (response.getCouponCode() != null) {
+            couponRepository.decrementUsage(response.getCouponCode());
         }
+        orderOutboxService.append(OrderEventType.ORDER_CANCELLED, response);
+        salesRollupService.recordStatusChange(response, OrderStatus.PENDING, OrderStatus.CANCELLED);
 
-        order.setStatus(OrderStatus.CANCELLED);
-        Order savedOrder = orderRepository.save(order);
+        return response;
+    }
+
+    // Só é consultado quando o UPDATE condicional não afetou nenhuma linha, para explicar o motivo
+    private RuntimeException cancelRejection(Long userId, Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
 
-        List<OrderItem> items = savedOrder.getOrderItems();
-        return mapToOrderResponse(savedOrder, items);
+        if (order == null) {
+            return new RuntimeException("Pedido não encontrado");
+        }
+
+        if (!order.getUser().getId().equals(userId)) {
+            return new RuntimeException("Pedido não pertence ao usuário");
+        }
+
+        return new RuntimeException("Apenas pedidos pendentes podem ser cancelados");
+    }
+
+    private OrderResponse recordOrderHistory(Long orderId) {
+        Order order = orderRepository.findAllWithItemsByIdIn(List.of(orderId)).get(0);
+        OrderResponse response = mapToOrderResponse(order, order.getOrderItems());
+        orderHistoryService.record(response);
+        return response;
     }
 
-    private BigDecimal calculateOrderTotal(List<CartItem> cartItems) {
-        return cartItems.stream()
-                .map(item -> {
-                    Product product = item.getProduct();
-                    return product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Gera documentos do histórico para um lote de pedidos antigos; devolve quantos processou
+    public int backfillOrderHistory(int batchSize) {
+        List<Long> ids = orderRepository.findIdsWithoutHistoryEntry(Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        orderRepository.findAllWithItemsByIdIn(ids)
+                .forEach(order -> orderHistoryService.record(mapToOrderResponse(order, order.getOrderItems())));
+
+        return ids.size();
     }
 
-    private OrderItem createOrderItemFromCartItem(Order order, CartItem cartItem) {
-        Product product = cartItem.getProduct();
+    private String encodeCursor(OrderCursor cursor) {
+        String raw = cursor.createdAt() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        BigDecimal subtotal = product.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+    private OrderCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
 
+    private OrderItem createOrderItemFromCheckoutLine(Order order, CheckoutLine line) {
         return OrderItem.builder()
                 .order(order)
-                .product(product)
-                .productName(product.getName())
-                .productPrice(product.getPrice())
-                .quantity(cartItem.getQuantity())
-                .subtotal(subtotal)
+                .product(productRepository.getReferenceById(line.productId()))
+                .productName(line.productName())
+                .productPrice(line.productPrice())
+                .quantity(line.quantity())
+                .subtotal(line.subtotal())
                 .build();
     }
 
@@ -152,9 +305,19 @@ public class OrderService {
                 .id(order.getId())
                 .userId(order.getUser().getId())
                 .items(itemResponses)
+                .couponCode(order.getCouponCode())
+                .discountAmount(order.getDiscountAmount())
                 .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .exchangeRate(order.getExchangeRate())
+                .convertedTotalAmount(order.getCurrency() == null ? null
+                        : CurrencyConverter.of(order.getCurrency(), order.getExchangeRate()).convert(order.getTotalAmount()))
                 .status(order.getStatus())
                 .createdAt(order.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    // Posição da última linha entregue; a ordenação é (createdAt, id) decrescente
+    private record OrderCursor(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.PriceHistoryConfig;
+import com.valderson.shoppingcart.dto.response.PricePointResponse;
+import com.valderson.shoppingcart.entity.ProductPriceHistory;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent;
+import com.valderson.shoppingcart.repository.ProductPriceHistoryRepository;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.util.PriceSeriesCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Histórico de preços por produto em séries delta-codificadas: cada alteração de preço acrescenta
+// poucos bytes à linha do produto, na mesma transação que alterou o preço
+@Service
+@Slf4j
+public class PriceHistoryService {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final ProductPriceHistoryRepository priceHistoryRepository;
+    private final ProductRepository productRepository;
+    private final PriceHistoryConfig priceHistoryConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public PriceHistoryService(ProductPriceHistoryRepository priceHistoryRepository,
+                               ProductRepository productRepository,
+                               PriceHistoryConfig priceHistoryConfig,
+                               PlatformTransactionManager transactionManager) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.productRepository = productRepository;
+        this.priceHistoryConfig = priceHistoryConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Listener síncrono: se a transação do reajuste for desfeita, os pontos também são
+    @EventListener
+    @Transactional
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        record(event.changes(), LocalDateTime.now());
+    }
+
+    @Transactional
+    public void record(List<ProductPriceChangedEvent.PriceChange> changes, LocalDateTime at) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime pointAt = at.truncatedTo(ChronoUnit.SECONDS);
+        List<Long> productIds = changes.stream()
+                .map(ProductPriceChangedEvent.PriceChange::productId)
+                .distinct()
+                .toList();
+
+        // Os produtos são travados antes das séries: a série de um produto sem histórico ainda não existe
+        // para ser travada, e duas primeiras alterações simultâneas inseririam a mesma chave, desfazendo
+        // a alteração de preço junto. Quem espera a trava já encontra a série gravada pelo outro
+        Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        for (Object[] row : productRepository.findCreatedAtByIdInForUpdate(productIds)) {
+            if (row[1] != null) {
+                createdAt.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        Map<Long, ProductPriceHistory> histories = priceHistoryRepository.findAllForUpdate(productIds).stream()
+                .collect(Collectors.toMap(ProductPriceHistory::getProductId, Function.identity()));
+
+        Map<Long, ProductPriceHistory> changed = new HashMap<>();
+        for (ProductPriceChangedEvent.PriceChange change : changes) {
+            ProductPriceHistory history = histories.get(change.productId());
+            long cents = toCents(change.newPrice());
+
+            if (history == null) {
+                history = startHistory(change, createdAt.get(change.productId()), pointAt);
+                histories.put(change.productId(), history);
+                changed.put(change.productId(), history);
+                continue;
+            }
+
+            if (toCents(history.getLastPrice()) == cents) {
+                continue;
+            }
+
+            history.setSeries(PriceSeriesCodec.append(history.getSeries(),
+                    toEpochSecond(history.getLastPointAt()), toCents(history.getLastPrice()),
+                    toEpochSecond(pointAt), cents));
+            history.setPointCount(history.getPointCount() + 1);
+            history.setLastPointAt(pointAt);
+            history.setLastPrice(change.newPrice());
+            changed.put(change.productId(), history);
+        }
+
+        priceHistoryRepository.saveAll(changed.values());
+    }
+
+    // Primeira alteração do produto: a série começa pelo preço anterior, vigente desde a criação do
+    // produto (ou desde um segundo antes, se a criação não vier antes), e depois o novo preço
+    private ProductPriceHistory startHistory(ProductPriceChangedEvent.PriceChange change,
+                                             LocalDateTime productCreatedAt, LocalDateTime pointAt) {
+        long cents = toCents(change.newPrice());
+        if (change.oldPrice() == null || toCents(change.oldPrice()) == cents) {
+            return ProductPriceHistory.builder()
+                    .productId(change.productId())
+                    .series(PriceSeriesCodec.encode(new long[]{toEpochSecond(pointAt)}, new long[]{cents}, 1))
+                    .pointCount(1)
+                    .lastPointAt(pointAt)
+                    .lastPrice(change.newPrice())
+                    .build();
+        }
+
+        LocalDateTime oldPointAt = productCreatedAt != null ? productCreatedAt.truncatedTo(ChronoUnit.SECONDS) : pointAt;
+        if (!oldPointAt.isBefore(pointAt)) {
+            oldPointAt = pointAt.minusSeconds(1);
+        }
+        return ProductPriceHistory.builder()
+                .productId(change.productId())
+                .series(PriceSeriesCodec.encode(
+                        new long[]{toEpochSecond(oldPointAt), toEpochSecond(pointAt)},
+                        new long[]{toCents(change.oldPrice()), cents}, 2))
+                .pointCount(2)
+                .lastPointAt(pointAt)
+                .lastPrice(change.newPrice())
+                .build();
+    }
+
+    // Pontos do período; o primeiro ponto anterior a `from` também volta, por ser o preço vigente no início
+    @Transactional(readOnly = true)
+    public List<PricePointResponse> getHistory(Long productId, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("Período inválido");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Produto não encontrado");
+        }
+
+        ProductPriceHistory history = priceHistoryRepository.findById(productId).orElse(null);
+        if (history == null) {
+            return List.of();
+        }
+
+        long fromSecond = from != null ? toEpochSecond(from) : Long.MIN_VALUE;
+        long toSecond = to != null ? toEpochSecond(to) : Long.MAX_VALUE;
+        List<PricePointResponse> points = new ArrayList<>();
+        long[] lastBeforeFrom = new long[2];
+        boolean hasLastBeforeFrom = false;
+
+        Points decoded = decode(history);
+        for (int i = 0; i < decoded.count(); i++) {
+            long second = decoded.epochSeconds()[i];
+            if (second < fromSecond) {
+                lastBeforeFrom[0] = second;
+                lastBeforeFrom[1] = decoded.cents()[i];
+                hasLastBeforeFrom = true;
+            } else if (second <= toSecond) {
+                points.add(toResponse(second, decoded.cents()[i]));
+            }
+        }
+        if (hasLastBeforeFrom) {
+            points.add(0, toResponse(lastBeforeFrom[0], lastBeforeFrom[1]));
+        }
+
+        return points;
+    }
+
+    @Scheduled(fixedDelayString = "#{@priceHistoryConfig.compactInterval}",
+            initialDelayString = "#{@priceHistoryConfig.compactInterval}")
+    public void run() {
+        if (priceHistoryConfig.isEnabled()) {
+            compact(LocalDateTime.now().minusDays(priceHistoryConfig.getCompactAfterDays()));
+        }
+    }
+
+    // Antes do corte, mantém só o último preço de cada dia; em toda a série, remove pontos que repetem
+    // o preço anterior. Devolve quantas séries diminuíram.
+    public int compact(LocalDateTime cutoff) {
+        long cutoffSecond = toEpochSecond(cutoff);
+        int compacted = 0;
+        long afterId = 0;
+        List<Long> productIds;
+
+        while (!(productIds = priceHistoryRepository.findProductIdsAfter(afterId,
+                Limit.of(priceHistoryConfig.getCompactPageSize()))).isEmpty()) {
+            List<Long> page = productIds;
+            compacted += transactionTemplate.execute(status -> {
+                List<ProductPriceHistory> shrunk = new ArrayList<>();
+                for (ProductPriceHistory history : priceHistoryRepository.findAllForUpdate(page)) {
+                    if (compact(history, cutoffSecond)) {
+                        shrunk.add(history);
+                    }
+                }
+                priceHistoryRepository.saveAll(shrunk);
+                return shrunk.size();
+            });
+            afterId = productIds.get(productIds.size() - 1);
+        }
+
+        log.info("Price history compacted: {} series reduced", compacted);
+        return compacted;
+    }
+
+    private boolean compact(ProductPriceHistory history, long cutoffSecond) {
+        Points points = decode(history);
+        long[] seconds = new long[points.count()];
+        long[] cents = new long[points.count()];
+        int kept = 0;
+
+        for (int i = 0; i < points.count(); i++) {
+            long second = points.epochSeconds()[i];
+            // Ainda existe outro ponto no mesmo dia antes do corte: este é substituído por ele
+            if (second < cutoffSecond && i + 1 < points.count()
+                    && points.epochSeconds()[i + 1] < cutoffSecond
+                    && Math.floorDiv(points.epochSeconds()[i + 1], SECONDS_PER_DAY) == Math.floorDiv(second, SECONDS_PER_DAY)) {
+                continue;
+            }
+            if (kept > 0 && cents[kept - 1] == points.cents()[i]) {
+                continue;
+            }
+            seconds[kept] = second;
+            cents[kept] = points.cents()[i];
+            kept++;
+        }
+
+        if (kept == points.count()) {
+            return false;
+        }
+
+        // O último ponto pode ter sido removido por repetir o preço; as colunas acompanham a série
+        history.setSeries(PriceSeriesCodec.encode(seconds, cents, kept));
+        history.setPointCount(kept);
+        history.setLastPointAt(LocalDateTime.ofEpochSecond(seconds[kept - 1], 0, ZoneOffset.UTC));
+        return true;
+    }
+
+    private Points decode(ProductPriceHistory history) {
+        long[] seconds = new long[history.getPointCount()];
+        long[] cents = new long[history.getPointCount()];
+        int[] count = new int[1];
+
+        PriceSeriesCodec.decode(history.getSeries(), (second, value) -> {
+            seconds[count[0]] = second;
+            cents[count[0]] = value;
+            count[0]++;
+        });
+
+        return new Points(seconds, cents, count[0]);
+    }
+
+    private PricePointResponse toResponse(long epochSecond, long cents) {
+        return PricePointResponse.builder()
+                .at(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC))
+                .price(BigDecimal.valueOf(cents, 2))
+                .build();
+    }
+
+    private long toEpochSecond(LocalDateTime at) {
+        return at.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private record Points(long[] epochSeconds, long[] cents, int count) {
+    }
+}
@@ -16,12 +16,19 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ExchangeRateService exchangeRateService;
 
     public List<ProductResponse> getAllProducts() {
+        return getAllProducts(null);
+    }
+
+    // Sem moeda, os preços saem na moeda base; o conversor é resolvido uma vez para a lista inteira
+    public List<ProductResponse> getAllProducts(String currency) {
+        CurrencyConverter converter = currency == null ? null : exchangeRateService.converterFor(currency);
         List<Product> products = productRepository.findAllByOrderByCreatedAtDesc();
 
         return products.stream()
-                .map(this::mapToResponse)
+                .map(product -> mapToResponse(product, converter))
                 .collect(Collectors.toList());
     }
 
@@ -29,15 +36,33 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
 
-        return mapToResponse(product);
+        return mapToResponse(product, null);
+    }
+
+    // Cópia convertida de uma resposta compartilhada (ex.: leitura coalescida), sem alterar a original
+    public ProductResponse convert(ProductResponse product, String currency) {
+        if (currency == null) {
+            return product;
+        }
+
+        CurrencyConverter converter = exchangeRateService.converterFor(currency);
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(converter.convert(product.getPrice()))
+                .currency(converter.currency())
+                .createdAt(product.getCreatedAt())
+                .build();
     }
 
-    private ProductResponse mapToResponse(Product product) {
+    private ProductResponse mapToResponse(Product product, CurrencyConverter converter) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .description(product.getDescription())
-                .price(product.getPrice())
+                .price(converter == null ? product.getPrice() : converter.convert(product.getPrice()))
+                .currency(converter == null ? null : converter.currency())
                 .createdAt(product.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,56 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cache em memória das regras de cupom já compiladas. Cada recarga monta um novo snapshot
+// versionado e o troca de uma vez, então as leituras nunca veem um catálogo pela metade.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionCatalog {
+
+    private final CouponRepository couponRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    public Optional<PromotionRule> find(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.rules().get(normalize(code)));
+    }
+
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "#{@promotionConfig.refreshInterval}")
+    public synchronized void reload() {
+        Map<String, PromotionRule> rules = couponRepository.findByActiveTrue().stream()
+                .map(PromotionRule::compile)
+                .collect(Collectors.toUnmodifiableMap(rule -> normalize(rule.getCode()), Function.identity()));
+
+        snapshot = new Snapshot(snapshot.version() + 1, rules);
+        log.debug("Promotion catalog v{} loaded with {} coupons", snapshot.version(), rules.size());
+    }
+
+    public static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Snapshot(long version, Map<String, PromotionRule> rules) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.entity.Coupon;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+// Regra de cupom compilada uma vez a partir do cadastro: o tipo vira uma função de desconto
+// escolhida na compilação e o cálculo do carrinho é feito em uma única passada pelas linhas
+public final class PromotionRule {
+
+    // Carrinho sem cupom: mesma passada de cálculo, desconto sempre zero
+    public static final PromotionRule NONE = new PromotionRule(null, null, null, null, BigDecimal.ZERO, null,
+            (pricing, rule) -> BigDecimal.ZERO);
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final Long couponId;
+    private final String code;
+    private final Long productId;
+    private final BigDecimal minSpend;
+    private final BigDecimal amount;
+    private final LocalDateTime expiresAt;
+    private final DiscountFunction discountFunction;
+
+    private PromotionRule(Long couponId, String code, Long productId, BigDecimal minSpend,
+                          BigDecimal amount, LocalDateTime expiresAt, DiscountFunction discountFunction) {
+        this.couponId = couponId;
+        this.code = code;
+        this.productId = productId;
+        this.minSpend = minSpend;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+        this.discountFunction = discountFunction;
+    }
+
+    public static PromotionRule compile(Coupon coupon) {
+        return switch (coupon.getType()) {
+            case PERCENTAGE -> new PromotionRule(coupon.getId(), coupon.getCode(), coupon.getProductId(),
+                    coupon.getMinSpend(), coupon.getValue().divide(ONE_HUNDRED),
+                    coupon.getExpiresAt(),
+                    (pricing, rule) -> pricing.eligibleSubtotal.multiply(rule.amount).setScale(2, RoundingMode.HALF_UP));
+            case FIXED -> new PromotionRule(coupon.getId(), coupon.getCode(), coupon.getProductId(),
+                    coupon.getMinSpend(), coupon.getValue(), coupon.getExpiresAt(),
+                    (pricing, rule) -> pricing.eligibleSubtotal.min(rule.amount));
+            case BUY_X_GET_Y -> compileBuyXGetY(coupon);
+        };
+    }
+
+    private static PromotionRule compileBuyXGetY(Coupon coupon) {
+        int buy = coupon.getBuyQuantity();
+        int free = coupon.getFreeQuantity();
+        int group = buy + free;
+
+        // Cada grupo completo de (X + Y) unidades do produto leva Y de graça
+        return new PromotionRule(coupon.getId(), coupon.getCode(), coupon.getProductId(),
+                coupon.getMinSpend(), BigDecimal.ZERO, coupon.getExpiresAt(),
+                (pricing, rule) -> pricing.eligibleUnitPrice == null
+                        ? BigDecimal.ZERO
+                        : pricing.eligibleUnitPrice.multiply(BigDecimal.valueOf((long) (pricing.eligibleQuantity / group) * free)));
+    }
+
+    public Long getCouponId() {
+        return couponId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Pricing start() {
+        return new Pricing(this);
+    }
+
+    // Acumula subtotal e base do desconto enquanto as linhas são percorridas
+    public static final class Pricing {
+
+        private final PromotionRule rule;
+        private BigDecimal subtotal = BigDecimal.ZERO;
+        private BigDecimal eligibleSubtotal = BigDecimal.ZERO;
+        private BigDecimal eligibleUnitPrice;
+        private int eligibleQuantity;
+
+        private Pricing(PromotionRule rule) {
+            this.rule = rule;
+        }
+
+        public void add(Long productId, BigDecimal unitPrice, int quantity, BigDecimal lineSubtotal) {
+            subtotal = subtotal.add(lineSubtotal);
+
+            if (rule.productId == null || rule.productId.equals(productId)) {
+                eligibleSubtotal = eligibleSubtotal.add(lineSubtotal);
+                eligibleUnitPrice = unitPrice;
+                eligibleQuantity += quantity;
+            }
+        }
+
+        public BigDecimal getSubtotal() {
+            return subtotal;
+        }
+
+        // Zero quando o cupom expirou ou o carrinho não atinge o gasto mínimo
+        public BigDecimal getDiscount() {
+            if (rule.expiresAt != null && LocalDateTime.now().isAfter(rule.expiresAt)) {
+                return BigDecimal.ZERO;
+            }
+            if (rule.minSpend != null && subtotal.compareTo(rule.minSpend) < 0) {
+                return BigDecimal.ZERO;
+            }
+            return rule.discountFunction.apply(this, rule).min(subtotal);
+        }
+
+        public BigDecimal getTotal() {
+            return subtotal.subtract(getDiscount());
+        }
+    }
+
+    @FunctionalInterface
+    private interface DiscountFunction {
+        BigDecimal apply(Pricing pricing, PromotionRule rule);
+    }
+}
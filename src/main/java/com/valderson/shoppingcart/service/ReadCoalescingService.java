@@ -0,0 +1,83 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.dto.response.CartResponse;
+import com.valderson.shoppingcart.dto.response.ProductResponse;
+import com.valderson.shoppingcart.event.CartChangedEvent;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent;
+import com.valderson.shoppingcart.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+
+// Camada na frente das leituras mais disputadas: requisições idênticas e simultâneas
+// compartilham uma única carga no banco. As respostas são compartilhadas entre
+// requisições e não devem ser alteradas por quem as recebe.
+@Service
+public class ReadCoalescingService {
+
+    private final CartService cartService;
+    private final ProductService productService;
+
+    private final SingleFlight<Long, CartResponse> cartLoads = new SingleFlight<>();
+    private final SingleFlight<Long, BigDecimal> cartTotalLoads = new SingleFlight<>();
+    private final SingleFlight<Long, ProductResponse> productLoads = new SingleFlight<>();
+
+    public ReadCoalescingService(CartService cartService,
+                                 ProductService productService,
+                                 MeterRegistry meterRegistry) {
+        this.cartService = cartService;
+        this.productService = productService;
+
+        registerMetrics(meterRegistry, "cart", cartLoads);
+        registerMetrics(meterRegistry, "cart_total", cartTotalLoads);
+        registerMetrics(meterRegistry, "product", productLoads);
+    }
+
+    public CartResponse getCartByUserId(Long userId) {
+        return cartLoads.execute(userId, () -> cartService.getCartByUserId(userId));
+    }
+
+    public BigDecimal getCartTotal(Long userId) {
+        return cartTotalLoads.execute(userId, () -> cartService.getCartTotal(userId));
+    }
+
+    public ProductResponse getProductById(Long productId) {
+        return productLoads.execute(productId, () -> productService.getProductById(productId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        cartLoads.invalidate(event.userId());
+        cartTotalLoads.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        event.changes().forEach(change -> productLoads.invalidate(change.productId()));
+
+        // Não sabemos quais carregamentos de carrinho em andamento usam esses produtos
+        cartLoads.invalidateAll();
+        cartTotalLoads.invalidateAll();
+    }
+
+    private void registerMetrics(MeterRegistry registry, String name, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("read.coalescing.loads", flight, SingleFlight::getLeaderCount)
+                .description("Leituras que executaram a carga no banco")
+                .tag("read", name)
+                .register(registry);
+
+        FunctionCounter.builder("read.coalescing.joined", flight, SingleFlight::getFollowerCount)
+                .description("Leituras atendidas por uma carga já em andamento")
+                .tag("read", name)
+                .register(registry);
+
+        Gauge.builder("read.coalescing.ratio", flight, SingleFlight::getCoalescingRatio)
+                .description("Fração das leituras coalescidas")
+                .tag("read", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,294 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.RecommendationConfig;
+import com.valderson.shoppingcart.dto.projection.OrderProductPair;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.RelatedProductResponse;
+import com.valderson.shoppingcart.repository.OrderItemRepository;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import com.valderson.shoppingcart.util.LongIntMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// "Comprados juntos": matriz esparsa de coocorrência produto x produto mantida em memória.
+// Cada pedido confirmado no banco incrementa os pares dos seus produtos; cada produto guarda
+// só os `maxNeighbors` vizinhos mais frequentes, então a leitura não toca o banco.
+@Service
+@Slf4j
+public class RecommendationService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    // Pedidos por tarefa folha na reconstrução com fork-join
+    private static final int REBUILD_THRESHOLD = 2048;
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final RecommendationConfig recommendationConfig;
+
+    private volatile Map<Long, Neighbors> matrix = new ConcurrentHashMap<>();
+
+    public RecommendationService(OrderItemRepository orderItemRepository,
+                                 OrderRepository orderRepository,
+                                 RecommendationConfig recommendationConfig) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.recommendationConfig = recommendationConfig;
+    }
+
+    public void recordOrder(OrderResponse order) {
+        long[] products = order.getItems().stream()
+                .mapToLong(OrderItemResponse::getProductId)
+                .distinct()
+                .limit(recommendationConfig.getMaxBasketSize())
+                .toArray();
+
+        if (products.length < 2) {
+            return;
+        }
+
+        afterCommit(() -> {
+            Map<Long, Neighbors> current = matrix;
+            for (long product : products) {
+                Neighbors neighbors = current.computeIfAbsent(product, id -> new Neighbors());
+                neighbors.addBasket(product, products, recommendationConfig.getMaxNeighbors());
+            }
+        });
+    }
+
+    public List<RelatedProductResponse> getRelated(Long productId, Integer limit) {
+        Neighbors neighbors = matrix.get(productId);
+        if (neighbors == null) {
+            return List.of();
+        }
+
+        Ranking ranking = neighbors.ranking();
+        int size = Math.min(normalizeLimit(limit), ranking.products().length);
+        List<RelatedProductResponse> related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            related.add(new RelatedProductResponse(ranking.products()[i], ranking.counts()[i]));
+        }
+        return related;
+    }
+
+    // Recomendações para um conjunto (ex.: o carrinho): soma os vizinhos e exclui os próprios produtos
+    public List<RelatedProductResponse> getRelated(Collection<Long> productIds, Integer limit) {
+        LongIntMap scores = new LongIntMap();
+        for (Long productId : productIds) {
+            Neighbors neighbors = matrix.get(productId);
+            if (neighbors == null) {
+                continue;
+            }
+            Ranking ranking = neighbors.ranking();
+            for (int i = 0; i < ranking.products().length; i++) {
+                if (!productIds.contains(ranking.products()[i])) {
+                    scores.addTo(ranking.products()[i], ranking.counts()[i]);
+                }
+            }
+        }
+
+        List<RelatedProductResponse> related = new ArrayList<>();
+        for (long product : scores.topKeys(normalizeLimit(limit))) {
+            related.add(new RelatedProductResponse(product, scores.get(product)));
+        }
+        return related;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (recommendationConfig.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    // Recalcula a matriz a partir dos itens de pedido e troca a matriz inteira de uma vez.
+    // Pedidos gravados durante a reconstrução podem ficar de fora até a próxima.
+    public int rebuild() {
+        Baskets baskets = loadBaskets();
+        Map<Long, LongIntMap> counts = ForkJoinPool.commonPool()
+                .invoke(new BuildTask(baskets, 0, baskets.orderCount(), recommendationConfig.getMaxBasketSize()));
+
+        Map<Long, Neighbors> rebuilt = new ConcurrentHashMap<>();
+        counts.forEach((product, neighbors) -> {
+            neighbors.retainTop(recommendationConfig.getMaxNeighbors());
+            rebuilt.put(product, new Neighbors(neighbors));
+        });
+        matrix = rebuilt;
+
+        log.info("Recommendations rebuilt: {} orders, {} products", baskets.orderCount(), rebuilt.size());
+        return baskets.orderCount();
+    }
+
+    private Baskets loadBaskets() {
+        Long maxOrderId = orderRepository.findMaxId();
+        long[] products = new long[1024];
+        // starts[i] é a posição do primeiro produto do i-ésimo pedido em `products`
+        int[] starts = new int[256];
+        int productCount = 0;
+        int orderCount = 0;
+        long lastOrderId = -1;
+
+        long pageSize = recommendationConfig.getRebuildPageSize();
+        for (long after = 0; maxOrderId != null && after < maxOrderId; after += pageSize) {
+            for (OrderProductPair pair : orderItemRepository.findOrderProductPairs(after, after + pageSize)) {
+                if (pair.orderId() != lastOrderId) {
+                    if (orderCount + 1 >= starts.length) {
+                        starts = Arrays.copyOf(starts, starts.length * 2);
+                    }
+                    starts[orderCount++] = productCount;
+                    lastOrderId = pair.orderId();
+                }
+                if (productCount == products.length) {
+                    products = Arrays.copyOf(products, products.length * 2);
+                }
+                products[productCount++] = pair.productId();
+            }
+        }
+        starts[orderCount] = productCount;
+
+        return new Baskets(products, starts, orderCount);
+    }
+
+    private int normalizeLimit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Produtos de todos os pedidos em arrays primitivos; o pedido i ocupa products[starts[i]..starts[i+1])
+    private record Baskets(long[] products, int[] starts, int orderCount) {
+    }
+
+    private record Ranking(long[] products, int[] counts) {
+    }
+
+    // Divide os pedidos ao meio até o limite, conta os pares em mapas locais e junta os resultados
+    private static final class BuildTask extends RecursiveTask<Map<Long, LongIntMap>> {
+
+        private final Baskets baskets;
+        private final int fromOrder;
+        private final int toOrder;
+        private final int maxBasketSize;
+
+        private BuildTask(Baskets baskets, int fromOrder, int toOrder, int maxBasketSize) {
+            this.baskets = baskets;
+            this.fromOrder = fromOrder;
+            this.toOrder = toOrder;
+            this.maxBasketSize = maxBasketSize;
+        }
+
+        @Override
+        protected Map<Long, LongIntMap> compute() {
+            if (toOrder - fromOrder <= REBUILD_THRESHOLD) {
+                return countPairs();
+            }
+
+            int middle = (fromOrder + toOrder) >>> 1;
+            BuildTask left = new BuildTask(baskets, fromOrder, middle, maxBasketSize);
+            BuildTask right = new BuildTask(baskets, middle, toOrder, maxBasketSize);
+            left.fork();
+            Map<Long, LongIntMap> merged = right.compute();
+            left.join().forEach((product, neighbors) ->
+                    merged.merge(product, neighbors, (a, b) -> {
+                        a.addAll(b);
+                        return a;
+                    }));
+            return merged;
+        }
+
+        private Map<Long, LongIntMap> countPairs() {
+            Map<Long, LongIntMap> counts = new HashMap<>();
+            for (int order = fromOrder; order < toOrder; order++) {
+                long[] basket = Arrays.stream(baskets.products(),
+                                baskets.starts()[order], baskets.starts()[order + 1])
+                        .distinct()
+                        .limit(maxBasketSize)
+                        .toArray();
+                for (long product : basket) {
+                    LongIntMap neighbors = counts.computeIfAbsent(product, id -> new LongIntMap());
+                    for (long other : basket) {
+                        if (other != product) {
+                            neighbors.addTo(other, 1);
+                        }
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+
+    // Vizinhos de um produto. Escritas são serializadas por produto; a leitura usa o ranking
+    // pré-calculado, refeito só na primeira leitura depois de uma alteração.
+    private static final class Neighbors {
+
+        private final LongIntMap counts;
+        private volatile Ranking ranking;
+
+        private Neighbors() {
+            this(new LongIntMap());
+        }
+
+        private Neighbors(LongIntMap counts) {
+            this.counts = counts;
+        }
+
+        private synchronized void addBasket(long product, long[] basket, int maxNeighbors) {
+            for (long other : basket) {
+                if (other != product) {
+                    counts.addTo(other, 1);
+                }
+            }
+            // Poda com folga para não reordenar a cada pedido
+            if (counts.size() > maxNeighbors * 2) {
+                counts.retainTop(maxNeighbors);
+            }
+            ranking = null;
+        }
+
+        private Ranking ranking() {
+            Ranking current = ranking;
+            if (current != null) {
+                return current;
+            }
+
+            synchronized (this) {
+                if (ranking == null) {
+                    long[] products = counts.topKeys(counts.size());
+                    int[] values = new int[products.length];
+                    for (int i = 0; i < products.length; i++) {
+                        values[i] = counts.get(products[i]);
+                    }
+                    ranking = new Ranking(products, values);
+                }
+                return ranking;
+            }
+        }
+    }
+}
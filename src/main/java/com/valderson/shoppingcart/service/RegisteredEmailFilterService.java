@@ -0,0 +1,111 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.EmailFilterConfig;
+import com.valderson.shoppingcart.util.ScalableBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Filtro de Bloom dos emails cadastrados na frente do registro: "com certeza novo" dispensa a
+// consulta ao banco, "talvez exista" ainda é confirmado lá. A constraint única de users.email
+// continua sendo a garantia; o filtro só evita idas ao banco.
+@Service
+@Slf4j
+public class RegisteredEmailFilterService {
+
+    private static final String EMAIL_QUERY = "select u.email from User u";
+
+    private final SessionFactory sessionFactory;
+    private final EmailFilterConfig emailFilterConfig;
+    private final ScalableBloomFilter filter;
+    private final Counter absent;
+    private final Counter maybePresent;
+
+    // Até a carga inicial terminar o filtro não sabe de todos os emails e manda tudo ao banco
+    private volatile boolean ready;
+
+    public RegisteredEmailFilterService(EntityManagerFactory entityManagerFactory,
+                                        EmailFilterConfig emailFilterConfig,
+                                        MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.emailFilterConfig = emailFilterConfig;
+        this.filter = new ScalableBloomFilter(emailFilterConfig.getInitialCapacity(),
+                emailFilterConfig.getFalsePositiveRate());
+
+        this.absent = Counter.builder("email.filter.checks")
+                .description("Emails de registro classificados pelo filtro")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.maybePresent = Counter.builder("email.filter.checks")
+                .description("Emails de registro classificados pelo filtro")
+                .tag("result", "maybe")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.size", filter, ScalableBloomFilter::approximateSize)
+                .description("Emails inseridos no filtro")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.false.positive.rate", filter, ScalableBloomFilter::estimatedFalsePositiveRate)
+                .description("Taxa de falso positivo estimada pelo preenchimento do filtro")
+                .register(meterRegistry);
+    }
+
+    // Diz se o registro precisa consultar o banco antes de gastar o hash da senha
+    public boolean requiresLookup(String email) {
+        if (!emailFilterConfig.isEnabled() || !ready) {
+            return true;
+        }
+
+        if (!filter.mightContain(email)) {
+            absent.increment();
+            return false;
+        }
+
+        maybePresent.increment();
+        return emailFilterConfig.isRejectBeforeHashing();
+    }
+
+    // Chamado no registro; se a transação for desfeita o email vira só um falso positivo
+    public void add(String email) {
+        if (emailFilterConfig.isEnabled()) {
+            filter.add(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!emailFilterConfig.isEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+
+        // Registros feitos durante a carga entram direto no mesmo filtro, então nada se perde
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<String> emails = session.createQuery(EMAIL_QUERY, String.class)
+                    .setFetchSize(emailFilterConfig.getFetchSize())
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (emails.next()) {
+                    filter.add(emails.get());
+                    count++;
+                }
+            }
+            transaction.commit();
+        }
+
+        ready = true;
+        log.info("Loaded {} registered emails into the filter in {} ms ({} slices, {} bits)",
+                count, System.currentTimeMillis() - start, filter.sliceCount(), filter.bitCount());
+    }
+}
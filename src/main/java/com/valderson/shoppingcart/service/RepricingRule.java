@@ -0,0 +1,71 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.enums.RepricingRounding;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Regra de reajuste compilada uma vez a partir da requisição: percentual, arredondamento e preço
+// mínimo viram aritmética inteira sobre centavos, aplicada sobre arrays de preços de cada lote
+public final class RepricingRule {
+
+    // O percentual é guardado em pontos-base: preço * fator / 10000
+    private static final long SCALE = 10_000;
+    // Maior preço que cabe em products.price, numeric(10,2)
+    public static final long MAX_CENTS = 9_999_999_999L;
+    // Resultado de apply quando o novo preço não cabe na coluna: o produto fica de fora do reajuste
+    public static final long OUT_OF_RANGE = -1;
+
+    private final long factor;
+    private final RepricingRounding rounding;
+    private final long floorCents;
+
+    private RepricingRule(long factor, RepricingRounding rounding, long floorCents) {
+        this.factor = factor;
+        this.rounding = rounding;
+        this.floorCents = floorCents;
+    }
+
+    public static RepricingRule compile(RepricingRequest request) {
+        long basisPoints = request.getPercentage().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        long floorCents = request.getMinPrice() != null ? toCents(request.getMinPrice()) : 0;
+
+        if (floorCents > MAX_CENTS) {
+            throw new RuntimeException("Preço mínimo acima do maior preço permitido");
+        }
+
+        return new RepricingRule(SCALE + basisPoints,
+                request.getRounding() != null ? request.getRounding() : RepricingRounding.NONE,
+                floorCents);
+    }
+
+    public long apply(long cents) {
+        long adjusted = (cents * factor + SCALE / 2) / SCALE;
+
+        long rounded = switch (rounding) {
+            case NONE -> adjusted;
+            case NEAREST_TEN_CENTS -> (adjusted + 5) / 10 * 10;
+            // Preço "psicológico": o x,99 mais próximo
+            case ENDING_99 -> Math.max((adjusted + 50) / 100 * 100 - 1, 99);
+        };
+
+        long result = Math.max(rounded, floorCents);
+        return result > MAX_CENTS ? OUT_OF_RANGE : result;
+    }
+
+    // Laço sem alocação sobre o intervalo [from, to), para o fork-join dividir lotes grandes
+    public void applyAll(long[] cents, long[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = apply(cents[i]);
+        }
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
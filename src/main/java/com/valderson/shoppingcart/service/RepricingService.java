@@ -0,0 +1,250 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.RepricingConfig;
+import com.valderson.shoppingcart.dto.projection.ProductPrice;
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.dto.response.RepricingJobResponse;
+import com.valderson.shoppingcart.enums.RepricingStatus;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Reajuste de preços em massa: percorre o catálogo em blocos por id, calcula os novos preços
+// em centavos com fork-join e grava cada bloco com um único UPDATE em lote no JDBC. Cada lote
+// publica um único ProductPriceChangedEvent, então os caches são invalidados uma vez por lote.
+// Cada lote tem a própria transação: um reajuste que falha no meio mantém os lotes já gravados.
+@Service
+@Slf4j
+public class RepricingService {
+
+    // Só grava se o preço não mudou desde a leitura, para não sobrescrever uma alteração concorrente
+    private static final String UPDATE_PRICE = "UPDATE products SET price = ?, updated_at = ? WHERE id = ? AND price = ?";
+    // Preços por tarefa folha no cálculo com fork-join
+    private static final int EVALUATION_THRESHOLD = 4096;
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RepricingConfig repricingConfig;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<Job> running = new AtomicReference<>();
+
+    public RepricingService(ProductRepository productRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            RepricingConfig repricingConfig) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.repricingConfig = repricingConfig;
+    }
+
+    public RepricingJobResponse start(RepricingRequest request) {
+        if (request.getPriceFrom() != null && request.getPriceTo() != null
+                && request.getPriceFrom().compareTo(request.getPriceTo()) > 0) {
+            throw new RuntimeException("Faixa de preço inválida");
+        }
+
+        RepricingRule rule = RepricingRule.compile(request);
+        Job job = new Job(UUID.randomUUID().toString(), LocalDateTime.now());
+
+        // Dois reajustes ao mesmo tempo disputariam os mesmos produtos
+        if (!running.compareAndSet(null, job)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe um reajuste em andamento");
+        }
+
+        jobs.put(job.id, job);
+        workers.execute(() -> run(job, rule, request));
+
+        return job.toResponse();
+    }
+
+    public RepricingJobResponse getJob(String jobId) {
+        Job job = jobs.get(jobId);
+
+        if (job == null) {
+            throw new RuntimeException("Reajuste não encontrado");
+        }
+
+        return job.toResponse();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(repricingConfig.getJobTtl());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void run(Job job, RepricingRule rule, RepricingRequest request) {
+        try {
+            job.total = productRepository.countInPriceRange(request.getPriceFrom(), request.getPriceTo());
+
+            Pageable chunk = PageRequest.of(0, repricingConfig.getChunkSize());
+            long afterId = 0;
+            List<ProductPrice> prices;
+            while (!(prices = productRepository.findPricesAfter(afterId, request.getPriceFrom(),
+                    request.getPriceTo(), chunk)).isEmpty()) {
+                job.updated += reprice(job, prices, rule);
+                job.processed += prices.size();
+                afterId = prices.get(prices.size() - 1).productId();
+            }
+
+            job.status = RepricingStatus.COMPLETED;
+            log.info("Repricing {} finished: {} products read, {} updated, {} out of range",
+                    job.id, job.processed, job.updated, job.skipped);
+        } catch (RuntimeException e) {
+            // Os lotes anteriores já foram commitados e continuam reajustados
+            log.warn("Repricing {} failed after {} products", job.id, job.processed, e);
+            job.error = e.getMessage();
+            job.status = RepricingStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            running.compareAndSet(job, null);
+        }
+    }
+
+    private int reprice(Job job, List<ProductPrice> prices, RepricingRule rule) {
+        int size = prices.size();
+        long[] current = new long[size];
+        long[] repriced = new long[size];
+        for (int i = 0; i < size; i++) {
+            current[i] = RepricingRule.toCents(prices.get(i).price());
+        }
+
+        ForkJoinPool.commonPool().invoke(new EvaluateTask(rule, current, repriced, 0, size));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> arguments = new ArrayList<>();
+        List<ProductPriceChangedEvent.PriceChange> changes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // Preço que estouraria a coluna: conta o produto e segue, em vez de derrubar o lote
+            if (repriced[i] == RepricingRule.OUT_OF_RANGE) {
+                job.skipped++;
+                continue;
+            }
+            if (repriced[i] == current[i]) {
+                continue;
+            }
+            ProductPrice product = prices.get(i);
+            arguments.add(new Object[]{RepricingRule.fromCents(repriced[i]), now, product.productId(), product.price()});
+            changes.add(new ProductPriceChangedEvent.PriceChange(product.productId(), product.price(),
+                    RepricingRule.fromCents(repriced[i])));
+        }
+
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        return transactionTemplate.execute(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRICE, arguments);
+
+            // Produtos alterados por outra transação depois da leitura ficam de fora do evento
+            List<ProductPriceChangedEvent.PriceChange> applied = new ArrayList<>(changes.size());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    applied.add(changes.get(i));
+                }
+            }
+            if (!applied.isEmpty()) {
+                // Os listeners são transacionais: rodam uma vez, depois do commit do lote
+                eventPublisher.publishEvent(new ProductPriceChangedEvent(applied));
+            }
+            return applied.size();
+        });
+    }
+
+    // Divide o lote ao meio até o limite e aplica a regra em cada pedaço
+    private static final class EvaluateTask extends RecursiveAction {
+
+        private final RepricingRule rule;
+        private final long[] current;
+        private final long[] repriced;
+        private final int from;
+        private final int to;
+
+        private EvaluateTask(RepricingRule rule, long[] current, long[] repriced, int from, int to) {
+            this.rule = rule;
+            this.current = current;
+            this.repriced = repriced;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= EVALUATION_THRESHOLD) {
+                rule.applyAll(current, repriced, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(rule, current, repriced, from, middle),
+                    new EvaluateTask(rule, current, repriced, middle, to));
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final LocalDateTime startedAt;
+        private volatile RepricingStatus status = RepricingStatus.RUNNING;
+        private volatile Long total;
+        private volatile long processed;
+        private volatile long updated;
+        private volatile long skipped;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, LocalDateTime startedAt) {
+            this.id = id;
+            this.startedAt = startedAt;
+        }
+
+        private RepricingJobResponse toResponse() {
+            return RepricingJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .total(total)
+                    .processed(processed)
+                    .updated(updated)
+                    .skipped(skipped)
+                    .error(error)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.config.SalesRollupConfig;
+import com.valderson.shoppingcart.dto.projection.SalesLine;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.SalesRollupResponse;
+import com.valderson.shoppingcart.entity.SalesRollup;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.OrderItemRepository;
+import com.valderson.shoppingcart.repository.SalesRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Agregados de vendas por dia, produto e status. Criação, cancelamento e confirmação de pedidos
+// geram deltas em memória depois do commit; um flush periódico soma os deltas nas linhas com um
+// UPDATE (ou INSERT na primeira venda do dia), então o checkout não disputa as linhas dos agregados.
+// O desligamento normal grava os deltas pendentes; numa queda eles se perdem e a reconstrução
+// recalcula o período.
+@Service
+@Slf4j
+public class SalesRollupService implements OrderConfirmationStep {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final SalesRollupConfig salesRollupConfig;
+    private final OrderArchiveConfig orderArchiveConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int COMMIT_GATES = 64;
+
+    private final Map<RollupKey, Delta> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Portões por dia (em faixas): a transação de um pedido segura a leitura dos dias afetados pelos
+    // deltas dela do beforeCommit até o fim, e a reconstrução de um dia segura a escrita enquanto descarta
+    // os deltas pendentes do dia e lê os pedidos. Todo commit entra nos dois ou em nenhum
+    private final ReadWriteLock[] commitGates = new ReadWriteLock[COMMIT_GATES];
+
+    public SalesRollupService(SalesRollupRepository salesRollupRepository,
+                              OrderItemRepository orderItemRepository,
+                              SalesRollupConfig salesRollupConfig,
+                              OrderArchiveConfig orderArchiveConfig,
+                              PlatformTransactionManager transactionManager) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.salesRollupConfig = salesRollupConfig;
+        this.orderArchiveConfig = orderArchiveConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < COMMIT_GATES; i++) {
+            commitGates[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public void recordCreated(OrderResponse order) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        addItems(deltas, order, OrderStatus.PENDING, 1);
+        afterCommit(deltas);
+    }
+
+    public void recordStatusChange(OrderResponse order, OrderStatus from, OrderStatus to) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        addItems(deltas, order, from, -1);
+        addItems(deltas, order, to, 1);
+        afterCommit(deltas);
+    }
+
+    public void recordStatusChange(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        Set<List<Long>> countedOrders = new HashSet<>();
+
+        for (SalesLine line : orderItemRepository.findSalesLinesByOrderIdIn(orderIds)) {
+            LocalDate day = line.createdAt().toLocalDate();
+            long orders = countedOrders.add(List.of(line.orderId(), line.productId())) ? 1 : 0;
+            merge(deltas, new RollupKey(day, line.productId(), from),
+                    new Delta(line.subtotal().negate(), -line.quantity(), -orders));
+            merge(deltas, new RollupKey(day, line.productId(), to),
+                    new Delta(line.subtotal(), line.quantity(), orders));
+        }
+        afterCommit(deltas);
+    }
+
+    // Última etapa da confirmação em lote: os pedidos reivindicados passam de PENDING para CONFIRMED
+    @Override
+    public void process(List<Long> orderIds) {
+        recordStatusChange(orderIds, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    }
+
+    public List<SalesRollupResponse> getSalesReport(LocalDate from, LocalDate to, Long productId) {
+        validatePeriod(from, to);
+        return salesRollupRepository.summarize(from, to, productId);
+    }
+
+    @Scheduled(fixedDelayString = "#{@salesRollupConfig.flushInterval}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            // remove() é atômico por chave: deltas que chegarem agora ficam para o próximo flush
+            Map<RollupKey, Delta> batch = new HashMap<>();
+            for (RollupKey key : pending.keySet()) {
+                Delta delta = pending.remove(key);
+                if (delta != null) {
+                    batch.put(key, delta);
+                }
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+            } catch (RuntimeException e) {
+                // Devolve os deltas para tentar de novo no próximo flush
+                batch.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+                log.warn("Sales rollup flush failed: {}", e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Recalcula o período a partir dos pedidos, em blocos de dias processados em paralelo
+    public List<SalesRollupResponse> rebuild(LocalDate requestedFrom, LocalDate requestedTo) {
+        validatePeriod(requestedFrom, requestedTo);
+        if (requestedFrom.plusDays(salesRollupConfig.getMaxRebuildDays()).isBefore(requestedTo.plusDays(1))) {
+            throw new RuntimeException("Período de reconstrução maior que "
+                    + salesRollupConfig.getMaxRebuildDays() + " dias");
+        }
+
+        // Dias que o arquivamento pode já ter tirado do banco não são recalculados: os pedidos
+        // arquivados não estão mais em orders e o dia ficaria zerado. O dia do corte é parcial
+        LocalDate today = LocalDate.now();
+        LocalDate from = max(requestedFrom, today.minusDays(orderArchiveConfig.getRetentionDays()).plusDays(1));
+        LocalDate to = requestedTo.isAfter(today) ? today : requestedTo;
+        if (from.isAfter(to)) {
+            return salesRollupRepository.summarize(requestedFrom, requestedTo, null);
+        }
+
+        flushLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> salesRollupRepository.deleteBySalesDateBetween(from, to));
+
+            List<List<LocalDate>> chunks = splitDays(from, to, salesRollupConfig.getRebuildParallelism());
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> results = new ArrayList<>();
+                for (List<LocalDate> days : chunks) {
+                    results.add(workers.submit(() -> transactionTemplate.executeWithoutResult(
+                            status -> days.forEach(this::rebuildDay))));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Reconstrução dos agregados interrompida", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Falha ao reconstruir os agregados de vendas", e.getCause());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+
+        return salesRollupRepository.summarize(requestedFrom, requestedTo, null);
+    }
+
+    private void rebuildDay(LocalDate day) {
+        // Com o portão do dia fechado nenhum pedido do dia está entre o commit e a entrega dos deltas:
+        // os pendentes descartados são exatamente de pedidos que a leitura conta, e os que chegarem
+        // depois ficam para o flush seguinte, que soma sobre as linhas recalculadas
+        List<SalesRollupResponse> summary;
+        Lock gate = gateFor(day).writeLock();
+        gate.lock();
+        try {
+            pending.keySet().removeIf(key -> key.day().equals(day));
+            summary = orderItemRepository.summarizeSales(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        } finally {
+            gate.unlock();
+        }
+
+        List<SalesRollup> rows = summary.stream()
+                .map(sales -> SalesRollup.builder()
+                        .salesDate(day)
+                        .productId(sales.getProductId())
+                        .status(sales.getStatus())
+                        .revenue(sales.getRevenue())
+                        .units(sales.getUnits())
+                        .orderCount(sales.getOrders())
+                        .build())
+                .toList();
+        salesRollupRepository.saveAll(rows);
+    }
+
+    private void apply(RollupKey key, Delta delta) {
+        int updated = salesRollupRepository.addDelta(
+                key.day(), key.productId(), key.status(), delta.revenue(), delta.units(), delta.orders());
+
+        if (updated == 0) {
+            salesRollupRepository.save(SalesRollup.builder()
+                    .salesDate(key.day())
+                    .productId(key.productId())
+                    .status(key.status())
+                    .revenue(delta.revenue())
+                    .units(delta.units())
+                    .orderCount(delta.orders())
+                    .build());
+        }
+    }
+
+    private void addItems(Map<RollupKey, Delta> deltas, OrderResponse order, OrderStatus status, int sign) {
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        LocalDate day = createdAt.toLocalDate();
+        Set<Long> countedProducts = new HashSet<>();
+
+        for (OrderItemResponse item : order.getItems()) {
+            long orders = countedProducts.add(item.getProductId()) ? sign : 0;
+            merge(deltas, new RollupKey(day, item.getProductId(), status), new Delta(
+                    sign > 0 ? item.getSubtotal() : item.getSubtotal().negate(),
+                    (long) sign * item.getQuantity(),
+                    orders));
+        }
+    }
+
+    private void afterCommit(Map<RollupKey, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Lock> gates = readGatesFor(deltas.keySet());
+
+        // Um rollback descarta os deltas junto com a transação do pedido
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            gates.forEach(Lock::lock);
+            try {
+                deltas.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+            } finally {
+                gates.forEach(Lock::unlock);
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                gates.forEach(Lock::lock);
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                deltas.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    gates.forEach(Lock::unlock);
+                }
+            }
+        });
+    }
+
+    // Sempre na ordem dos índices, para duas transações nunca esperarem uma pela outra em ciclo
+    private List<Lock> readGatesFor(Set<RollupKey> keys) {
+        return keys.stream()
+                .map(key -> Math.floorMod(key.day().hashCode(), COMMIT_GATES))
+                .distinct()
+                .sorted()
+                .map(index -> commitGates[index].readLock())
+                .toList();
+    }
+
+    private ReadWriteLock gateFor(LocalDate day) {
+        return commitGates[Math.floorMod(day.hashCode(), COMMIT_GATES)];
+    }
+
+    private void merge(Map<RollupKey, Delta> deltas, RollupKey key, Delta delta) {
+        deltas.merge(key, delta, Delta::plus);
+    }
+
+    private List<List<LocalDate>> splitDays(LocalDate from, LocalDate to, int parts) {
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        int chunkSize = Math.max(1, (days.size() + parts - 1) / Math.max(parts, 1));
+
+        List<List<LocalDate>> chunks = new ArrayList<>();
+        for (int start = 0; start < days.size(); start += chunkSize) {
+            chunks.add(days.subList(start, Math.min(start + chunkSize, days.size())));
+        }
+        return chunks;
+    }
+
+    private LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("Período inválido");
+        }
+    }
+
+    private record RollupKey(LocalDate day, Long productId, OrderStatus status) {
+    }
+
+    private record Delta(BigDecimal revenue, long units, long orders) {
+
+        private Delta plus(Delta other) {
+            return new Delta(revenue.add(other.revenue), units + other.units, orders + other.orders);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.valderson.shoppingcart.service;
+
+import com.valderson.shoppingcart.config.TrendingConfig;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.TrendingProductResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.util.HeavyHitters;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// "Em alta agora": compras e adições ao carrinho alimentam um ranking aproximado em memória,
+// sem consultar order_items. Cada instância da aplicação tem o seu ranking.
+@Service
+public class TrendingService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TrendingConfig trendingConfig;
+    private final ProductRepository productRepository;
+    private final HeavyHitters heavyHitters;
+
+    public TrendingService(TrendingConfig trendingConfig, ProductRepository productRepository) {
+        this.trendingConfig = trendingConfig;
+        this.productRepository = productRepository;
+        this.heavyHitters = new HeavyHitters(
+                trendingConfig.getSketchWidth(),
+                trendingConfig.getSketchDepth(),
+                trendingConfig.getWindows(),
+                trendingConfig.getWindowSeconds() * 1000,
+                trendingConfig.getDecay(),
+                trendingConfig.getCapacity());
+    }
+
+    public void recordCheckout(OrderResponse order) {
+        afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            for (OrderItemResponse item : order.getItems()) {
+                heavyHitters.add(item.getProductId(), (long) item.getQuantity() * trendingConfig.getCheckoutWeight(), now);
+            }
+        });
+    }
+
+    public void recordAddToCart(Long productId, int quantity) {
+        afterCommit(() -> heavyHitters.add(productId, (long) quantity * trendingConfig.getCartWeight(),
+                System.currentTimeMillis()));
+    }
+
+    public List<TrendingProductResponse> getTrending(Integer limit) {
+        int size = limit == null ? 10 : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<HeavyHitters.Entry> ranking = heavyHitters.top(size, System.currentTimeMillis());
+
+        // Uma consulta por chave primária para os poucos produtos do ranking
+        Map<Long, Product> products = productRepository.findAllById(
+                        ranking.stream().map(HeavyHitters.Entry::key).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return ranking.stream()
+                .filter(entry -> products.containsKey(entry.key()))
+                .map(entry -> {
+                    Product product = products.get(entry.key());
+                    return TrendingProductResponse.builder()
+                            .productId(product.getId())
+                            .name(product.getName())
+                            .price(product.getPrice())
+                            .score(entry.score())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Eventos de transações desfeitas não contam
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Contagem aproximada por chave em memória fixa (depth x width contadores). A estimativa nunca
+// fica abaixo do valor real; o excesso é limitado pelas colisões da linha menos disputada.
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        // Largura em potência de dois: o índice sai de uma máscara em vez de um resto de divisão
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    public void add(long key, long count) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + ((h1 + row * h2) & mask), count);
+        }
+    }
+
+    public long estimate(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + ((h1 + row * h2) & mask)));
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    // Finalizador do SplitMix64: espalha ids sequenciais por todos os bits
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,136 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Chaves mais frequentes em uma janela deslizante com decaimento. Cada janela de tempo tem seu
+// count-min sketch; a pontuação soma as janelas pesando as mais antigas por decay^idade. Só as
+// `capacity` chaves de maior pontuação são acompanhadas, então memória e custo por evento são fixos.
+public class HeavyHitters {
+
+    private final int width;
+    private final int depth;
+    private final double[] weights;
+    private final long windowMillis;
+    private final int capacity;
+
+    private final Map<Long, Double> candidates = new ConcurrentHashMap<>();
+    private volatile double minScore;
+    // Janelas e janela atual mudam juntas: a rotação monta um estado novo e o publica de uma vez
+    private volatile Windows windows;
+
+    public HeavyHitters(int width, int depth, int windowCount, long windowMillis, double decay, int capacity) {
+        CountMinSketch[] sketches = new CountMinSketch[windowCount];
+        this.weights = new double[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            sketches[i] = new CountMinSketch(width, depth);
+            weights[i] = Math.pow(decay, i);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.windows = new Windows(sketches, 0, 0);
+    }
+
+    public void add(long key, long count, long now) {
+        Windows current = rotate(now);
+        current.sketches()[current.index()].add(key, count);
+
+        double score = estimate(current, key);
+        // Chave já no ranking: só a pontuação muda, sem lock. A pontuação dela só sobe até a próxima
+        // rotação, então minScore continua um limite inferior válido
+        if (candidates.replace(key, score) != null) {
+            return;
+        }
+        // A chave não entraria no ranking, nem precisa do lock
+        if (candidates.size() >= capacity && score <= minScore) {
+            return;
+        }
+
+        synchronized (candidates) {
+            candidates.put(key, score);
+            if (candidates.size() > capacity) {
+                candidates.remove(lowest().getKey());
+            }
+            minScore = candidates.size() < capacity ? 0 : lowest().getValue();
+        }
+    }
+
+    public double estimate(long key, long now) {
+        return estimate(rotate(now), key);
+    }
+
+    public List<Entry> top(int limit, long now) {
+        Windows current = rotate(now);
+
+        List<Entry> ranking = new ArrayList<>();
+        for (Long key : candidates.keySet()) {
+            double score = estimate(current, key);
+            if (score > 0) {
+                ranking.add(new Entry(key, score));
+            }
+        }
+        ranking.sort(Comparator.comparingDouble(Entry::score).reversed());
+
+        return ranking.size() > limit ? ranking.subList(0, limit) : ranking;
+    }
+
+    private double estimate(Windows current, long key) {
+        CountMinSketch[] sketches = current.sketches();
+        double score = 0;
+        for (int age = 0; age < sketches.length; age++) {
+            score += sketches[Math.floorMod(current.index() - age, sketches.length)].estimate(key) * weights[age];
+        }
+        return score;
+    }
+
+    private Windows rotate(long now) {
+        long slot = now / windowMillis;
+        Windows current = windows;
+        if (slot <= current.slot()) {
+            return current;
+        }
+
+        synchronized (candidates) {
+            current = windows;
+            if (slot <= current.slot()) {
+                return current;
+            }
+            // Avança uma janela por período decorrido. As janelas que saem do período são trocadas por
+            // sketches novos em vez de zeradas: um add que ainda enxerga o estado anterior escreve em
+            // uma janela que continua válida ou que já foi descartada, nunca em uma sendo limpa
+            CountMinSketch[] sketches = current.sketches().clone();
+            long steps = Math.min(slot - current.slot(), sketches.length);
+            int index = current.index();
+            for (long i = 0; i < steps; i++) {
+                index = (index + 1) % sketches.length;
+                sketches[index] = new CountMinSketch(width, depth);
+            }
+            Windows rotated = new Windows(sketches, index, slot);
+            windows = rotated;
+
+            // As pontuações caíram com o decaimento: recalcula e solta quem zerou
+            candidates.replaceAll((key, score) -> estimate(rotated, key));
+            candidates.values().removeIf(score -> score <= 0);
+            minScore = candidates.size() < capacity ? 0 : lowest().getValue();
+            return rotated;
+        }
+    }
+
+    // Percorre o ranking inteiro, mas só na entrada ou saída de uma chave e na rotação
+    private Map.Entry<Long, Double> lowest() {
+        return candidates.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .orElseThrow();
+    }
+
+    private record Windows(CountMinSketch[] sketches, int index, long slot) {
+    }
+
+    public record Entry(long key, double score) {
+    }
+}
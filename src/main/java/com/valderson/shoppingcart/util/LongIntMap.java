@@ -0,0 +1,113 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.Arrays;
+
+// Mapa long -> int com endereçamento aberto em arrays primitivos, sem boxing por entrada.
+// A chave 0 marca posição vazia, então não pode ser usada (ids de entidade começam em 1).
+// Não é thread-safe.
+public class LongIntMap {
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntMap() {
+        this(16);
+    }
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int get(long key) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    public void addTo(long key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return;
+        }
+
+        keys[slot] = key;
+        values[slot] = delta;
+        // Fator de carga máximo de 1/2 mantém as sondagens curtas
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    public void addAll(LongIntMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != 0) {
+                addTo(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Chaves com os maiores valores, do maior para o menor
+    public long[] topKeys(int limit) {
+        long[] ranked = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                // Valor nos 32 bits altos e posição nos baixos: ordenar os longs ordena pelo valor
+                ranked[n++] = ((long) values[i] << 32) | i;
+            }
+        }
+        Arrays.sort(ranked);
+
+        long[] top = new long[Math.min(limit, n)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = keys[(int) ranked[n - 1 - i]];
+        }
+        return top;
+    }
+
+    // Mantém apenas as `limit` chaves de maior valor
+    public void retainTop(int limit) {
+        if (size <= limit) {
+            return;
+        }
+
+        long[] top = topKeys(limit);
+        LongIntMap retained = new LongIntMap(limit);
+        for (long key : top) {
+            retained.addTo(key, get(key));
+        }
+        this.keys = retained.keys;
+        this.values = retained.values;
+        this.size = retained.size;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) * 0x9E3779B9 & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
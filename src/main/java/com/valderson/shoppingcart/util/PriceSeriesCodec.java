@@ -0,0 +1,102 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.Arrays;
+
+// Série de preços compacta: cada ponto guarda só a diferença para o anterior (segundos e centavos),
+// em varint com zigzag. Uma alteração típica ocupa de 3 a 5 bytes em vez de uma linha inteira.
+// O primeiro ponto é a diferença a partir de (0, 0).
+public final class PriceSeriesCodec {
+
+    private PriceSeriesCodec() {
+    }
+
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(long epochSecond, long cents);
+    }
+
+    // Acrescenta um ponto sem decodificar a série, a partir do último ponto já gravado
+    public static byte[] append(byte[] series, long lastEpochSecond, long lastCents, long epochSecond, long cents) {
+        long timeDelta = zigzag(epochSecond - lastEpochSecond);
+        long priceDelta = zigzag(cents - lastCents);
+
+        byte[] result = Arrays.copyOf(series, series.length + varLongSize(timeDelta) + varLongSize(priceDelta));
+        int position = writeVarLong(result, series.length, timeDelta);
+        writeVarLong(result, position, priceDelta);
+        return result;
+    }
+
+    public static byte[] encode(long[] epochSeconds, long[] cents, int count) {
+        int size = 0;
+        long previousSecond = 0;
+        long previousCents = 0;
+        for (int i = 0; i < count; i++) {
+            size += varLongSize(zigzag(epochSeconds[i] - previousSecond)) + varLongSize(zigzag(cents[i] - previousCents));
+            previousSecond = epochSeconds[i];
+            previousCents = cents[i];
+        }
+
+        byte[] series = new byte[size];
+        int position = 0;
+        previousSecond = 0;
+        previousCents = 0;
+        for (int i = 0; i < count; i++) {
+            position = writeVarLong(series, position, zigzag(epochSeconds[i] - previousSecond));
+            position = writeVarLong(series, position, zigzag(cents[i] - previousCents));
+            previousSecond = epochSeconds[i];
+            previousCents = cents[i];
+        }
+        return series;
+    }
+
+    public static void decode(byte[] series, PointConsumer consumer) {
+        int position = 0;
+        long epochSecond = 0;
+        long cents = 0;
+
+        while (position < series.length) {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = series[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            epochSecond += unzigzag(value);
+
+            value = 0;
+            shift = 0;
+            do {
+                current = series[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            cents += unzigzag(value);
+
+            consumer.accept(epochSecond, cents);
+        }
+    }
+
+    private static int writeVarLong(byte[] target, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+
+    private static int varLongSize(long value) {
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Balde de fichas por chave sem locks: cada balde é um único AtomicLong com o instante (nanoTime)
+// em que ele volta a estar cheio. Consumir uma ficha é avançar esse instante em um intervalo por
+// CAS; se ele passar da capacidade à frente de agora, a requisição é recusada.
+// Balde que já voltou a encher é igual a um balde novo, então pode sair do mapa a qualquer momento.
+// Com o mapa cheio de baldes em uso, chaves novas dividem um único balde de transbordo.
+public class RateLimiter {
+
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurge = new AtomicLong(System.nanoTime());
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    private final LongAdder untracked = new LongAdder();
+
+    public RateLimiter(int capacity, int perMinute, int maxEntries) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        this.burstNanos = intervalNanos * Math.max(1, capacity);
+        this.maxEntries = maxEntries;
+    }
+
+    // Devolve 0 se a ficha foi consumida, ou quantos nanossegundos faltam para a próxima
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries && !purge(now)) {
+                // Mapa cheio de baldes em uso: quem não tem balde próprio divide o mesmo limite, senão
+                // bastaria girar chaves para passar sem limite nenhum
+                untracked.increment();
+                return acquire(overflow, now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        return acquire(bucket, now);
+    }
+
+    private long acquire(AtomicLong bucket, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Remove os baldes já cheios; com o mapa no limite roda no máximo uma vez por segundo
+    public boolean purge(long now) {
+        long scheduled = nextPurge.get();
+        if (now - scheduled >= 0 && nextPurge.compareAndSet(scheduled, now + PURGE_INTERVAL_NANOS)) {
+            // Uma ficha consumida em um balde no instante da remoção se perde; ele estava cheio
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+        return buckets.size() < maxEntries;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+}
@@ -0,0 +1,150 @@
+package com.valderson.shoppingcart.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom que cresce: quando a fatia atual chega à capacidade, abre outra com o dobro
+// do tamanho e metade da taxa de falso positivo, então a taxa total fica abaixo da configurada
+// sem precisar saber de antemão quantos elementos virão. "Não contém" é sempre exato.
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        // Com razão 0,5 a soma das taxas das fatias converge para o dobro da primeira
+        slices.add(new Slice(Math.max(initialCapacity, 1), falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        Slice slice = slices.get(slices.size() - 1);
+        if (slice.count.get() >= slice.capacity) {
+            slice = grow(slice);
+        }
+        slice.add(hash);
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long approximateSize() {
+        return slices.stream().mapToLong(slice -> slice.count.get()).sum();
+    }
+
+    public int sliceCount() {
+        return slices.size();
+    }
+
+    public long bitCount() {
+        return slices.stream().mapToLong(slice -> slice.bitCount).sum();
+    }
+
+    // Taxa atual estimada pelo preenchimento real de cada fatia
+    public double estimatedFalsePositiveRate() {
+        double allMiss = 1.0;
+        for (Slice slice : slices) {
+            allMiss *= 1 - slice.estimatedFalsePositiveRate();
+        }
+        return 1 - allMiss;
+    }
+
+    private synchronized Slice grow(Slice full) {
+        Slice last = slices.get(slices.size() - 1);
+        if (last != full) {
+            return last;
+        }
+
+        Slice next = new Slice(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO);
+        slices.add(next);
+        return next;
+    }
+
+    // 64 bits de FNV-1a sobre o UTF-8 e o finalizador do SplitMix64 para espalhar os bits
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static final class Slice {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // Tamanho ótimo: m = -n ln p / (ln 2)^2 bits e k = m/n ln 2 funções de hash
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray((int) (bitCount / 64));
+        }
+
+        private void add(long hash) {
+            // Hash duplo: as k posições saem de h1 + i * h2
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                changed |= setBit((int) (bit >>> 6), 1L << bit);
+            }
+            // Elemento repetido não ocupa capacidade
+            if (changed) {
+                count.incrementAndGet();
+            }
+        }
+
+        private boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean setBit(int word, long mask) {
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            return true;
+        }
+
+        private double estimatedFalsePositiveRate() {
+            long set = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                set += Long.bitCount(bits.get(i));
+            }
+            return Math.pow((double) set / bitCount, hashCount);
+        }
+    }
+}
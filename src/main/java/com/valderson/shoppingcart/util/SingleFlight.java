@@ -0,0 +1,77 @@
+package com.valderson.shoppingcart.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Agrupa chamadas concorrentes com a mesma chave: apenas a primeira executa a carga,
+// as demais aguardam e recebem o mesmo resultado (ou a mesma exceção)
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Qualquer falha, inclusive Error, precisa liberar quem aguarda esta carga
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Quem chegar depois da invalidação inicia uma nova carga em vez de aguardar a atual
+    public void invalidate(K key) {
+        inFlight.remove(key);
+    }
+
+    public void invalidateAll() {
+        inFlight.clear();
+    }
+
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    public long getFollowerCount() {
+        return followers.sum();
+    }
+
+    // Fração das chamadas que foram atendidas por uma carga já em andamento
+    public double getCoalescingRatio() {
+        long followerCount = followers.sum();
+        long total = leaders.sum() + followerCount;
+        return total == 0 ? 0.0 : (double) followerCount / total;
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.valderson.shoppingcart.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+// O H2 aceita FOR UPDATE SKIP LOCKED, mas o dialeto do Hibernate descarta a cláusula. Sem ela as
+// reivindicações com lock.timeout = -2 esperariam pelas linhas travadas, ao contrário do PostgreSQL
+public class H2SkipLockedDialect extends H2Dialect {
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+}
@@ -0,0 +1,135 @@
+package com.valderson.shoppingcart.controller.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.config.JwtConfig;
+import com.valderson.shoppingcart.dto.request.CreateCouponRequest;
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.dto.request.UpdateExchangeRateRequest;
+import com.valderson.shoppingcart.enums.CouponType;
+import com.valderson.shoppingcart.security.JwtTokenProvider;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "admin.emails=admin@example.com")
+@DisplayName("Rotas administrativas - Testes de Integração")
+class AdminRoutesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @Test
+    @DisplayName("Deve negar reajuste de preços a usuário sem papel ADMIN")
+    void shouldForbidRepricingForNonAdmin() throws Exception {
+        RepricingRequest request = RepricingRequest.builder()
+                .percentage(new BigDecimal("-99.99"))
+                .build();
+
+        mockMvc.perform(post("/api/pricing/repricing")
+                        .cookie(authCookie(1L, "cliente@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/pricing/repricing/qualquer")
+                        .cookie(authCookie(1L, "cliente@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve negar criação de cupom a usuário sem papel ADMIN")
+    void shouldForbidCouponCreationForNonAdmin() throws Exception {
+        mockMvc.perform(post("/api/coupons")
+                        .cookie(authCookie(1L, "cliente@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(percentageCoupon("TUDOGRATIS", "100"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve negar listagem de cupons a usuário sem papel ADMIN")
+    void shouldForbidCouponListingForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/coupons")
+                        .cookie(authCookie(1L, "cliente@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve recusar cupom percentual acima de 100 mesmo para ADMIN")
+    void shouldRejectPercentageAboveHundred() {
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/coupons")
+                        .cookie(authCookie(1L, "admin@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(percentageCoupon("ACIMA100", "150")))))
+                .hasRootCauseMessage("Desconto percentual deve ser no máximo 100");
+    }
+
+    @Test
+    @DisplayName("Deve negar alteração de cotação a usuário sem papel ADMIN e manter a consulta liberada")
+    void shouldForbidExchangeRateUpdateForNonAdmin() throws Exception {
+        mockMvc.perform(put("/api/currencies/USD")
+                        .cookie(authCookie(1L, "cliente@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateExchangeRateRequest(new BigDecimal("9.99")))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/currencies")
+                        .cookie(authCookie(1L, "cliente@example.com")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve negar relatório e reconstrução de vendas a usuário sem papel ADMIN")
+    void shouldForbidSalesReportsForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/reports/sales")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .cookie(authCookie(1L, "cliente@example.com")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/reports/sales/rebuild")
+                        .param("from", "0001-01-01")
+                        .param("to", "9999-12-31")
+                        .cookie(authCookie(1L, "cliente@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    private CreateCouponRequest percentageCoupon(String code, String value) {
+        return CreateCouponRequest.builder()
+                .code(code)
+                .type(CouponType.PERCENTAGE)
+                .value(new BigDecimal(value))
+                .build();
+    }
+
+    private Cookie authCookie(Long userId, String email) {
+        return new Cookie(jwtConfig.getCookieName(), jwtTokenProvider.generateToken(userId, email));
+    }
+}
@@ -0,0 +1,94 @@
+package com.valderson.shoppingcart.controller.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valderson.shoppingcart.dto.request.LoginRequest;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "auth-rate-limit.enabled=true",
+        "auth-rate-limit.login.ip-capacity=2",
+        "auth-rate-limit.login.ip-per-minute=1",
+        "auth-rate-limit.login.email-capacity=3",
+        "auth-rate-limit.login.email-per-minute=1"
+})
+@DisplayName("Limite de tentativas de autenticação - Testes de Integração")
+class AuthRateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After quando o IP esgota as tentativas de login")
+    void shouldLimitLoginPerIp() throws Exception {
+        createUser("limite.ip@example.com");
+
+        login("limite.ip@example.com", "10.9.0.1").andExpect(status().isOk());
+        login("limite.ip@example.com", "10.9.0.1").andExpect(status().isOk());
+        login("limite.ip@example.com", "10.9.0.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"))
+                .andExpect(cookie().doesNotExist("authToken"));
+
+        // Outro IP ainda tem a própria cota
+        login("limite.ip@example.com", "10.9.0.2").andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve limitar tentativas contra o mesmo email vindas de IPs diferentes")
+    void shouldLimitLoginPerEmail() throws Exception {
+        createUser("limite.email@example.com");
+
+        login("limite.email@example.com", "10.9.1.1").andExpect(status().isOk());
+        login("limite.email@example.com", "10.9.1.2").andExpect(status().isOk());
+        login("limite.email@example.com", "10.9.1.3").andExpect(status().isOk());
+        login("limite.email@example.com", "10.9.1.4")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private void createUser(String email) {
+        User user = new User();
+        user.setName("Limite");
+        user.setEmail(email);
+        user.setPasswordHash(passwordEncoder.encode("123456"));
+        userRepository.save(user);
+    }
+
+    private ResultActions login(String email, String ip) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(email, "123456"))));
+    }
+}
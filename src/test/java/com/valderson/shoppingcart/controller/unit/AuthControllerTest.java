@@ -5,6 +5,7 @@ import com.valderson.shoppingcart.dto.request.LoginRequest;
 import com.valderson.shoppingcart.dto.request.RegisterRequest;
 import com.valderson.shoppingcart.dto.response.UserResponse;
 import com.valderson.shoppingcart.security.JwtTokenProvider;
+import com.valderson.shoppingcart.service.AuthRateLimiter;
 import com.valderson.shoppingcart.service.AuthService;
 import com.valderson.shoppingcart.util.CookieUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -25,6 +27,7 @@ public class AuthControllerTest {
     private AuthService authService;
     private JwtTokenProvider jwtTokenProvider;
     private CookieUtil cookieUtil;
+    private AuthRateLimiter authRateLimiter;
     private AuthController authController;
 
     @BeforeEach
@@ -32,7 +35,8 @@ public class AuthControllerTest {
         authService = mock(AuthService.class);
         jwtTokenProvider = mock(JwtTokenProvider.class);
         cookieUtil = mock(CookieUtil.class);
-        authController = new AuthController(authService, jwtTokenProvider, cookieUtil);
+        authRateLimiter = mock(AuthRateLimiter.class);
+        authController = new AuthController(authService, jwtTokenProvider, cookieUtil, authRateLimiter);
     }
 
     @Test
@@ -51,7 +55,7 @@ public class AuthControllerTest {
         when(authService.register(request)).thenReturn(responseDto);
         when(jwtTokenProvider.generateToken(1L, "test@example.com")).thenReturn("mockedToken");
 
-        ResponseEntity<UserResponse> responseEntity = authController.register(request, response);
+        ResponseEntity<UserResponse> responseEntity = authController.register(request, mock(HttpServletRequest.class), response);
 
         verify(cookieUtil).addAuthCookie(response, "mockedToken");
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -76,7 +80,7 @@ public class AuthControllerTest {
         when(authService.login(request)).thenReturn(responseDto);
         when(jwtTokenProvider.generateToken(1L, "test@example.com")).thenReturn("mockedToken");
 
-        ResponseEntity<UserResponse> responseEntity = authController.login(request, response);
+        ResponseEntity<UserResponse> responseEntity = authController.login(request, mock(HttpServletRequest.class), response);
 
         verify(cookieUtil).addAuthCookie(response, "mockedToken");
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -85,6 +89,22 @@ public class AuthControllerTest {
                 .isEqualTo(responseDto);
     }
 
+    @Test
+    @DisplayName("Deve retornar 429 com Retry-After sem chamar o serviço quando o limite de login estourar")
+    void testLogin_rateLimited() {
+        LoginRequest request = new LoginRequest("test@example.com", "123456");
+        HttpServletRequest httpRequest = mock(HttpServletRequest.class);
+        when(httpRequest.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(authRateLimiter.tryAcquireLogin("10.0.0.1", "test@example.com")).thenReturn(12L);
+
+        ResponseEntity<UserResponse> responseEntity =
+                authController.login(request, httpRequest, mock(HttpServletResponse.class));
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("12");
+        verifyNoInteractions(authService, jwtTokenProvider, cookieUtil);
+    }
+
     @Test
     @DisplayName("Deve limpar cookie e retornar mensagem de logout")
     void testLogout() {
@@ -1,10 +1,16 @@
 package com.valderson.shoppingcart.controller.unit;
 
+import com.valderson.shoppingcart.config.FlashSaleConfig;
 import com.valderson.shoppingcart.controller.CartController;
 import com.valderson.shoppingcart.dto.request.AddToCartRequest;
 import com.valderson.shoppingcart.dto.response.CartItemResponse;
 import com.valderson.shoppingcart.dto.response.CartResponse;
+import com.valderson.shoppingcart.repository.CartItemRepository;
 import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import com.valderson.shoppingcart.service.ProductService;
+import com.valderson.shoppingcart.service.ReadCoalescingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,7 +32,11 @@ public class CartControllerTest {
     @BeforeEach
     void setUp() {
         cartService = mock(CartService.class);
-        cartController = new CartController(cartService);
+        ReadCoalescingService readCoalescingService =
+                new ReadCoalescingService(cartService, mock(ProductService.class), new SimpleMeterRegistry());
+        FlashSaleService flashSaleService =
+                new FlashSaleService(new FlashSaleConfig(), mock(CartItemRepository.class), new SimpleMeterRegistry());
+        cartController = new CartController(cartService, readCoalescingService, flashSaleService);
     }
 
     private CartResponse createCartResponse(Long id, Long userId, BigDecimal total) {
@@ -13,6 +13,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
@@ -146,6 +147,26 @@ class AuthServiceIntegrationTest {
                 .hasMessage("Senha incorreta");
     }
 
+    @Test
+    @DisplayName("Deve regravar no login o hash legado sem prefixo de algoritmo")
+    void shouldUpgradeLegacyHashOnLogin() {
+        User legacyUser = userRepository.save(User.builder()
+                .name("Usuário Legado")
+                .email("legado@email.com")
+                .passwordHash(new BCryptPasswordEncoder(4).encode("senhaAntiga1"))
+                .build());
+
+        authService.login(LoginRequest.builder()
+                .email("legado@email.com")
+                .password("senhaAntiga1")
+                .build());
+
+        String upgradedHash = userRepository.findById(legacyUser.getId()).orElseThrow().getPasswordHash();
+        assertThat(upgradedHash).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("senhaAntiga1", upgradedHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(upgradedHash)).isFalse();
+    }
+
     @Test
     @DisplayName("Deve falhar ao buscar usuário inexistente")
     void shouldFailWhenSearchingNonExistentUser() {
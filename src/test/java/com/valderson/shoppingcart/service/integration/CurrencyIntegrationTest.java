@@ -0,0 +1,168 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.CurrencyConfig;
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.CartResponse;
+import com.valderson.shoppingcart.dto.response.ExchangeRatesResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.ProductResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.ExchangeRateService;
+import com.valderson.shoppingcart.service.OrderService;
+import com.valderson.shoppingcart.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Moedas - Testes de Integração")
+class CurrencyIntegrationTest {
+
+    @Autowired private ExchangeRateService exchangeRateService;
+    @Autowired private ProductService productService;
+    @Autowired private CartService cartService;
+    @Autowired private OrderService orderService;
+    @Autowired private ExchangeRateRepository exchangeRateRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private CurrencyConfig currencyConfig;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateRepository.deleteAll();
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("moedas@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(new BigDecimal("10.00"))
+                .build());
+
+        exchangeRateService.updateRate("USD", new BigDecimal("0.20"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+        exchangeRateRepository.deleteAll();
+        exchangeRateService.reload();
+    }
+
+    @Test
+    @DisplayName("Deve versionar a tabela a cada cotação alterada")
+    void shouldVersionRateTable() {
+        long version = exchangeRateService.getRates().getVersion();
+
+        ExchangeRatesResponse updated = exchangeRateService.updateRate("eur", new BigDecimal("0.18"));
+
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+        assertThat(updated.getRates()).containsKeys("BRL", "USD", "EUR");
+
+        // Recarga sem mudanças mantém a versão
+        exchangeRateService.reload();
+        assertThat(exchangeRateService.getRates().getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Deve converter os preços do catálogo para a moeda pedida")
+    void shouldConvertCatalog() {
+        List<ProductResponse> products = productService.getAllProducts("usd");
+
+        assertThat(products).singleElement().satisfies(response -> {
+            assertThat(response.getPrice()).isEqualByComparingTo("2.00");
+            assertThat(response.getCurrency()).isEqualTo("USD");
+        });
+    }
+
+    @Test
+    @DisplayName("Deve exibir o carrinho na moeda escolhida e congelar a cotação no pedido")
+    void shouldSnapshotRateOnOrder() {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(3)
+                .build());
+
+        CartResponse cart = cartService.changeCurrency(user.getId(), "USD");
+        assertThat(cart.getCurrency()).isEqualTo("USD");
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("6.00");
+        assertThat(cart.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getProductPrice()).isEqualByComparingTo("2.00"));
+        assertThat(cartService.getCartTotal(user.getId())).isEqualByComparingTo("6.00");
+
+        OrderResponse order = orderService.createOrder(user.getId());
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("30.00");
+        assertThat(order.getCurrency()).isEqualTo("USD");
+        assertThat(order.getConvertedTotalAmount()).isEqualByComparingTo("6.00");
+
+        // Cotação nova não altera pedidos já feitos
+        exchangeRateService.updateRate("USD", new BigDecimal("0.25"));
+        OrderResponse stored = orderService.getUserOrders(user.getId(), false).get(0);
+        assertThat(stored.getExchangeRate()).isEqualByComparingTo("0.20");
+        assertThat(stored.getConvertedTotalAmount()).isEqualByComparingTo("6.00");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar moeda sem cotação")
+    void shouldRejectUnsupportedCurrency() {
+        assertThatThrownBy(() -> productService.getAllProducts("JPY"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Moeda não suportada");
+    }
+
+    @Test
+    @DisplayName("Deve recusar alteração de moeda fixada pelo arquivo de cotações")
+    void shouldRejectUpdateForCurrencyPinnedByFile(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("rates.properties"), "GBP=0.15\n");
+        currencyConfig.setRatesFile(file.toString());
+        try {
+            assertThatThrownBy(() -> exchangeRateService.updateRate("GBP", new BigDecimal("0.99")))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Cotação definida pelo arquivo de cotações");
+
+            exchangeRateService.reload();
+            assertThat(exchangeRateService.converterFor("GBP").rate()).isEqualByComparingTo("0.15");
+        } finally {
+            currencyConfig.setRatesFile("");
+        }
+    }
+}
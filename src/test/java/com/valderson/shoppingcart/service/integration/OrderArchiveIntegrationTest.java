@@ -0,0 +1,156 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.OrderArchiveService;
+import com.valderson.shoppingcart.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Arquivamento de pedidos - Testes de Integração")
+class OrderArchiveIntegrationTest {
+
+    @Autowired private OrderArchiveService orderArchiveService;
+    @Autowired private OrderArchiveConfig orderArchiveConfig;
+    @Autowired private OrderService orderService;
+    @Autowired private CartService cartService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private String originalDirectory;
+    private int originalChunkSize;
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        originalDirectory = orderArchiveConfig.getDirectory();
+        originalChunkSize = orderArchiveConfig.getChunkSize();
+        orderArchiveConfig.setDirectory(archiveDirectory.toString());
+        orderArchiveConfig.setChunkSize(2);
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("arquivo@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderArchiveConfig.setDirectory(originalDirectory);
+        orderArchiveConfig.setChunkSize(originalChunkSize);
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve mover pedidos finalizados para arquivos compactados e servi-los pelo histórico")
+    void shouldArchiveFinishedOrders() throws IOException {
+        List<Long> cancelled = List.of(createOrder(1).getId(), createOrder(2).getId(), createOrder(3).getId());
+        cancelled.forEach(orderId -> orderService.cancelOrder(user.getId(), orderId));
+        OrderResponse pending = createOrder(4);
+
+        int archived = orderArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(orderRepository.findAll()).extracting("id").containsExactly(pending.getId());
+        assertThat(orderItemRepository.count()).isEqualTo(1);
+        assertThat(orderService.getUserOrders(user.getId())).extracting(OrderResponse::getId)
+                .containsExactly(pending.getId());
+
+        List<OrderResponse> all = orderService.getUserOrders(user.getId(), true);
+        assertThat(all).extracting(OrderResponse::getId)
+                .containsExactlyInAnyOrder(pending.getId(), cancelled.get(0), cancelled.get(1), cancelled.get(2));
+        assertThat(all).filteredOn(order -> cancelled.contains(order.getId()))
+                .allSatisfy(order -> {
+                    assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                    assertThat(order.getItems()).hasSize(1);
+                });
+
+        assertThat(orderService.getOrderItems(user.getId(), cancelled.get(1)))
+                .singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(2));
+
+        // Dois blocos de gravação, cada um com seu arquivo na partição do mês e do grupo do usuário
+        try (Stream<Path> files = Files.walk(archiveDirectory)) {
+            assertThat(files.filter(Files::isRegularFile).toList())
+                    .hasSize(2)
+                    .allSatisfy(file -> {
+                        assertThat(file.getFileName().toString()).endsWith(".jsonl.gz");
+                        assertThat(file.getParent().getFileName().toString())
+                                .isEqualTo("bucket-" + Math.floorMod(user.getId(), orderArchiveConfig.getBuckets()));
+                    });
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve arquivar pedidos mais novos que o corte")
+    void shouldKeepRecentOrders() {
+        OrderResponse order = createOrder(1);
+        orderService.cancelOrder(user.getId(), order.getId());
+
+        int archived = orderArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(1));
+
+        assertThat(archived).isZero();
+        assertThat(orderRepository.existsById(order.getId())).isTrue();
+        assertThat(archiveDirectory).isEmptyDirectory();
+    }
+
+    private OrderResponse createOrder(int quantity) {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build());
+        return orderService.createOrder(user.getId());
+    }
+}
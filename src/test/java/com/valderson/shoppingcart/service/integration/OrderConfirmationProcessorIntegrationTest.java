@@ -0,0 +1,137 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.OrderProcessorConfig;
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.OrderConfirmationProcessor;
+import com.valderson.shoppingcart.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("OrderConfirmationProcessor - Testes de Integração")
+class OrderConfirmationProcessorIntegrationTest {
+
+    @Autowired private OrderConfirmationProcessor processor;
+    @Autowired private OrderService orderService;
+    @Autowired private CartService cartService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private OrderProcessorConfig orderProcessorConfig;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("processador@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve confirmar pedidos pendentes e atualizar o histórico")
+    void shouldConfirmPendingOrders() {
+        List<Long> orderIds = createOrders(3);
+
+        int confirmed = processor.processPending();
+
+        assertThat(confirmed).isEqualTo(3);
+        assertThat(orderRepository.findAllById(orderIds))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED));
+        assertThat(orderService.getUserOrders(user.getId()))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED));
+        assertThatThrownBy(() -> orderService.cancelOrder(user.getId(), orderIds.get(0)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Apenas pedidos pendentes podem ser cancelados");
+    }
+
+    @Test
+    @DisplayName("Não deve confirmar o mesmo pedido duas vezes com processadores concorrentes")
+    void shouldNotDoubleProcessWithConcurrentRuns() {
+        createOrders(10);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(processor::processPending);
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(processor::processPending);
+
+        assertThat(first.join() + second.join()).isEqualTo(10);
+        assertThat(orderRepository.findAll())
+                .allSatisfy(order -> assertThat(order.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    @DisplayName("Deve deixar pedidos recém-criados pendentes para que ainda possam ser cancelados")
+    void shouldKeepRecentOrdersCancellable() {
+        orderProcessorConfig.setMinAge(new OrderProcessorConfig().getMinAge());
+        try {
+            Long orderId = createOrders(1).get(0);
+
+            assertThat(processor.processPending()).isZero();
+
+            OrderResponse cancelled = orderService.cancelOrder(user.getId(), orderId);
+            assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        } finally {
+            orderProcessorConfig.setMinAge(0);
+        }
+    }
+
+    private List<Long> createOrders(int count) {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                    .productId(product.getId())
+                    .quantity(1)
+                    .build());
+            OrderResponse order = orderService.createOrder(user.getId());
+            orderIds.add(order.getId());
+        }
+        return orderIds;
+    }
+}
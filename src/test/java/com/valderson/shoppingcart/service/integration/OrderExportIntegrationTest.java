@@ -0,0 +1,242 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.config.OrderExportConfig;
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.OrderExportResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.OrderArchiveService;
+import com.valderson.shoppingcart.service.OrderExportService;
+import com.valderson.shoppingcart.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("OrderExportService - Testes de Integração")
+class OrderExportIntegrationTest {
+
+    @Autowired private OrderExportService orderExportService;
+    @Autowired private OrderExportConfig orderExportConfig;
+    @Autowired private OrderArchiveConfig orderArchiveConfig;
+    @Autowired private OrderArchiveService orderArchiveService;
+    @Autowired private OrderService orderService;
+    @Autowired private CartService cartService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @TempDir
+    private Path exportDirectory;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private String originalDirectory;
+    private String originalArchiveDirectory;
+    private int originalRetentionDays;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        originalDirectory = orderExportConfig.getDirectory();
+        orderExportConfig.setDirectory(exportDirectory.toString());
+        originalArchiveDirectory = orderArchiveConfig.getDirectory();
+        originalRetentionDays = orderArchiveConfig.getRetentionDays();
+        orderArchiveConfig.setDirectory(archiveDirectory.toString());
+        orderArchiveConfig.setRetentionDays(0);
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("exportacao@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderExportConfig.setDirectory(originalDirectory);
+        orderArchiveConfig.setDirectory(originalArchiveDirectory);
+        orderArchiveConfig.setRetentionDays(originalRetentionDays);
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve exportar uma linha por item com os dados do pedido")
+    void shouldExportOneRowPerItem() {
+        Product first = saveProduct("Produto A", "10.00");
+        Product second = saveProduct("Produto B", "5.50");
+        addToCart(first, 2);
+        addToCart(second, 1);
+        OrderResponse order = orderService.createOrder(user.getId());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LocalDate today = LocalDate.now();
+        long rows = orderExportService.exportCsv(today, today, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("order_id,user_id,status,created_at")
+                .contains(",total_amount,currency,exchange_rate,");
+        assertThat(lines.subList(1, 3)).allSatisfy(line -> assertThat(line)
+                .startsWith(order.getId() + "," + user.getId() + ",PENDING,"));
+        assertThat(lines.get(1)).contains("," + first.getId() + ",Produto A,10.00,2,20.00");
+        assertThat(lines.get(2)).contains("," + second.getId() + ",Produto B,5.50,1,5.50");
+    }
+
+    @Test
+    @DisplayName("Deve exportar também os pedidos já arquivados, sem repetir os que seguem no banco")
+    void shouldExportArchivedOrders() {
+        addToCart(saveProduct("Produto A", "10.00"), 2);
+        OrderResponse archived = orderService.createOrder(user.getId());
+        orderService.cancelOrder(user.getId(), archived.getId());
+        addToCart(saveProduct("Produto B", "5.00"), 1);
+        OrderResponse pending = orderService.createOrder(user.getId());
+
+        assertThat(orderArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1))).isEqualTo(1);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LocalDate today = LocalDate.now();
+        long rows = orderExportService.exportCsv(today, today, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines).filteredOn(line -> line.startsWith(archived.getId() + ","))
+                .singleElement()
+                .satisfies(line -> assertThat(line)
+                        .startsWith(archived.getId() + "," + user.getId() + ",CANCELLED,")
+                        // Sem cotação escolhida, moeda e câmbio saem vazios como no banco
+                        .contains(",20.00,,,")
+                        .endsWith(",Produto A,10.00,2,20.00"));
+        assertThat(lines).filteredOn(line -> line.startsWith(pending.getId() + ","))
+                .singleElement()
+                .satisfies(line -> assertThat(line).endsWith(",Produto B,5.00,1,5.00"));
+    }
+
+    @Test
+    @DisplayName("Deve escapar vírgulas e aspas no nome do produto")
+    void shouldEscapeSpecialCharacters() {
+        Product product = saveProduct("Cabo \"USB-C\", 2m", "10.00");
+        addToCart(product, 1);
+        orderService.createOrder(user.getId());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LocalDate today = LocalDate.now();
+        orderExportService.exportCsv(today, today, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains(",\"Cabo \"\"USB-C\"\", 2m\",");
+    }
+
+    @Test
+    @DisplayName("Deve neutralizar nomes de produto que começam como fórmula de planilha")
+    void shouldNeutralizeFormulaCells() {
+        addToCart(saveProduct("=HYPERLINK(\"http://exemplo\")", "10.00"), 1);
+        addToCart(saveProduct("@SUM(A1)", "5.00"), 1);
+        orderService.createOrder(user.getId());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LocalDate today = LocalDate.now();
+        orderExportService.exportCsv(today, today, output);
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://exemplo\"\")\",");
+        assertThat(csv).contains(",'@SUM(A1),");
+        assertThat(csv).doesNotContain(",=", ",@");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar pedidos fora do período")
+    void shouldIgnoreOrdersOutsidePeriod() {
+        addToCart(saveProduct("Produto A", "10.00"), 1);
+        orderService.createOrder(user.getId());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        long rows = orderExportService.exportCsv(yesterday.minusDays(7), yesterday, output);
+
+        assertThat(rows).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8).lines()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a exportação em arquivo no diretório configurado")
+    void shouldExportToFile() throws IOException {
+        addToCart(saveProduct("Produto A", "10.00"), 3);
+        orderService.createOrder(user.getId());
+
+        LocalDate today = LocalDate.now();
+        OrderExportResponse response = orderExportService.exportCsvToFile(today, today);
+
+        Path file = Path.of(response.getFile());
+        assertThat(response.getRows()).isEqualTo(1L);
+        assertThat(file.getParent()).isEqualTo(exportDirectory);
+        assertThat(Files.readAllLines(file)).hasSize(2);
+        try (var files = Files.list(exportDirectory)) {
+            assertThat(files).noneMatch(path -> path.toString().endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com início depois do fim")
+    void shouldRejectInvalidPeriod() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> orderExportService.exportCsv(today, today.minusDays(1), new ByteArrayOutputStream()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Período inválido");
+    }
+
+    private Product saveProduct(String name, String price) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .build());
+    }
+
+    private void addToCart(Product product, int quantity) {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build());
+    }
+}
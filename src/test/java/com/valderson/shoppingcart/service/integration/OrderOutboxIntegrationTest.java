@@ -0,0 +1,123 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.OrderEventType;
+import com.valderson.shoppingcart.event.OrderEvent;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.OrderOutboxDispatcher;
+import com.valderson.shoppingcart.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@DisplayName("Outbox de pedidos - Testes de Integração")
+class OrderOutboxIntegrationTest {
+
+    @Autowired private OrderOutboxDispatcher dispatcher;
+    @Autowired private OrderService orderService;
+    @Autowired private CartService cartService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private ApplicationEvents applicationEvents;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("outbox@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos do pedido em ordem e marcá-los como enviados")
+    void shouldDispatchOrderEventsInOrder() {
+        OrderResponse order = createOrder();
+        orderService.cancelOrder(user.getId(), order.getId());
+
+        assertThat(outboxEventRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(event -> assertThat(event.getSentAt()).isNull());
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(2);
+        List<OrderEvent> events = applicationEvents.stream(OrderEvent.class).toList();
+        assertThat(events).extracting(OrderEvent::type)
+                .containsExactly(OrderEventType.ORDER_CREATED, OrderEventType.ORDER_CANCELLED);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.orderId()).isEqualTo(order.getId());
+            assertThat(event.payload()).contains("\"id\":" + order.getId());
+        });
+        assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getSentAt()).isNotNull());
+        assertThat(dispatcher.dispatchPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento quando o checkout falhar")
+    void shouldNotRecordEventWhenCheckoutFails() {
+        assertThatThrownBy(() -> orderService.createOrder(user.getId()))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private OrderResponse createOrder() {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(1)
+                .build());
+        return orderService.createOrder(user.getId());
+    }
+}
@@ -1,14 +1,21 @@
 package com.valderson.shoppingcart.service.integration;
 
 import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.request.CreateCouponRequest;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderPageResponse;
 import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.OrderSummaryResponse;
 import com.valderson.shoppingcart.entity.Product;
 import com.valderson.shoppingcart.entity.ShoppingCart;
 import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.CouponType;
 import com.valderson.shoppingcart.enums.OrderStatus;
 import com.valderson.shoppingcart.repository.*;
 import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.CouponService;
 import com.valderson.shoppingcart.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,7 +25,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -32,6 +44,9 @@ class OrderServiceIntegrationTest {
     @Autowired private UserRepository userRepository;
     @Autowired private ProductRepository productRepository;
     @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private CouponService couponService;
     @Autowired private PasswordEncoder passwordEncoder;
 
     private User user;
@@ -40,7 +55,9 @@ class OrderServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         // Limpar dados
+        orderHistoryRepository.deleteAll();
         orderRepository.deleteAll();
+        couponRepository.deleteAll();
         userRepository.deleteAll();
         productRepository.deleteAll();
 
@@ -73,6 +90,12 @@ class OrderServiceIntegrationTest {
         cartService.addItemToCart(user.getId(), request); // total: 30.00
     }
 
+    @AfterEach
+    void tearDown() {
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
     @Test
     @DisplayName("Deve criar pedido com sucesso a partir do carrinho")
     void shouldCreateOrderSuccessfully() {
@@ -84,6 +107,29 @@ class OrderServiceIntegrationTest {
         assertThat(order.getTotalAmount()).isEqualByComparingTo("30.00");
     }
 
+    @Test
+    @DisplayName("Deve criar pedido com vários itens e esvaziar o carrinho")
+    void shouldCreateOrderWithManyItemsAndClearCart() {
+        for (int i = 1; i <= 5; i++) {
+            Product extra = productRepository.save(Product.builder()
+                    .name("Produto Extra " + i)
+                    .price(BigDecimal.valueOf(i))
+                    .build());
+            cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                    .productId(extra.getId())
+                    .quantity(2)
+                    .build());
+        }
+
+        OrderResponse order = orderService.createOrder(user.getId());
+
+        // 30.00 do setup + 2 * (1 + 2 + 3 + 4 + 5)
+        assertThat(order.getItems()).hasSize(6);
+        assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("60.00");
+        assertThat(cartService.getCartByUserId(user.getId()).getItems()).isEmpty();
+    }
+
     @Test
     @DisplayName("Deve listar pedidos do usuário")
     void shouldListUserOrders() {
@@ -95,6 +141,42 @@ class OrderServiceIntegrationTest {
         assertThat(orders.get(0).getTotalAmount()).isEqualByComparingTo("30.00");
     }
 
+    @Test
+    @DisplayName("Deve paginar o histórico de pedidos por cursor")
+    void shouldPageOrderHistoryWithCursor() {
+        Long firstOrderId = orderService.createOrder(user.getId()).getId();
+        addProductToCart(2);
+        Long secondOrderId = orderService.createOrder(user.getId()).getId();
+        addProductToCart(1);
+        Long thirdOrderId = orderService.createOrder(user.getId()).getId();
+
+        OrderPageResponse firstPage = orderService.getUserOrderPage(user.getId(), null, 2);
+        OrderPageResponse secondPage = orderService.getUserOrderPage(user.getId(), firstPage.getNextCursor(), 2);
+
+        assertThat(firstPage.getOrders()).extracting(OrderSummaryResponse::getId)
+                .containsExactly(thirdOrderId, secondOrderId);
+        assertThat(firstPage.getOrders()).allSatisfy(summary -> assertThat(summary.getItemCount()).isEqualTo(1L));
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(secondPage.getOrders()).extracting(OrderSummaryResponse::getId)
+                .containsExactly(firstOrderId);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve buscar os itens de um pedido do usuário")
+    void shouldGetOrderItems() {
+        OrderResponse order = orderService.createOrder(user.getId());
+
+        List<OrderItemResponse> items = orderService.getOrderItems(user.getId(), order.getId());
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getProductId()).isEqualTo(product.getId());
+        assertThat(items.get(0).getSubtotal()).isEqualByComparingTo("30.00");
+        assertThatThrownBy(() -> orderService.getOrderItems(user.getId() + 1000, order.getId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Pedido não encontrado");
+    }
+
     @Test
     @DisplayName("Deve cancelar pedido pendente com sucesso")
     void shouldCancelPendingOrder() {
@@ -102,6 +184,39 @@ class OrderServiceIntegrationTest {
         OrderResponse cancelled = orderService.cancelOrder(user.getId(), order.getId());
 
         assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderService.getUserOrders(user.getId()))
+                .singleElement()
+                .satisfies(history -> assertThat(history.getStatus()).isEqualTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Deve permitir apenas um cancelamento entre requisições concorrentes")
+    void shouldCancelOnlyOnceUnderConcurrency() throws Exception {
+        OrderResponse order = orderService.createOrder(user.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(executor.submit(() -> {
+                try {
+                    orderService.cancelOrder(user.getId(), order.getId());
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+
+        int succeeded = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(10, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getVersion()).isEqualTo(1L);
     }
 
     @Test
@@ -127,6 +242,42 @@ class OrderServiceIntegrationTest {
                 .hasMessage("Pedido não pertence ao usuário");
     }
 
+    @Test
+    @DisplayName("Deve aplicar cupom no pedido e respeitar o limite de uso")
+    void shouldApplyCouponAndEnforceUsageLimit() {
+        couponService.createCoupon(CreateCouponRequest.builder()
+                .code("dez")
+                .type(CouponType.PERCENTAGE)
+                .value(BigDecimal.TEN)
+                .usageLimit(1)
+                .build());
+
+        cartService.applyCoupon(user.getId(), "DEZ");
+        OrderResponse order = orderService.createOrder(user.getId());
+
+        assertThat(order.getCouponCode()).isEqualTo("DEZ");
+        assertThat(order.getDiscountAmount()).isEqualByComparingTo("3.00");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("27.00");
+        assertThat(cartService.getCartByUserId(user.getId()).getCouponCode()).isNull();
+
+        addProductToCart(1);
+        cartService.applyCoupon(user.getId(), "DEZ");
+        assertThatThrownBy(() -> orderService.createOrder(user.getId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cupom esgotado");
+
+        // Cancelar devolve o uso do cupom
+        orderService.cancelOrder(user.getId(), order.getId());
+        assertThat(orderService.createOrder(user.getId()).getDiscountAmount()).isEqualByComparingTo("1.00");
+    }
+
+    private void addProductToCart(int quantity) {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao criar pedido com carrinho vazio")
     void shouldFailWhenCartIsEmpty() {
@@ -0,0 +1,197 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.dto.response.PricePointResponse;
+import com.valderson.shoppingcart.dto.response.RepricingJobResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ProductPriceHistory;
+import com.valderson.shoppingcart.enums.RepricingStatus;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent.PriceChange;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import com.valderson.shoppingcart.repository.ProductPriceHistoryRepository;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.service.PriceHistoryService;
+import com.valderson.shoppingcart.service.RepricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PriceHistoryService - Testes de Integração")
+class PriceHistoryIntegrationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Autowired private PriceHistoryService priceHistoryService;
+    @Autowired private RepricingService repricingService;
+    @Autowired private ProductPriceHistoryRepository priceHistoryRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        priceHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(new BigDecimal("10.00"))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve acrescentar cada alteração à série e decodificar o período pedido")
+    void shouldRecordAndQueryRange() {
+        record("10.00", "12.50", BASE);
+        record("12.50", "9.99", BASE.plusHours(5));
+        record("9.99", "11.00", BASE.plusDays(2));
+
+        // O produto foi criado depois de BASE: o preço anterior fica um segundo antes da primeira alteração
+        List<PricePointResponse> all = priceHistoryService.getHistory(product.getId(), null, null);
+        assertThat(all).extracting(PricePointResponse::getAt)
+                .containsExactly(BASE.minusSeconds(1), BASE, BASE.plusHours(5), BASE.plusDays(2));
+        assertThat(all).extracting(PricePointResponse::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("12.50"), new BigDecimal("9.99"),
+                        new BigDecimal("11.00"));
+
+        // O ponto anterior ao início vem junto: é o preço vigente no começo do período
+        List<PricePointResponse> range = priceHistoryService.getHistory(product.getId(),
+                BASE.plusDays(1), BASE.plusDays(3));
+        assertThat(range).extracting(PricePointResponse::getAt)
+                .containsExactly(BASE.plusHours(5), BASE.plusDays(2));
+
+        ProductPriceHistory history = priceHistoryRepository.findById(product.getId()).orElseThrow();
+        assertThat(history.getPointCount()).isEqualTo(4);
+        assertThat(history.getSeries().length).isLessThanOrEqualTo(4 * 6);
+    }
+
+    @Test
+    @DisplayName("Deve registrar o histórico das alterações feitas pelo reajuste em massa")
+    void shouldRecordRepricingChanges() {
+        RepricingJobResponse job = repricingService.start(RepricingRequest.builder()
+                .percentage(new BigDecimal("-10"))
+                .build());
+        awaitFinished(job.getJobId());
+
+        List<PricePointResponse> history = priceHistoryService.getHistory(product.getId(), null, null);
+        assertThat(history).extracting(PricePointResponse::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("9.00"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o preço anterior na primeira alteração, vigente desde a criação do produto")
+    void shouldKeepPriceBeforeFirstChange() {
+        LocalDateTime createdAt = productRepository.findById(product.getId()).orElseThrow().getCreatedAt();
+        LocalDateTime changedAt = createdAt.plusDays(3);
+
+        record("10.00", "8.00", changedAt);
+
+        List<PricePointResponse> history = priceHistoryService.getHistory(product.getId(), null, null);
+        assertThat(history).extracting(PricePointResponse::getAt)
+                .containsExactly(createdAt.truncatedTo(ChronoUnit.SECONDS), changedAt.truncatedTo(ChronoUnit.SECONDS));
+        assertThat(history).extracting(PricePointResponse::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("8.00"));
+    }
+
+    @Test
+    @DisplayName("Deve serializar duas primeiras alterações simultâneas do mesmo produto")
+    void shouldSerializeConcurrentFirstChanges() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // A primeira transação grava a série e fica aberta enquanto a segunda tenta começar outra
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            record("10.00", "11.00", BASE);
+            recorded.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> record("11.00", "12.00", BASE.plusHours(1)));
+        Thread.sleep(300);
+        commit.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        assertThat(priceHistoryService.getHistory(product.getId(), null, null))
+                .extracting(PricePointResponse::getPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("11.00"), new BigDecimal("12.00"));
+    }
+
+    @Test
+    @DisplayName("Deve manter só o último preço de cada dia antigo e remover preços repetidos na compactação")
+    void shouldCompactOldPoints() {
+        record("10.00", "11.00", BASE);
+        record("11.00", "12.00", BASE.plusHours(1));
+        record("12.00", "13.00", BASE.plusHours(2));
+        record("13.00", "14.00", BASE.plusDays(1));
+        record("14.00", "13.00", BASE.plusDays(10));
+
+        int compacted = priceHistoryService.compact(BASE.plusDays(5));
+
+        assertThat(compacted).isEqualTo(1);
+        List<PricePointResponse> history = priceHistoryService.getHistory(product.getId(), null, null);
+        assertThat(history).extracting(PricePointResponse::getAt)
+                .containsExactly(BASE.plusHours(2), BASE.plusDays(1), BASE.plusDays(10));
+
+        // A série compactada continua aceitando novos pontos
+        record("13.00", "15.00", BASE.plusDays(11));
+        assertThat(priceHistoryService.getHistory(product.getId(), null, null))
+                .last()
+                .satisfies(point -> {
+                    assertThat(point.getAt()).isEqualTo(BASE.plusDays(11));
+                    assertThat(point.getPrice()).isEqualByComparingTo("15.00");
+                });
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para produto inexistente")
+    void shouldThrowForUnknownProduct() {
+        assertThatThrownBy(() -> priceHistoryService.getHistory(999999L, null, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Produto não encontrado");
+    }
+
+    private void record(String oldPrice, String newPrice, LocalDateTime at) {
+        priceHistoryService.record(List.of(new PriceChange(product.getId(),
+                new BigDecimal(oldPrice), new BigDecimal(newPrice))), at);
+    }
+
+    private void awaitFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repricingService.getJob(jobId).getStatus() == RepricingStatus.RUNNING
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
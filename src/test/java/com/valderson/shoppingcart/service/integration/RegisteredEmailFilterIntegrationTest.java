@@ -0,0 +1,98 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.dto.request.RegisterRequest;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.repository.UserRepository;
+import com.valderson.shoppingcart.service.AuthService;
+import com.valderson.shoppingcart.service.RegisteredEmailFilterService;
+import com.valderson.shoppingcart.util.ScalableBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional
+@DisplayName("Filtro de emails cadastrados - Testes de Integração")
+class RegisteredEmailFilterIntegrationTest {
+
+    @Autowired
+    private RegisteredEmailFilterService registeredEmailFilterService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Deve mandar ao banco só os emails que o filtro não descarta")
+    void shouldRequireLookupOnlyForKnownEmails() {
+        authService.register(RegisterRequest.builder()
+                .name("Filtro Teste")
+                .email("filtro.registrado@email.com")
+                .password("senha123")
+                .build());
+
+        assertThat(registeredEmailFilterService.requiresLookup("filtro.registrado@email.com")).isTrue();
+        assertThat(registeredEmailFilterService.requiresLookup("filtro.novo@email.com")).isFalse();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve incluir na carga inicial os emails já gravados no banco")
+    void shouldLoadExistingEmailsOnStartup() {
+        // A carga lê por uma sessão própria, então o usuário precisa estar gravado de fato
+        User existing = userRepository.save(User.builder()
+                .name("Usuário Existente")
+                .email("filtro.existente@email.com")
+                .passwordHash("hash")
+                .build());
+
+        try {
+            registeredEmailFilterService.loadOnStartup();
+
+            assertThat(registeredEmailFilterService.requiresLookup("filtro.existente@email.com")).isTrue();
+        } finally {
+            userRepository.delete(existing);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve crescer além da capacidade inicial sem falso negativo e com taxa de falso positivo limitada")
+    void shouldGrowWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+
+        for (int i = 0; i < 20000; i++) {
+            filter.add("usuario" + i + "@email.com");
+        }
+
+        assertThat(filter.sliceCount()).isGreaterThan(1);
+        for (int i = 0; i < 20000; i++) {
+            assertThat(filter.mightContain("usuario" + i + "@email.com")).isTrue();
+        }
+
+        long falsePositives = 0;
+        for (int i = 0; i < 20000; i++) {
+            if (filter.mightContain("desconhecido" + i + "@email.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 20000.0).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,149 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.RepricingConfig;
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.dto.response.RepricingJobResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.enums.RepricingRounding;
+import com.valderson.shoppingcart.enums.RepricingStatus;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.service.RepricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RepricingService - Testes de Integração")
+class RepricingIntegrationTest {
+
+    @Autowired private RepricingService repricingService;
+    @Autowired private RepricingConfig repricingConfig;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+
+    private int originalChunkSize;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        originalChunkSize = repricingConfig.getChunkSize();
+        // Lotes pequenos para passar por vários blocos com poucos produtos
+        repricingConfig.setChunkSize(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricingConfig.setChunkSize(originalChunkSize);
+    }
+
+    @Test
+    @DisplayName("Deve reajustar todos os produtos em lotes e informar o progresso")
+    void shouldRepriceCatalogInChunks() {
+        List<Product> products = List.of(
+                saveProduct("19.99"), saveProduct("25.00"), saveProduct("9.99"),
+                saveProduct("100.00"), saveProduct("0.99"));
+
+        RepricingJobResponse job = repricingService.start(RepricingRequest.builder()
+                .percentage(new BigDecimal("-10"))
+                .rounding(RepricingRounding.ENDING_99)
+                .build());
+
+        RepricingJobResponse finished = awaitFinished(job.getJobId());
+        assertThat(finished.getStatus()).isEqualTo(RepricingStatus.COMPLETED);
+        assertThat(finished.getTotal()).isEqualTo(5L);
+        assertThat(finished.getProcessed()).isEqualTo(5L);
+        // 0.99 continua 0.99 e não é gravado
+        assertThat(finished.getUpdated()).isEqualTo(4L);
+
+        assertThat(priceOf(products.get(0))).isEqualByComparingTo("17.99");
+        assertThat(priceOf(products.get(1))).isEqualByComparingTo("22.99");
+        assertThat(priceOf(products.get(2))).isEqualByComparingTo("8.99");
+        assertThat(priceOf(products.get(3))).isEqualByComparingTo("89.99");
+        assertThat(priceOf(products.get(4))).isEqualByComparingTo("0.99");
+    }
+
+    @Test
+    @DisplayName("Deve reajustar apenas os produtos da faixa de preço")
+    void shouldRepriceOnlyPriceRange() {
+        Product cheap = saveProduct("10.00");
+        Product expensive = saveProduct("200.00");
+
+        RepricingJobResponse job = repricingService.start(RepricingRequest.builder()
+                .percentage(new BigDecimal("-20"))
+                .priceFrom(new BigDecimal("100.00"))
+                .build());
+
+        RepricingJobResponse finished = awaitFinished(job.getJobId());
+        assertThat(finished.getTotal()).isEqualTo(1L);
+        assertThat(priceOf(cheap)).isEqualByComparingTo("10.00");
+        assertThat(priceOf(expensive)).isEqualByComparingTo("160.00");
+    }
+
+    @Test
+    @DisplayName("Deve pular produtos cujo novo preço estouraria a coluna e concluir o reajuste")
+    void shouldSkipProductsAboveColumnLimit() {
+        Product cheap = saveProduct("10.00");
+        Product expensive = saveProduct("50000000.00");
+        Product last = saveProduct("20.00");
+
+        RepricingJobResponse job = repricingService.start(RepricingRequest.builder()
+                .percentage(new BigDecimal("100"))
+                .build());
+
+        RepricingJobResponse finished = awaitFinished(job.getJobId());
+        assertThat(finished.getStatus()).isEqualTo(RepricingStatus.COMPLETED);
+        assertThat(finished.getProcessed()).isEqualTo(3L);
+        assertThat(finished.getUpdated()).isEqualTo(2L);
+        assertThat(finished.getSkipped()).isEqualTo(1L);
+
+        assertThat(priceOf(cheap)).isEqualByComparingTo("20.00");
+        assertThat(priceOf(expensive)).isEqualByComparingTo("50000000.00");
+        assertThat(priceOf(last)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar faixa de preço invertida")
+    void shouldRejectInvalidRange() {
+        assertThatThrownBy(() -> repricingService.start(RepricingRequest.builder()
+                .percentage(BigDecimal.ONE)
+                .priceFrom(BigDecimal.TEN)
+                .priceTo(BigDecimal.ONE)
+                .build()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Faixa de preço inválida");
+    }
+
+    private Product saveProduct(String price) {
+        return productRepository.save(Product.builder()
+                .name("Produto " + price)
+                .price(new BigDecimal(price))
+                .build());
+    }
+
+    private BigDecimal priceOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getPrice();
+    }
+
+    private RepricingJobResponse awaitFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        RepricingJobResponse job = repricingService.getJob(jobId);
+        while (job.getStatus() == RepricingStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            job = repricingService.getJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,271 @@
+package com.valderson.shoppingcart.service.integration;
+
+import com.valderson.shoppingcart.config.OrderArchiveConfig;
+import com.valderson.shoppingcart.dto.request.AddToCartRequest;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.SalesRollupResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.SalesRollup;
+import com.valderson.shoppingcart.entity.ShoppingCart;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.*;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.OrderConfirmationProcessor;
+import com.valderson.shoppingcart.service.OrderService;
+import com.valderson.shoppingcart.service.SalesRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("SalesRollupService - Testes de Integração")
+class SalesRollupIntegrationTest {
+
+    @Autowired private SalesRollupService salesRollupService;
+    @Autowired private OrderConfirmationProcessor processor;
+    @Autowired private OrderService orderService;
+    @Autowired private CartService cartService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderHistoryRepository orderHistoryRepository;
+    @Autowired private SalesRollupRepository salesRollupRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private OrderArchiveConfig orderArchiveConfig;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupRepository.deleteAll();
+        orderHistoryRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        user = User.builder()
+                .name("Usuário Teste")
+                .email("vendas@email.com")
+                .passwordHash(passwordEncoder.encode("senha123"))
+                .build();
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        user.setShoppingCart(cart);
+
+        user = userRepository.save(user);
+
+        product = productRepository.save(Product.builder()
+                .name("Produto Teste")
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Pedidos referenciam produtos: remove para não afetar as outras classes de teste
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve manter os agregados por status ao criar, cancelar e confirmar pedidos")
+    void shouldTrackSalesByStatus() {
+        createOrder(1);
+        OrderResponse cancelled = createOrder(2);
+        createOrder(3);
+        orderService.cancelOrder(user.getId(), cancelled.getId());
+        processor.processPending();
+
+        salesRollupService.flush();
+
+        LocalDate today = LocalDate.now();
+        List<SalesRollupResponse> report = salesRollupService.getSalesReport(today, today, product.getId());
+        assertThat(report).hasSize(2);
+        assertThat(report).filteredOn(row -> row.getStatus() == OrderStatus.CONFIRMED)
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getRevenue()).isEqualByComparingTo("40.00");
+                    assertThat(row.getUnits()).isEqualTo(4L);
+                    assertThat(row.getOrders()).isEqualTo(2L);
+                });
+        assertThat(report).filteredOn(row -> row.getStatus() == OrderStatus.CANCELLED)
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getRevenue()).isEqualByComparingTo("20.00");
+                    assertThat(row.getUnits()).isEqualTo(2L);
+                    assertThat(row.getOrders()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir os agregados a partir dos pedidos com o mesmo resultado")
+    void shouldRebuildFromOrders() {
+        createOrder(1);
+        OrderResponse cancelled = createOrder(2);
+        orderService.cancelOrder(user.getId(), cancelled.getId());
+        salesRollupService.flush();
+
+        LocalDate today = LocalDate.now();
+        List<SalesRollupResponse> incremental = salesRollupService.getSalesReport(today, today, product.getId());
+
+        salesRollupRepository.deleteAll();
+        salesRollupService.rebuild(today.minusDays(6), today);
+
+        List<SalesRollupResponse> rebuilt = salesRollupService.getSalesReport(today, today, product.getId());
+        assertThat(rebuilt).hasSize(2);
+        assertThat(rebuilt).usingRecursiveFieldByFieldElementComparatorIgnoringFields("revenue")
+                .containsExactlyElementsOf(incremental);
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertThat(rebuilt.get(i).getRevenue()).isEqualByComparingTo(incremental.get(i).getRevenue());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar uma única vez os pedidos com deltas ainda pendentes na reconstrução")
+    void shouldNotDoubleCountPendingDeltasOnRebuild() {
+        createOrder(1);
+
+        LocalDate today = LocalDate.now();
+        salesRollupService.rebuild(today, today);
+        salesRollupService.flush();
+
+        assertThat(salesRollupService.getSalesReport(today, today, product.getId()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getOrders()).isEqualTo(1L);
+                    assertThat(row.getUnits()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("Deve contar uma única vez o pedido gravado antes da leitura cujo delta chega depois")
+    void shouldNotDoubleCountOrderCommittedDuringRebuild() throws Exception {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(1)
+                .build());
+
+        // O pedido já está no banco, mas a entrega do delta fica parada até o teste liberar
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch deliver = new CountDownLatch(1);
+        CompletableFuture<Void> checkout = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            committed.countDown();
+                            await(deliver);
+                        }
+                    });
+                    orderService.createOrder(user.getId());
+                }));
+        assertThat(committed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        LocalDate today = LocalDate.now();
+        CompletableFuture<List<SalesRollupResponse>> rebuild =
+                CompletableFuture.supplyAsync(() -> salesRollupService.rebuild(today, today));
+        // Dá tempo para a reconstrução ler o dia antes do delta chegar, se nada a segurar
+        Thread.sleep(300);
+        deliver.countDown();
+        checkout.get(10, TimeUnit.SECONDS);
+        rebuild.get(10, TimeUnit.SECONDS);
+        salesRollupService.flush();
+
+        assertThat(salesRollupService.getSalesReport(today, today, product.getId()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getOrders()).isEqualTo(1L);
+                    assertThat(row.getUnits()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("Deve preservar os agregados de dias que podem já ter sido arquivados")
+    void shouldKeepArchivedDaysOnRebuild() {
+        LocalDate today = LocalDate.now();
+        LocalDate archivedDay = today.minusDays(orderArchiveConfig.getRetentionDays() + 10L);
+        salesRollupRepository.save(SalesRollup.builder()
+                .salesDate(archivedDay)
+                .productId(product.getId())
+                .status(OrderStatus.CONFIRMED)
+                .revenue(new BigDecimal("30.00"))
+                .units(3L)
+                .orderCount(1L)
+                .build());
+
+        salesRollupService.rebuild(archivedDay.minusDays(5), archivedDay.plusDays(5));
+
+        assertThat(salesRollupService.getSalesReport(archivedDay, archivedDay, product.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("30.00"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar reconstrução de período maior que o limite")
+    void shouldRejectRebuildAboveMaxDays() {
+        assertThatThrownBy(() -> salesRollupService.rebuild(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Período de reconstrução maior que");
+    }
+
+    @Test
+    @DisplayName("Deve gravar os deltas pendentes ao desligar")
+    void shouldFlushPendingDeltasOnShutdown() {
+        createOrder(2);
+
+        salesRollupService.shutdown();
+
+        LocalDate today = LocalDate.now();
+        assertThat(salesRollupService.getSalesReport(today, today, product.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getUnits()).isEqualTo(2L));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com início depois do fim")
+    void shouldRejectInvalidPeriod() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> salesRollupService.getSalesReport(today, today.minusDays(1), null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Período inválido");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderResponse createOrder(int quantity) {
+        cartService.addItemToCart(user.getId(), AddToCartRequest.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build());
+        return orderService.createOrder(user.getId());
+    }
+}
@@ -0,0 +1,142 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.AuthRateLimitConfig;
+import com.valderson.shoppingcart.service.AuthRateLimiter;
+import com.valderson.shoppingcart.util.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AuthRateLimiter - Testes Unitários")
+class AuthRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve liberar a rajada da capacidade e recusar informando a espera pela próxima ficha")
+    void shouldAllowBurstThenReportWait() {
+        RateLimiter limiter = new RateLimiter(3, 60, 100);
+        long now = System.nanoTime();
+
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isEqualTo(SECOND);
+
+        // Outra chave tem o próprio balde
+        assertThat(limiter.tryAcquire("10.0.0.2", now)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve repor fichas com o passar do tempo")
+    void shouldRefillOverTime() {
+        RateLimiter limiter = new RateLimiter(1, 60, 100);
+        long now = System.nanoTime();
+
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire("10.0.0.1", now + SECOND)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve remover baldes cheios e usar o balde de transbordo quando o mapa estiver tomado por baldes em uso")
+    void shouldBoundTrackedKeys() {
+        RateLimiter limiter = new RateLimiter(1, 60, 2);
+        long now = System.nanoTime();
+
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+        assertThat(limiter.tryAcquire("c", now)).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.getUntrackedCount()).isEqualTo(1);
+
+        // Um segundo depois os baldes de "a" e "b" estão cheios de novo e podem sair
+        assertThat(limiter.tryAcquire("c", now + 2 * SECOND)).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve limitar chaves novas pelo balde de transbordo com o mapa cheio")
+    void shouldLimitNewKeysThroughOverflowBucket() {
+        RateLimiter limiter = new RateLimiter(2, 60, 2);
+        long now = System.nanoTime();
+
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+
+        // Girar chaves não escapa do limite: todas as chaves sem balde dividem a mesma rajada
+        assertThat(limiter.tryAcquire("c", now)).isZero();
+        assertThat(limiter.tryAcquire("d", now)).isZero();
+        assertThat(limiter.tryAcquire("e", now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("f", now)).isEqualTo(SECOND);
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.getUntrackedCount()).isEqualTo(4);
+
+        // O transbordo repõe fichas como qualquer balde
+        assertThat(limiter.tryAcquire("g", now + SECOND / 2)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    @DisplayName("Deve recusar no transbordo o login de emails novos com o mapa cheio")
+    void shouldRejectLoginFloodThroughOverflowBucket() {
+        AuthRateLimitConfig config = new AuthRateLimitConfig();
+        config.setMaxEntries(1);
+        config.setLogin(new AuthRateLimitConfig.Limit(100, 100, 1, 1));
+        AuthRateLimiter authRateLimiter = new AuthRateLimiter(config, new SimpleMeterRegistry());
+
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.1", "primeiro@email.com")).isZero();
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.1", "segundo@email.com")).isZero();
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.1", "terceiro@email.com")).isBetween(1L, 60L);
+    }
+
+    @Test
+    @DisplayName("Não deve liberar mais fichas que a capacidade sob concorrência")
+    void shouldNotOverAdmitUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(100, 1, 100);
+        long now = System.nanoTime();
+        AtomicInteger admitted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("10.0.0.1", now) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Deve limitar o login por email mesmo vindo de IPs diferentes")
+    void shouldLimitLoginPerEmailAcrossIps() {
+        AuthRateLimitConfig config = new AuthRateLimitConfig();
+        config.setLogin(new AuthRateLimitConfig.Limit(100, 100, 2, 1));
+        AuthRateLimiter authRateLimiter = new AuthRateLimiter(config, new SimpleMeterRegistry());
+
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.1", "vitima@email.com")).isZero();
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.2", "VITIMA@email.com")).isZero();
+        assertThat(authRateLimiter.tryAcquireLogin("10.0.0.3", "vitima@email.com")).isBetween(1L, 60L);
+
+        // O registro tem limites próprios
+        assertThat(authRateLimiter.tryAcquireRegister("10.0.0.3", "vitima@email.com")).isZero();
+    }
+}
@@ -6,6 +6,7 @@ import com.valderson.shoppingcart.dto.response.UserResponse;
 import com.valderson.shoppingcart.entity.User;
 import com.valderson.shoppingcart.repository.UserRepository;
 import com.valderson.shoppingcart.service.AuthService;
+import com.valderson.shoppingcart.service.RegisteredEmailFilterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,7 +18,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -36,6 +40,9 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RegisteredEmailFilterService registeredEmailFilterService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -61,6 +68,7 @@ class AuthServiceTest {
                 .password("senha123")
                 .build();
 
+        when(registeredEmailFilterService.requiresLookup(request.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(request.getPassword())).thenReturn("hashedPassword123");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
@@ -100,6 +108,7 @@ class AuthServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        when(registeredEmailFilterService.requiresLookup(email)).thenReturn(true);
         when(userRepository.existsByEmail(email)).thenReturn(false);
         when(passwordEncoder.encode(password)).thenReturn("hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -124,6 +133,7 @@ class AuthServiceTest {
                 .password("senha123")
                 .build();
 
+        when(registeredEmailFilterService.requiresLookup(invalidEmail)).thenReturn(true);
         when(userRepository.existsByEmail(invalidEmail)).thenReturn(false);
         when(passwordEncoder.encode("senha123")).thenReturn("hashedPassword123");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
@@ -140,6 +150,7 @@ class AuthServiceTest {
                 .password("senha123")
                 .build();
 
+        when(registeredEmailFilterService.requiresLookup("joao@email.com")).thenReturn(true);
         when(userRepository.existsByEmail("joao@email.com")).thenReturn(true);
 
         assertThatThrownBy(() -> authService.register(request))
@@ -149,6 +160,45 @@ class AuthServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Deve registrar sem consultar o banco quando o filtro descarta o email")
+    void shouldSkipEmailLookupWhenFilterSaysNew() {
+        RegisterRequest request = RegisterRequest.builder()
+                .name("João Silva")
+                .email("joao@email.com")
+                .password("senha123")
+                .build();
+
+        when(registeredEmailFilterService.requiresLookup("joao@email.com")).thenReturn(false);
+        when(passwordEncoder.encode("senha123")).thenReturn("hashedPassword123");
+        when(userRepository.save(any(User.class))).thenReturn(mockUser);
+
+        authService.register(request);
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(registeredEmailFilterService).add("joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve converter a violação da constraint única em email já em uso")
+    void shouldRejectDuplicateEmailOnUniqueConstraint() {
+        RegisterRequest request = RegisterRequest.builder()
+                .name("João Silva")
+                .email("joao@email.com")
+                .password("senha123")
+                .build();
+
+        when(registeredEmailFilterService.requiresLookup("joao@email.com")).thenReturn(false);
+        when(passwordEncoder.encode("senha123")).thenReturn("hashedPassword123");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("users_email_key"));
+
+        assertThatThrownBy(() -> authService.register(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Email já está em uso");
+
+        verify(registeredEmailFilterService, never()).add(anyString());
+    }
+
     @Test
     @DisplayName("Deve fazer login com sucesso")
     void shouldLoginSuccessfully() {
@@ -169,6 +219,46 @@ class AuthServiceTest {
         verify(passwordEncoder).matches("senha123", "hashedPassword123");
     }
 
+    @Test
+    @DisplayName("Deve regravar o hash desatualizado após login com sucesso")
+    void shouldRehashOutdatedPasswordOnLogin() {
+        LoginRequest request = LoginRequest.builder()
+                .email("joao@email.com")
+                .password("senha123")
+                .build();
+
+        when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches("senha123", "hashedPassword123")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword123")).thenReturn(true);
+        when(passwordEncoder.encode("senha123")).thenReturn("{bcrypt}novoHash");
+
+        authService.login(request);
+
+        assertThat(mockUser.getPasswordHash()).isEqualTo("{bcrypt}novoHash");
+        verify(userRepository).save(mockUser);
+    }
+
+    @Test
+    @DisplayName("Deve concluir o login sem regravar o hash quando o pool de hash está saturado")
+    void shouldLoginWithoutRehashWhenHashingIsSaturated() {
+        LoginRequest request = LoginRequest.builder()
+                .email("joao@email.com")
+                .password("senha123")
+                .build();
+
+        when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches("senha123", "hashedPassword123")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword123")).thenReturn(true);
+        when(passwordEncoder.encode("senha123"))
+                .thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Muitas requisições de autenticação, tente novamente"));
+
+        UserResponse response = authService.login(request);
+
+        assertThat(response.getEmail()).isEqualTo("joao@email.com");
+        assertThat(mockUser.getPasswordHash()).isEqualTo("hashedPassword123");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando usuário não encontrado no login")
     void shouldThrowExceptionWhenUserNotFoundInLogin() {
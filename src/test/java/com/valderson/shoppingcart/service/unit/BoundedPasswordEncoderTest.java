@@ -0,0 +1,94 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BoundedPasswordEncoder - Testes Unitários")
+class BoundedPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve delegar o hash ao encoder e medir duração e espera na fila")
+    void shouldDelegateAndRecordMetrics() {
+        when(delegate.encode("senha123")).thenReturn("hash");
+        when(delegate.matches("senha123", "hash")).thenReturn(true);
+
+        assertThat(encoder.encode("senha123")).isEqualTo("hash");
+        assertThat(encoder.matches("senha123", "hash")).isTrue();
+
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção do encoder para quem chamou")
+    void shouldPropagateDelegateFailure() {
+        when(delegate.encode("senha123")).thenThrow(new IllegalArgumentException("Senha inválida"));
+
+        assertThatThrownBy(() -> encoder.encode("senha123"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Senha inválida");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 503 quando a fila de hash estiver cheia")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        callers.submit(() -> encoder.encode("primeira"));
+        started.await(5, TimeUnit.SECONDS);
+        callers.submit(() -> encoder.encode("segunda"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("terceira"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        callers.shutdown();
+    }
+}
@@ -0,0 +1,176 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.CartEventsConfig;
+import com.valderson.shoppingcart.dto.response.CartVersionResponse;
+import com.valderson.shoppingcart.dto.response.PriceChangeResponse;
+import com.valderson.shoppingcart.event.CartChangedEvent;
+import com.valderson.shoppingcart.event.ProductPriceChangedEvent;
+import com.valderson.shoppingcart.repository.CartItemRepository;
+import com.valderson.shoppingcart.service.CartEventStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CartEventStreamService - Testes Unitários")
+class CartEventStreamServiceTest {
+
+    private CartItemRepository cartItemRepository;
+    private CartEventStreamService cartEventStreamService;
+
+    @BeforeEach
+    void setUp() {
+        cartItemRepository = mock(CartItemRepository.class);
+        cartEventStreamService = new CartEventStreamService(cartItemRepository, new CartEventsConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartEventStreamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve registrar várias conexões do mesmo usuário")
+    void shouldRegisterSubscribers() {
+        SseEmitter first = cartEventStreamService.subscribe(1L);
+        SseEmitter second = cartEventStreamService.subscribe(1L);
+        cartEventStreamService.subscribe(2L);
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(cartEventStreamService.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando não há assinantes para mudança de preço")
+    void shouldSkipPriceLookupWithoutSubscribers() {
+        cartEventStreamService.onProductPriceChanged(new ProductPriceChangedEvent(List.of(
+                new ProductPriceChangedEvent.PriceChange(10L, BigDecimal.TEN, BigDecimal.ONE))));
+
+        verify(cartItemRepository, never()).findUserIdAndProductIdByProductIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar carrinhos afetados uma única vez por lote de preços")
+    void shouldLookupAffectedCartsOncePerBatch() {
+        cartEventStreamService.subscribe(1L);
+        when(cartItemRepository.findUserIdAndProductIdByProductIdIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+
+        cartEventStreamService.onProductPriceChanged(new ProductPriceChangedEvent(List.of(
+                new ProductPriceChangedEvent.PriceChange(10L, BigDecimal.TEN, BigDecimal.ONE),
+                new ProductPriceChangedEvent.PriceChange(20L, BigDecimal.TEN, BigDecimal.ONE))));
+        cartEventStreamService.onCartChanged(new CartChangedEvent(1L));
+
+        verify(cartItemRepository, times(1)).findUserIdAndProductIdByProductIdIn(any());
+        assertThat(cartEventStreamService.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve enviar ao assinante os eventos do carrinho com versão própria da conexão")
+    void shouldSendEventsWithPerConnectionVersion() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        subscribe(1L, first);
+        subscribe(2L, second);
+        when(cartItemRepository.findUserIdAndProductIdByProductIdIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+
+        cartEventStreamService.onCartChanged(new CartChangedEvent(1L));
+        cartEventStreamService.onCartChanged(new CartChangedEvent(2L));
+        cartEventStreamService.onProductPriceChanged(new ProductPriceChangedEvent(List.of(
+                new ProductPriceChangedEvent.PriceChange(10L, BigDecimal.TEN, BigDecimal.ONE))));
+        cartEventStreamService.onCartChanged(new CartChangedEvent(1L));
+
+        // connected (versão 0), cart-updated, price-changed e cart-updated, sem saltos
+        assertThat(first.awaitVersions(4)).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(first.payloads).filteredOn(PriceChangeResponse.class::isInstance).singleElement()
+                .satisfies(payload -> assertThat(((PriceChangeResponse) payload).getNewPrice())
+                        .isEqualByComparingTo(BigDecimal.ONE));
+        // Eventos de outro usuário não consomem versões deste
+        assertThat(second.awaitVersions(2)).containsExactly(0L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve entregar a cada conexão os eventos na ordem das versões mesmo com publicações concorrentes")
+    void shouldDeliverInVersionOrderUnderConcurrency() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        subscribe(1L, emitter);
+
+        try (ExecutorService publishers = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 200).forEach(i ->
+                    publishers.execute(() -> cartEventStreamService.onCartChanged(new CartChangedEvent(1L))));
+        }
+
+        assertThat(emitter.awaitVersions(201))
+                .containsExactlyElementsOf(IntStream.rangeClosed(0, 200).mapToObj(Long::valueOf).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recomeçar a versão em uma nova conexão e não guardar estado de quem desconectou")
+    void shouldRestartVersionOnReconnect() {
+        RecordingEmitter first = new RecordingEmitter();
+        subscribe(1L, first);
+        cartEventStreamService.onCartChanged(new CartChangedEvent(1L));
+        assertThat(first.awaitVersions(2)).containsExactly(0L, 1L);
+
+        first.completion.run();
+        assertThat(cartEventStreamService.getSubscriberCount()).isZero();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(cartEventStreamService, "subscribers")).isEmpty();
+
+        RecordingEmitter second = new RecordingEmitter();
+        subscribe(1L, second);
+        cartEventStreamService.onCartChanged(new CartChangedEvent(1L));
+        assertThat(second.awaitVersions(2)).containsExactly(0L, 1L);
+    }
+
+    // O overload que recebe o emitter é interno ao pacote do serviço
+    private void subscribe(Long userId, SseEmitter emitter) {
+        ReflectionTestUtils.invokeMethod(cartEventStreamService, "subscribe", userId, emitter);
+    }
+
+    // Guarda os objetos enviados em vez de escrever na resposta HTTP
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private Runnable completion;
+
+        // Sem servlet por trás, o callback de conclusão é disparado pelo próprio teste
+        @Override
+        public void onCompletion(Runnable callback) {
+            this.completion = callback;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String))
+                    .forEach(payloads::add);
+        }
+
+        private List<Long> awaitVersions(int count) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (payloads.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            return payloads.stream()
+                    .map(payload -> payload instanceof PriceChangeResponse price
+                            ? price.getVersion()
+                            : ((CartVersionResponse) payload).getVersion())
+                    .toList();
+        }
+    }
+}
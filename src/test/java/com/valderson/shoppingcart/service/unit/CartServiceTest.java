@@ -3,8 +3,15 @@ package com.valderson.shoppingcart.service.unit;
 import com.valderson.shoppingcart.dto.request.AddToCartRequest;
 import com.valderson.shoppingcart.dto.response.CartResponse;
 import com.valderson.shoppingcart.entity.*;
+import com.valderson.shoppingcart.enums.CouponType;
+import com.valderson.shoppingcart.event.CartChangedEvent;
 import com.valderson.shoppingcart.repository.*;
 import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.InventoryService;
+import com.valderson.shoppingcart.service.PromotionCatalog;
+import com.valderson.shoppingcart.service.PromotionRule;
+import com.valderson.shoppingcart.service.ExchangeRateService;
+import com.valderson.shoppingcart.service.TrendingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -33,6 +41,11 @@ class CartServiceTest {
     @Mock private CartItemRepository cartItemRepository;
     @Mock private ProductRepository productRepository;
     @Mock private UserRepository userRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private InventoryService inventoryService;
+    @Mock private PromotionCatalog promotionCatalog;
+    @Mock private TrendingService trendingService;
+    @Mock private ExchangeRateService exchangeRateService;
 
     @InjectMocks
     private CartService cartService;
@@ -85,6 +98,7 @@ class CartServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getItems()).hasSize(1);
         assertThat(response.getItems().get(0).getQuantity()).isEqualTo(quantity);
+        verify(trendingService).recordAddToCart(productId, quantity);
     }
 
     @ParameterizedTest
@@ -131,6 +145,48 @@ class CartServiceTest {
         assertThat(response.getItems()).noneMatch(i -> i.getProductId().equals(productId));
     }
 
+    @Test
+    @DisplayName("Deve publicar evento de alteração ao modificar o carrinho")
+    void shouldPublishCartChangedEventOnMutations() {
+        Product product = Product.builder().id(10L).price(BigDecimal.TEN).build();
+        when(productRepository.findById(10L)).thenReturn(Optional.of(product));
+
+        cartService.addItemToCart(1L, AddToCartRequest.builder().productId(10L).quantity(1).build());
+        cartService.removeItemFromCart(1L, 10L);
+        cartService.clearCart(1L);
+
+        verify(eventPublisher, times(3)).publishEvent(new CartChangedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar cupom e descontar no total do carrinho")
+    void shouldApplyCouponDiscount() {
+        Product product = Product.builder().id(10L).price(BigDecimal.TEN).build();
+        when(productRepository.findById(10L)).thenReturn(Optional.of(product));
+        PromotionRule promotion = PromotionRule.compile(Coupon.builder()
+                .id(5L).code("DEZ").type(CouponType.PERCENTAGE).value(BigDecimal.TEN).build());
+        when(promotionCatalog.find("dez")).thenReturn(Optional.of(promotion));
+        when(promotionCatalog.find("DEZ")).thenReturn(Optional.of(promotion));
+
+        cartService.addItemToCart(1L, AddToCartRequest.builder().productId(10L).quantity(3).build());
+        CartResponse cart = cartService.applyCoupon(1L, "dez");
+
+        assertThat(cart.getCouponCode()).isEqualTo("DEZ");
+        assertThat(cart.getDiscountAmount()).isEqualByComparingTo("3.00");
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("27.00");
+        assertThat(cartService.getCartTotal(1L)).isEqualByComparingTo("27.00");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao aplicar cupom inexistente")
+    void shouldRejectUnknownCoupon() {
+        when(promotionCatalog.find("NADA")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cartService.applyCoupon(1L, "NADA"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cupom inválido");
+    }
+
     @ParameterizedTest
     @CsvSource({ "999", "888", "777" })
     @DisplayName("Deve lançar exceção se produto não for encontrado")
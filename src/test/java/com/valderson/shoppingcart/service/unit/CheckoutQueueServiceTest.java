@@ -0,0 +1,164 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.CheckoutQueueConfig;
+import com.valderson.shoppingcart.config.FlashSaleConfig;
+import com.valderson.shoppingcart.dto.response.CheckoutTicketResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.enums.CheckoutTicketStatus;
+import com.valderson.shoppingcart.repository.CartItemRepository;
+import com.valderson.shoppingcart.service.CheckoutQueueService;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import com.valderson.shoppingcart.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CheckoutQueueService - Testes Unitários")
+class CheckoutQueueServiceTest {
+
+    private OrderService orderService;
+    private CheckoutQueueConfig checkoutQueueConfig;
+    private CheckoutQueueService checkoutQueueService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        checkoutQueueConfig = new CheckoutQueueConfig();
+        checkoutQueueConfig.setCapacity(2);
+        FlashSaleService flashSaleService =
+                new FlashSaleService(new FlashSaleConfig(), mock(CartItemRepository.class), new SimpleMeterRegistry());
+        checkoutQueueService = new CheckoutQueueService(orderService, checkoutQueueConfig, flashSaleService,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkoutQueueService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve processar o ticket e devolver o pedido na consulta de status")
+    void shouldCompleteTicketWithOrder() {
+        OrderResponse order = OrderResponse.builder().id(10L).userId(1L).build();
+        when(orderService.createOrder(1L)).thenReturn(order);
+
+        CheckoutTicketResponse ticket = checkoutQueueService.submit(1L);
+
+        CheckoutTicketResponse finished = awaitFinished(1L, ticket.getTicketId());
+        assertThat(finished.getStatus()).isEqualTo(CheckoutTicketStatus.COMPLETED);
+        assertThat(finished.getOrder()).isSameAs(order);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha do checkout no ticket")
+    void shouldRecordFailure() {
+        when(orderService.createOrder(1L)).thenThrow(new RuntimeException("Carrinho está vazio"));
+
+        CheckoutTicketResponse ticket = checkoutQueueService.submit(1L);
+
+        CheckoutTicketResponse finished = awaitFinished(1L, ticket.getTicketId());
+        assertThat(finished.getStatus()).isEqualTo(CheckoutTicketStatus.FAILED);
+        assertThat(finished.getError()).isEqualTo("Carrinho está vazio");
+    }
+
+    @Test
+    @DisplayName("Deve encerrar o ticket como falho quando o checkout lança Error")
+    void shouldFailTicketOnError() {
+        when(orderService.createOrder(1L)).thenThrow(new StackOverflowError());
+
+        CheckoutTicketResponse ticket = checkoutQueueService.submit(1L);
+
+        CheckoutTicketResponse finished = awaitFinished(1L, ticket.getTicketId());
+        assertThat(finished.getStatus()).isEqualTo(CheckoutTicketStatus.FAILED);
+        assertThat(finished.getError()).isEqualTo("Falha inesperada no checkout");
+
+        // O ticket encerrado sai na limpeza e a fila do usuário continua atendendo
+        checkoutQueueConfig.setTicketTtl(-1);
+        checkoutQueueService.purgeFinishedTickets();
+        assertThatThrownBy(() -> checkoutQueueService.getTicket(1L, ticket.getTicketId()))
+                .hasMessage("Ticket não encontrado");
+
+        doReturn(OrderResponse.builder().id(2L).build()).when(orderService).createOrder(1L);
+        CheckoutTicketResponse next = checkoutQueueService.submit(1L);
+        assertThat(awaitFinished(1L, next.getTicketId()).getStatus()).isEqualTo(CheckoutTicketStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 503 quando a fila estiver cheia")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return OrderResponse.builder().id(1L).build();
+        });
+
+        checkoutQueueService.submit(1L);
+        started.await(5, TimeUnit.SECONDS);
+        checkoutQueueService.submit(1L);
+        checkoutQueueService.submit(1L);
+
+        assertThatThrownBy(() -> checkoutQueueService.submit(1L))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve processar os tickets de um usuário na ordem de chegada")
+    void shouldProcessTicketsInOrderPerUser() {
+        checkoutQueueConfig.setCapacity(100);
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        when(orderService.createOrder(anyLong())).thenAnswer(invocation -> {
+            Long userId = invocation.getArgument(0);
+            processed.add(userId);
+            return OrderResponse.builder().userId(userId).build();
+        });
+
+        CheckoutTicketResponse last = null;
+        for (int i = 0; i < 20; i++) {
+            last = checkoutQueueService.submit(7L);
+        }
+
+        awaitFinished(7L, last.getTicketId());
+        assertThat(processed).hasSize(20).containsOnly(7L);
+    }
+
+    @Test
+    @DisplayName("Não deve expor ticket de outro usuário")
+    void shouldHideTicketFromOtherUser() {
+        when(orderService.createOrder(1L)).thenReturn(OrderResponse.builder().build());
+        CheckoutTicketResponse ticket = checkoutQueueService.submit(1L);
+
+        assertThatThrownBy(() -> checkoutQueueService.getTicket(2L, ticket.getTicketId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Ticket não encontrado");
+    }
+
+    private CheckoutTicketResponse awaitFinished(Long userId, String ticketId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        CheckoutTicketResponse ticket = checkoutQueueService.getTicket(userId, ticketId);
+        while (ticket.getStatus() != CheckoutTicketStatus.COMPLETED
+                && ticket.getStatus() != CheckoutTicketStatus.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            ticket = checkoutQueueService.getTicket(userId, ticketId);
+        }
+        return ticket;
+    }
+}
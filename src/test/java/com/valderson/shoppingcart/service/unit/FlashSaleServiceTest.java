@@ -0,0 +1,114 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.FlashSaleConfig;
+import com.valderson.shoppingcart.repository.CartItemRepository;
+import com.valderson.shoppingcart.service.FlashSaleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FlashSaleService - Testes Unitários")
+class FlashSaleServiceTest {
+
+    private FlashSaleConfig flashSaleConfig;
+    private CartItemRepository cartItemRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private FlashSaleService flashSaleService;
+
+    @BeforeEach
+    void setUp() {
+        flashSaleConfig = new FlashSaleConfig();
+        flashSaleConfig.setRatePerSecond(1000);
+        cartItemRepository = mock(CartItemRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        flashSaleService = new FlashSaleService(flashSaleConfig, cartItemRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve executar direto quando o produto não está em flash sale")
+    void shouldPassThroughWhenDisabled() {
+        assertThat(flashSaleService.admit(10L, () -> "ok")).isEqualTo("ok");
+        assertThat(meterRegistry.find("flash.sale.admitted").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 na hora quando a fila do produto estiver cheia")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        flashSaleConfig.setMaxConcurrent(1);
+        flashSaleConfig.setQueueCapacity(1);
+        flashSaleConfig.setMaxWait(5000);
+        flashSaleService.enable(10L);
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        Future<String> first = executor.submit(() -> flashSaleService.admit(10L, () -> {
+            running.countDown();
+            await(release);
+            return "primeiro";
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        Future<String> second = executor.submit(() -> flashSaleService.admit(10L, () -> "segundo"));
+        // Aguarda o segundo ocupar a única vaga da fila
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> flashSaleService.admit(10L, () -> "terceiro"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("primeiro");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("segundo");
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando a taxa de admissão não permitir atender dentro do tempo máximo")
+    void shouldRejectAboveRate() {
+        flashSaleConfig.setRatePerSecond(1);
+        flashSaleConfig.setMaxWait(100);
+        flashSaleService.enable(10L);
+
+        assertThat(flashSaleService.admit(10L, () -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> flashSaleService.admit(10L, () -> "ok"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(meterRegistry.get("flash.sale.rejected").tag("product", "10").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o carrinho no checkout apenas quando há flash sale ativa")
+    void shouldCheckCartProductsOnlyWhenSaleIsActive() {
+        assertThat(flashSaleService.admitCheckout(1L, () -> "pedido")).isEqualTo("pedido");
+        verifyNoInteractions(cartItemRepository);
+
+        flashSaleService.enable(20L);
+        when(cartItemRepository.findProductIdsByUserId(1L)).thenReturn(List.of(10L, 20L));
+
+        assertThat(flashSaleService.admitCheckout(1L, () -> "pedido")).isEqualTo("pedido");
+        assertThat(meterRegistry.get("flash.sale.admitted").tag("product", "20").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("flash.sale.admitted").tag("product", "10").counter()).isNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.IdempotencyConfig;
+import com.valderson.shoppingcart.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyService - Testes Unitários")
+class IdempotencyServiceTest {
+
+    private IdempotencyConfig idempotencyConfig;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyConfig = new IdempotencyConfig();
+        idempotencyService = new IdempotencyService(idempotencyConfig);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado guardado em repetições com a mesma chave")
+    void shouldReturnStoredResultForRepeatedKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = idempotencyService.execute("orders:1:abc", () -> "pedido-" + executions.incrementAndGet());
+        String second = idempotencyService.execute("orders:1:abc", () -> "pedido-" + executions.incrementAndGet());
+        String other = idempotencyService.execute("orders:1:xyz", () -> "pedido-" + executions.incrementAndGet());
+
+        assertThat(first).isEqualTo("pedido-1");
+        assertThat(second).isEqualTo("pedido-1");
+        assertThat(other).isEqualTo("pedido-2");
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a execução em andamento em vez de executar de novo")
+    void shouldWaitForInFlightExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Integer> first = executor.submit(() -> idempotencyService.execute("orders:1:abc", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return executions.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        Future<Integer> retry = executor.submit(() ->
+                idempotencyService.execute("orders:1:abc", executions::incrementAndGet));
+        Thread.sleep(50);
+        assertThat(retry.isDone()).isFalse();
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(executions.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve permitir nova tentativa após falha")
+    void shouldAllowRetryAfterFailure() {
+        assertThatThrownBy(() -> idempotencyService.execute("orders:1:abc", () -> {
+            throw new RuntimeException("Carrinho está vazio");
+        })).hasMessage("Carrinho está vazio");
+
+        String result = idempotencyService.execute("orders:1:abc", () -> "pedido");
+
+        assertThat(result).isEqualTo("pedido");
+    }
+
+    @Test
+    @DisplayName("Deve descartar chaves expiradas")
+    void shouldPurgeExpiredKeys() {
+        idempotencyConfig.setTtl(0);
+        idempotencyService.execute("orders:1:abc", () -> "pedido");
+
+        idempotencyService.purgeExpired();
+
+        assertThat(idempotencyService.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve recusar chaves novas quando o limite de chaves é atingido")
+    void shouldRejectNewKeysWhenFull() {
+        idempotencyConfig.setMaxEntries(1);
+        idempotencyService.execute("orders:1:abc", () -> "pedido");
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders:1:xyz", () -> "outro"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Muitas requisições");
+        assertThat(idempotencyService.execute("orders:1:abc", () -> "outro")).isEqualTo("pedido");
+        assertThat(idempotencyService.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a ação falha com Error")
+    void shouldReleaseKeyOnError() {
+        assertThatThrownBy(() -> idempotencyService.execute("orders:1:abc", () -> {
+            throw new AssertionError("falha");
+        })).isInstanceOf(AssertionError.class);
+
+        assertThat(idempotencyService.size()).isZero();
+        assertThat(idempotencyService.execute("orders:1:abc", () -> "pedido")).isEqualTo("pedido");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
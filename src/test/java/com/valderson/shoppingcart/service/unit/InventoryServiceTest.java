@@ -0,0 +1,206 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.InventoryConfig;
+import com.valderson.shoppingcart.dto.projection.CheckoutLine;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.entity.ProductStock;
+import com.valderson.shoppingcart.entity.StockReservation;
+import com.valderson.shoppingcart.entity.User;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.repository.ProductStockRepository;
+import com.valderson.shoppingcart.repository.StockReservationRepository;
+import com.valderson.shoppingcart.repository.UserRepository;
+import com.valderson.shoppingcart.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("InventoryService - Testes Unitários")
+class InventoryServiceTest {
+
+    @Mock private ProductStockRepository productStockRepository;
+    @Mock private StockReservationRepository stockReservationRepository;
+    @Mock private ProductRepository productRepository;
+    @Mock private UserRepository userRepository;
+
+    private final Product trackedProduct = Product.builder().id(10L).stockTracked(true).build();
+
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryService(productStockRepository, stockReservationRepository, productRepository,
+                userRepository, new InventoryConfig());
+        when(stockReservationRepository.findByUserIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(User.builder().id(1L).build()));
+    }
+
+    @Test
+    @DisplayName("Deve reservar do shard reivindicado sem travar os demais")
+    void shouldReserveFromClaimedShardWithoutLocking() {
+        when(productStockRepository.claimShardWithQuantity(eq(10L), eq(2), any())).thenReturn(List.of(5));
+
+        inventoryService.reserve(1L, trackedProduct, 2);
+
+        verify(productStockRepository, times(1)).takeFromShard(10L, 5, 2);
+        verify(productStockRepository, never()).findShardQuantitiesForUpdate(anyLong());
+        verify(stockReservationRepository).save(any(StockReservation.class));
+    }
+
+    @Test
+    @DisplayName("Deve travar o usuário antes de retirar do estoque e gravar a reserva")
+    void shouldLockUserBeforeTakingStock() {
+        when(productStockRepository.claimShardWithQuantity(eq(10L), eq(2), any())).thenReturn(List.of(5));
+
+        inventoryService.reserve(1L, trackedProduct, 2);
+
+        InOrder inOrder = inOrder(userRepository, productStockRepository, stockReservationRepository);
+        inOrder.verify(userRepository).findByIdForUpdate(1L);
+        inOrder.verify(productStockRepository).takeFromShard(10L, 5, 2);
+        inOrder.verify(stockReservationRepository).findByUserIdAndProductId(1L, 10L);
+        inOrder.verify(stockReservationRepository).save(any(StockReservation.class));
+    }
+
+    @Test
+    @DisplayName("Deve distribuir nos shards só o que não está reservado em carrinhos")
+    void shouldSubtractReservedUnitsOnSetStock() {
+        when(stockReservationRepository.sumQuantityByProductId(10L)).thenReturn(4L);
+
+        inventoryService.setStock(10L, 21);
+
+        InOrder inOrder = inOrder(productStockRepository, stockReservationRepository);
+        inOrder.verify(productStockRepository).findShardQuantitiesForUpdate(10L);
+        inOrder.verify(stockReservationRepository).sumQuantityByProductId(10L);
+        inOrder.verify(productStockRepository).deleteByProductId(10L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductStock>> rows = ArgumentCaptor.forClass(List.class);
+        verify(productStockRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(ProductStock::getQuantity).containsExactly(3, 2, 2, 2, 2, 2, 2, 2);
+    }
+
+    @Test
+    @DisplayName("Deve travar os shards e reservar do primeiro com saldo quando nenhum shard livre basta")
+    void shouldFallBackToFirstShardWithStock() {
+        when(productStockRepository.findShardQuantitiesForUpdate(10L)).thenReturn(List.of(
+                new Object[]{0, 0}, new Object[]{1, 5}, new Object[]{2, 5}));
+
+        inventoryService.reserve(1L, trackedProduct, 2);
+
+        InOrder inOrder = inOrder(productStockRepository);
+        inOrder.verify(productStockRepository).claimShardWithQuantity(eq(10L), eq(2), any());
+        inOrder.verify(productStockRepository).findShardQuantitiesForUpdate(10L);
+        inOrder.verify(productStockRepository).takeFromShard(10L, 1, 2);
+        inOrder.verifyNoMoreInteractions();
+        ArgumentCaptor<StockReservation> saved = ArgumentCaptor.forClass(StockReservation.class);
+        verify(stockReservationRepository).save(saved.capture());
+        assertThat(saved.getValue().getQuantity()).isEqualTo(2);
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve retirar o saldo de vários shards quando um só não basta")
+    void shouldSpreadReservationAcrossShards() {
+        when(productStockRepository.findShardQuantitiesForUpdate(10L)).thenReturn(List.of(
+                new Object[]{0, 2}, new Object[]{1, 0}, new Object[]{2, 4}));
+
+        inventoryService.reserve(1L, trackedProduct, 5);
+
+        verify(productStockRepository).takeFromShard(10L, 0, 2);
+        verify(productStockRepository).takeFromShard(10L, 2, 3);
+        verify(stockReservationRepository).save(any(StockReservation.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva quando o estoque total é insuficiente")
+    void shouldRejectWhenStockIsInsufficient() {
+        when(productStockRepository.findShardQuantitiesForUpdate(10L)).thenReturn(List.<Object[]>of(new Object[]{0, 1}));
+
+        assertThatThrownBy(() -> inventoryService.reserve(1L, trackedProduct, 3))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Estoque insuficiente");
+        verify(stockReservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o estoque de produto sem estoque controlado")
+    void shouldIgnoreUntrackedProducts() {
+        inventoryService.reserve(1L, Product.builder().id(10L).build(), 100);
+
+        verifyNoInteractions(productStockRepository);
+        verify(stockReservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Não deve tocar no estoque no checkout de produto sem estoque controlado")
+    void shouldSkipUntrackedProductsOnCheckout() {
+        when(stockReservationRepository.findByUserIdForUpdate(1L)).thenReturn(List.of());
+
+        inventoryService.commitReservations(1L, List.of(
+                new CheckoutLine(10L, "Produto", BigDecimal.TEN, 5, false)));
+
+        verifyNoInteractions(productStockRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retirar no checkout apenas o que não estava reservado")
+    void shouldTakeOnlyMissingQuantityOnCheckout() {
+        StockReservation reservation = StockReservation.builder()
+                .id(1L).userId(1L).productId(10L).quantity(2).build();
+        when(stockReservationRepository.findByUserIdForUpdate(1L)).thenReturn(List.of(reservation));
+        when(productStockRepository.claimShardWithQuantity(eq(10L), eq(3), any())).thenReturn(List.of(0));
+
+        inventoryService.commitReservations(1L, List.of(
+                new CheckoutLine(10L, "Produto", BigDecimal.TEN, 5, true)));
+
+        verify(productStockRepository, times(1)).takeFromShard(10L, 0, 3);
+        verify(stockReservationRepository).deleteAllInBatch(List.of(reservation));
+    }
+
+    @Test
+    @DisplayName("Deve devolver ao estoque as reservas expiradas")
+    void shouldReleaseExpiredReservations() {
+        StockReservation expired = StockReservation.builder()
+                .id(1L).userId(1L).productId(10L).quantity(4).build();
+        when(stockReservationRepository.claimExpired(any(LocalDateTime.class), any())).thenReturn(List.of(expired));
+        when(productStockRepository.returnToShard(eq(10L), anyInt(), eq(4))).thenReturn(1);
+        when(productRepository.findStockTrackedIdsByIdIn(List.of(10L))).thenReturn(List.of(10L));
+
+        inventoryService.releaseExpiredReservations();
+
+        verify(productStockRepository).returnToShard(eq(10L), anyInt(), eq(4));
+        verify(stockReservationRepository).deleteAllInBatch(List.of(expired));
+    }
+
+    @Test
+    @DisplayName("Não deve devolver ao estoque itens de produto sem estoque controlado")
+    void shouldSkipUntrackedProductsOnRestock() {
+        when(productRepository.findStockTrackedIdsByIdIn(List.of(10L, 20L))).thenReturn(List.of(20L));
+        when(productStockRepository.returnToShard(eq(20L), anyInt(), eq(1))).thenReturn(1);
+
+        inventoryService.restock(List.of(
+                OrderItemResponse.builder().productId(10L).quantity(3).build(),
+                OrderItemResponse.builder().productId(20L).quantity(1).build()));
+
+        verify(productStockRepository, never()).returnToShard(eq(10L), anyInt(), anyInt());
+        verify(productStockRepository).returnToShard(eq(20L), anyInt(), eq(1));
+    }
+}
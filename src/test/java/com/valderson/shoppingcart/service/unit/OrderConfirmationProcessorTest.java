@@ -0,0 +1,110 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.OrderProcessorConfig;
+import com.valderson.shoppingcart.enums.OrderStatus;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import com.valderson.shoppingcart.service.OrderConfirmationProcessor;
+import com.valderson.shoppingcart.service.OrderConfirmationStep;
+import com.valderson.shoppingcart.service.OrderHistoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrderConfirmationProcessor - Testes Unitários")
+class OrderConfirmationProcessorTest {
+
+    private OrderRepository orderRepository;
+    private OrderHistoryService orderHistoryService;
+    private OrderConfirmationStep step;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderConfirmationProcessor processor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderHistoryService = mock(OrderHistoryService.class);
+        step = mock(OrderConfirmationStep.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ObjectProvider<OrderConfirmationStep> steps = mock(ObjectProvider.class);
+        when(steps.orderedStream()).thenAnswer(invocation -> Stream.of(step));
+
+        OrderProcessorConfig config = new OrderProcessorConfig();
+        config.setBatchSize(2);
+        config.setParallelism(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new OrderConfirmationProcessor(orderRepository, orderHistoryService, steps,
+                config, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve confirmar lotes até encontrar um lote incompleto")
+    void shouldConfirmBatchesUntilDrained() {
+        when(orderRepository.claimIdsByStatus(eq(OrderStatus.PENDING), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(orderRepository.updateStatusIfCurrent(anyList(), eq(OrderStatus.PENDING),
+                eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int confirmed = processor.processPending();
+
+        assertThat(confirmed).isEqualTo(3);
+        verify(step).process(List.of(1L, 2L));
+        verify(step).process(List.of(3L));
+        verify(orderHistoryService).updateStatus(List.of(1L, 2L), OrderStatus.CONFIRMED);
+        verify(orderHistoryService).updateStatus(List.of(3L), OrderStatus.CONFIRMED);
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.get("orders.confirmation.confirmed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o lote quando uma etapa de confirmação falhar")
+    void shouldRollbackBatchWhenStepFails() {
+        when(orderRepository.claimIdsByStatus(eq(OrderStatus.PENDING), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L));
+        doThrow(new RuntimeException("Pagamento recusado")).when(step).process(anyList());
+
+        int confirmed = processor.processPending();
+
+        assertThat(confirmed).isZero();
+        verify(orderRepository, never()).updateStatusIfCurrent(anyList(), any(), any(), any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("orders.confirmation.failed.batches").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve medir o atraso do pedido pendente mais antigo")
+    void shouldReportLagOfOldestPendingOrder() {
+        when(orderRepository.claimIdsByStatus(eq(OrderStatus.PENDING), any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+        when(orderRepository.findOldestCreatedAtByStatus(OrderStatus.PENDING))
+                .thenReturn(LocalDateTime.now().minusMinutes(2));
+
+        processor.processPending();
+
+        assertThat(meterRegistry.get("orders.confirmation.lag").gauge().value()).isBetween(119.0, 121.0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.OutboxConfig;
+import com.valderson.shoppingcart.entity.OutboxEvent;
+import com.valderson.shoppingcart.enums.OrderEventType;
+import com.valderson.shoppingcart.event.OrderEvent;
+import com.valderson.shoppingcart.repository.OutboxEventRepository;
+import com.valderson.shoppingcart.service.OrderEventSink;
+import com.valderson.shoppingcart.service.OrderOutboxDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrderOutboxDispatcher - Testes Unitários")
+class OrderOutboxDispatcherTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private OrderEventSink sink;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        sink = mock(OrderEventSink.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ObjectProvider<OrderEventSink> sinks = mock(ObjectProvider.class);
+        when(sinks.orderedStream()).thenAnswer(invocation -> Stream.of(sink));
+
+        OutboxConfig config = new OutboxConfig();
+        config.setBatchSize(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new OrderOutboxDispatcher(outboxEventRepository, sinks, config, transactionManager,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve entregar lotes e marcá-los como enviados até esvaziar o outbox")
+    void shouldDispatchBatchesUntilDrained() {
+        when(outboxEventRepository.claimPending(any(Limit.class)))
+                .thenReturn(List.of(event(1L, 10L), event(2L, 11L)))
+                .thenReturn(List.of(event(3L, 10L)))
+                .thenReturn(List.of());
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(3);
+        verify(sink, times(2)).publish(anyList());
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markSent(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get("outbox.dispatched").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve converter o registro do outbox no evento publicado")
+    @SuppressWarnings("unchecked")
+    void shouldPublishOrderEvents() {
+        when(outboxEventRepository.claimPending(any(Limit.class)))
+                .thenReturn(List.of(event(1L, 10L)))
+                .thenReturn(List.of());
+
+        dispatcher.dispatchPending();
+
+        verify(sink).publish(argThat(events -> {
+            OrderEvent event = ((List<OrderEvent>) events).get(0);
+            return event.eventId().equals(1L)
+                    && event.orderId().equals(10L)
+                    && event.type() == OrderEventType.ORDER_CREATED
+                    && event.payload().equals("{}");
+        }));
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote pendente quando um destino falhar")
+    void shouldKeepBatchPendingWhenSinkFails() {
+        when(outboxEventRepository.claimPending(any(Limit.class))).thenReturn(List.of(event(1L, 10L)));
+        doThrow(new RuntimeException("Destino indisponível")).when(sink).publish(anyList());
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertThat(dispatched).isZero();
+        verify(outboxEventRepository, never()).markSent(anyList(), any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("outbox.failed.batches").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve medir a idade do evento pendente mais antigo")
+    void shouldReportLagOfOldestPendingEvent() {
+        when(outboxEventRepository.claimPending(any(Limit.class))).thenReturn(List.of());
+        when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+
+        dispatcher.dispatchPending();
+
+        assertThat(meterRegistry.get("outbox.dispatch.lag").gauge().value()).isBetween(29.0, 31.0);
+    }
+
+    private OutboxEvent event(Long id, Long orderId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .orderId(orderId)
+                .userId(1L)
+                .eventType(OrderEventType.ORDER_CREATED)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,10 +1,25 @@
 package com.valderson.shoppingcart.service.unit;
 
+import com.valderson.shoppingcart.dto.projection.CheckoutLine;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderPageResponse;
 import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.OrderSummaryResponse;
 import com.valderson.shoppingcart.entity.*;
+import com.valderson.shoppingcart.enums.OrderEventType;
 import com.valderson.shoppingcart.enums.OrderStatus;
 import com.valderson.shoppingcart.repository.*;
 import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.InventoryService;
+import com.valderson.shoppingcart.service.OrderArchiveReader;
+import com.valderson.shoppingcart.service.PromotionCatalog;
+import com.valderson.shoppingcart.service.PromotionRule;
+import com.valderson.shoppingcart.service.ExchangeRateService;
+import com.valderson.shoppingcart.service.RecommendationService;
+import com.valderson.shoppingcart.service.SalesRollupService;
+import com.valderson.shoppingcart.service.TrendingService;
+import com.valderson.shoppingcart.service.OrderHistoryService;
+import com.valderson.shoppingcart.service.OrderOutboxService;
 import com.valderson.shoppingcart.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,10 +31,12 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +53,16 @@ class OrderServiceTest {
     @Mock private ProductRepository productRepository;
     @Mock private UserRepository userRepository;
     @Mock private CartService cartService;
+    @Mock private OrderHistoryService orderHistoryService;
+    @Mock private InventoryService inventoryService;
+    @Mock private PromotionCatalog promotionCatalog;
+    @Mock private CouponRepository couponRepository;
+    @Mock private OrderOutboxService orderOutboxService;
+    @Mock private OrderArchiveReader orderArchiveReader;
+    @Mock private SalesRollupService salesRollupService;
+    @Mock private TrendingService trendingService;
+    @Mock private RecommendationService recommendationService;
+    @Mock private ExchangeRateService exchangeRateService;
 
     @InjectMocks
     private OrderService orderService;
@@ -77,20 +104,7 @@ class OrderServiceTest {
         BigDecimal unitPrice = new BigDecimal(unitPriceStr);
         BigDecimal expectedTotal = new BigDecimal(expectedTotalStr);
 
-        Product p = Product.builder()
-                .id(1L)
-                .name("Produto Teste")
-                .price(unitPrice)
-                .build();
-
-        CartItem item = CartItem.builder()
-                .id(1L)
-                .product(p)
-                .quantity(quantity)
-                .build();
-
-        cart.setCartItems(List.of(item));
-        user.setShoppingCart(cart);
+        CheckoutLine line = new CheckoutLine(1L, "Produto Teste", unitPrice, quantity, false);
 
         Order savedOrder = Order.builder()
                 .id(100L)
@@ -100,7 +114,9 @@ class OrderServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(cartItemRepository.findCheckoutLinesByUserId(1L)).thenReturn(List.of(line));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         when(orderItemRepository.saveAll(anyList())).thenReturn(null);
 
@@ -113,8 +129,14 @@ class OrderServiceTest {
         assertThat(response.getTotalAmount()).isEqualByComparingTo(expectedTotal);
         assertThat(response.getItems()).hasSize(1);
         assertThat(response.getItems().get(0).getQuantity()).isEqualTo(quantity);
-
-        verify(cartService).clearCart(1L);
+        assertThat(response.getItems().get(0).getSubtotal()).isEqualByComparingTo(expectedTotal);
+
+        verify(cartService).clearCartItems(1L);
+        verify(orderOutboxService).append(OrderEventType.ORDER_CREATED, response);
+        verify(salesRollupService).recordCreated(response);
+        verify(trendingService).recordCheckout(response);
+        verify(recommendationService).recordOrder(response);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     // ---- testes não modificados abaixo ----
@@ -122,7 +144,8 @@ class OrderServiceTest {
     @Test
     @DisplayName("Deve lançar exceção se usuário não existir ao criar pedido")
     void shouldThrowIfUserNotFound() {
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(cartItemRepository.findCheckoutLinesByUserId(99L)).thenReturn(List.of());
+        when(userRepository.existsById(99L)).thenReturn(false);
 
         assertThatThrownBy(() -> orderService.createOrder(99L))
                 .isInstanceOf(RuntimeException.class)
@@ -132,8 +155,8 @@ class OrderServiceTest {
     @Test
     @DisplayName("Deve lançar exceção se carrinho estiver vazio")
     void shouldThrowIfCartIsEmpty() {
-        cart.setCartItems(new ArrayList<>());
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(cartItemRepository.findCheckoutLinesByUserId(1L)).thenReturn(List.of());
+        when(userRepository.existsById(1L)).thenReturn(true);
 
         assertThatThrownBy(() -> orderService.createOrder(1L))
                 .isInstanceOf(RuntimeException.class)
@@ -141,63 +164,94 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Deve buscar pedidos do usuário")
+    @DisplayName("Deve buscar pedidos do usuário no histórico")
     void shouldGetUserOrders() {
-        Order order = Order.builder()
+        OrderResponse order = OrderResponse.builder()
                 .id(10L)
-                .user(user)
+                .userId(1L)
                 .status(OrderStatus.PENDING)
                 .totalAmount(BigDecimal.TEN)
-                .orderItems(List.of(
-                        OrderItem.builder()
-                                .id(1L)
-                                .order(null)
-                                .product(product)
-                                .productName(product.getName())
-                                .productPrice(product.getPrice())
-                                .quantity(1)
-                                .subtotal(product.getPrice())
-                                .build()
-                ))
+                .items(List.of(OrderItemResponse.builder()
+                        .id(1L)
+                        .productId(product.getId())
+                        .productName(product.getName())
+                        .productPrice(product.getPrice())
+                        .quantity(1)
+                        .subtotal(product.getPrice())
+                        .build()))
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        user.setOrders(List.of(order));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(orderHistoryService.findUserOrders(1L)).thenReturn(List.of(order));
 
         List<OrderResponse> responses = orderService.getUserOrders(1L);
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).getItems()).hasSize(1);
         assertThat(responses.get(0).getTotalAmount()).isEqualByComparingTo("10.00");
+        verifyNoInteractions(orderRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve incluir pedidos arquivados em ordem decrescente de criação quando solicitado")
+    void shouldMergeArchivedOrdersWhenRequested() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderResponse recent = OrderResponse.builder().id(30L).userId(1L).createdAt(now).build();
+        OrderResponse archivedNewer = OrderResponse.builder().id(20L).userId(1L).createdAt(now.minusYears(1)).build();
+        OrderResponse archivedOlder = OrderResponse.builder().id(10L).userId(1L).createdAt(now.minusYears(2)).build();
+
+        when(orderHistoryService.findUserOrders(1L)).thenReturn(List.of(recent));
+        when(orderArchiveReader.findUserOrders(1L)).thenReturn(Stream.of(archivedOlder, archivedNewer));
+
+        assertThat(orderService.getUserOrders(1L, false)).containsExactly(recent);
+        assertThat(orderService.getUserOrders(1L, true)).containsExactly(recent, archivedNewer, archivedOlder);
+        verify(orderArchiveReader, times(1)).findUserOrders(1L);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar pedidos de usuário inexistente")
+    void shouldThrowWhenGettingOrdersOfUnknownUser() {
+        when(orderHistoryService.findUserOrders(99L)).thenReturn(List.of());
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.getUserOrders(99L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Usuário não encontrado");
     }
 
     @Test
     @DisplayName("Deve cancelar pedido com sucesso")
     void shouldCancelOrderSuccessfully() {
-        Order order = Order.builder()
+        OrderResponse history = OrderResponse.builder()
                 .id(123L)
-                .user(user)
-                .status(OrderStatus.PENDING)
-                .orderItems(List.of(
-                        OrderItem.builder()
-                                .id(1L)
-                                .product(product)
-                                .productName("Produto Teste")
-                                .productPrice(BigDecimal.TEN)
-                                .quantity(1)
-                                .subtotal(BigDecimal.TEN)
-                                .build()
-                ))
+                .userId(1L)
+                .status(OrderStatus.CANCELLED)
                 .totalAmount(BigDecimal.TEN)
                 .build();
 
-        when(orderRepository.findById(123L)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(orderRepository.updateStatusIfCurrent(eq(123L), eq(1L), eq(OrderStatus.PENDING),
+                eq(OrderStatus.CANCELLED), any(LocalDateTime.class))).thenReturn(1);
+        when(orderHistoryService.findOrder(123L)).thenReturn(Optional.of(history));
 
         OrderResponse response = orderService.cancelOrder(1L, 123L);
 
         assertThat(response.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(orderHistoryService).updateStatus(123L, OrderStatus.CANCELLED);
+        verify(orderOutboxService).append(OrderEventType.ORDER_CANCELLED, response);
+        verify(salesRollupService).recordStatusChange(response, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(orderRepository, never()).findById(anyLong());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao cancelar pedido inexistente")
+    void shouldThrowWhenCancelUnknownOrder() {
+        when(orderRepository.updateStatusIfCurrent(anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.cancelOrder(1L, 5L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Pedido não encontrado");
     }
 
     @Test
@@ -209,11 +263,13 @@ class OrderServiceTest {
                 .status(OrderStatus.PENDING)
                 .build();
 
+        when(orderRepository.updateStatusIfCurrent(anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
         when(orderRepository.findById(50L)).thenReturn(Optional.of(order));
 
         assertThatThrownBy(() -> orderService.cancelOrder(1L, 50L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Pedido não pertence ao usuário");
+        verify(orderHistoryService, never()).updateStatus(anyLong(), any());
     }
 
     @Test
@@ -225,10 +281,43 @@ class OrderServiceTest {
                 .status(OrderStatus.CONFIRMED)
                 .build();
 
+        when(orderRepository.updateStatusIfCurrent(anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
         when(orderRepository.findById(77L)).thenReturn(Optional.of(order));
 
         assertThatThrownBy(() -> orderService.cancelOrder(1L, 77L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Apenas pedidos pendentes podem ser cancelados");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido na paginação")
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> orderService.getUserOrderPage(1L, "nao-e-um-cursor", 10))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cursor inválido");
+    }
+
+    @Test
+    @DisplayName("Deve devolver cursor apenas quando houver próxima página")
+    void shouldReturnNextCursorOnlyWhenThereAreMoreOrders() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSummaryResponse> rows = List.of(
+                new OrderSummaryResponse(3L, OrderStatus.PENDING, BigDecimal.TEN, 1L, now),
+                new OrderSummaryResponse(2L, OrderStatus.PENDING, BigDecimal.TEN, 2L, now.minusMinutes(1)),
+                new OrderSummaryResponse(1L, OrderStatus.PENDING, BigDecimal.TEN, 1L, now.minusMinutes(2)));
+        when(orderRepository.findByUserIdOrderByCreatedAtDesc(eq(1L), any(Limit.class))).thenReturn(rows);
+
+        OrderPageResponse page = orderService.getUserOrderPage(1L, null, 2);
+
+        assertThat(page.getOrders()).extracting(OrderSummaryResponse::getId).containsExactly(3L, 2L);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        when(orderRepository.findByUserIdOrderByCreatedAtDesc(eq(1L), eq(now.minusMinutes(1)), eq(2L), any(Limit.class)))
+                .thenReturn(rows.subList(2, 3));
+
+        OrderPageResponse next = orderService.getUserOrderPage(1L, page.getNextCursor(), 2);
+
+        assertThat(next.getOrders()).extracting(OrderSummaryResponse::getId).containsExactly(1L);
+        assertThat(next.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.PasswordHashingConfig;
+import com.valderson.shoppingcart.security.PasswordEncoders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Vazão de logins (conferência de senha) por configuração de hash, com todos os núcleos ocupados.
+// Roda só sob demanda: mvn test -Dtest=PasswordHashingBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Hash de senha - Benchmark de vazão de login")
+class PasswordHashingBenchmarkTest {
+
+    private static final String PASSWORD = "senhaDeBenchmark123";
+    private static final long WARMUP_MILLIS = 2000;
+    private static final long MEASURE_MILLIS = 5000;
+
+    @ParameterizedTest(name = "{0} ({1})")
+    @CsvSource({
+            "bcrypt, 10",
+            "bcrypt, 12",
+            "bcrypt, 14",
+            "pbkdf2, 310000",
+            "pbkdf2, 600000",
+            "argon2, 19456",
+            "argon2, 65536",
+            "scrypt, 32768",
+            "scrypt, 131072"
+    })
+    @DisplayName("Deve medir logins por segundo em cada configuração")
+    void shouldMeasureLoginThroughput(String algorithm, int cost) throws Exception {
+        // Argon2 e scrypt só entram com o BouncyCastle no classpath
+        boolean memoryHard = algorithm.equals("argon2") || algorithm.equals("scrypt");
+        assumeTrue(!memoryHard || ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", null));
+
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setAlgorithm(algorithm);
+        config.setPbkdf2Iterations(cost);
+        config.setArgon2Memory(cost);
+        config.setScryptCpuCost(cost);
+        PasswordEncoder encoder = PasswordEncoders.delegating(config, algorithm.equals("bcrypt") ? cost : 10);
+
+        String hash = encoder.encode(PASSWORD);
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+
+        run(encoder, hash, WARMUP_MILLIS);
+        long logins = run(encoder, hash, MEASURE_MILLIS);
+
+        double perSecond = logins * 1000.0 / MEASURE_MILLIS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s cost=%-7d threads=%-3d logins/s=%8.1f  ms/login/thread=%7.1f%n",
+                algorithm, cost, threads, perSecond, threads * 1000.0 / perSecond);
+    }
+
+    private long run(PasswordEncoder encoder, String hash, long millis) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    encoder.matches(PASSWORD, hash);
+                    count++;
+                }
+                return count;
+            }));
+        }
+
+        long total = 0;
+        for (Future<Long> worker : workers) {
+            total += worker.get();
+        }
+        executor.shutdown();
+        return total;
+    }
+}
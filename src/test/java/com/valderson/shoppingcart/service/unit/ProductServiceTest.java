@@ -3,6 +3,8 @@ package com.valderson.shoppingcart.service.unit;
 import com.valderson.shoppingcart.dto.response.ProductResponse;
 import com.valderson.shoppingcart.entity.Product;
 import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.service.CurrencyConverter;
+import com.valderson.shoppingcart.service.ExchangeRateService;
 import com.valderson.shoppingcart.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +33,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -108,4 +113,20 @@ class ProductServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Produto não encontrado");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve converter os preços para a moeda pedida")
+    void shouldConvertPricesToRequestedCurrency() {
+        when(productRepository.findAllByOrderByCreatedAtDesc()).thenReturn(List.of(mockProduct));
+        when(exchangeRateService.converterFor("USD"))
+                .thenReturn(CurrencyConverter.of("USD", new BigDecimal("0.2")));
+
+        List<ProductResponse> responses = productService.getAllProducts("USD");
+
+        assertThat(responses).singleElement().satisfies(response -> {
+            assertThat(response.getPrice()).isEqualByComparingTo("4.00");
+            assertThat(response.getCurrency()).isEqualTo("USD");
+        });
+        verify(exchangeRateService, times(1)).converterFor("USD");
+    }
+}
@@ -0,0 +1,82 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.entity.Coupon;
+import com.valderson.shoppingcart.enums.CouponType;
+import com.valderson.shoppingcart.service.PromotionRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PromotionRule - Testes Unitários")
+class PromotionRuleTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "PERCENTAGE, 10, 5.00",
+            "PERCENTAGE, 15, 7.50",
+            "FIXED, 20, 20.00",
+            "FIXED, 80, 50.00"
+    })
+    @DisplayName("Deve calcular desconto percentual e fixo sobre o carrinho")
+    void shouldApplyPercentageAndFixedDiscounts(CouponType type, String value, String expectedDiscount) {
+        PromotionRule rule = PromotionRule.compile(Coupon.builder()
+                .code("CUPOM").type(type).value(new BigDecimal(value)).build());
+
+        PromotionRule.Pricing pricing = price(rule);
+
+        assertThat(pricing.getSubtotal()).isEqualByComparingTo("50.00");
+        assertThat(pricing.getDiscount()).isEqualByComparingTo(expectedDiscount);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2, 1, 10.00",
+            "1, 1, 10.00",
+            "3, 2, 0"
+    })
+    @DisplayName("Deve dar unidades grátis a cada grupo completo no leve X ganhe Y")
+    void shouldApplyBuyXGetY(int buy, int free, String expectedDiscount) {
+        PromotionRule rule = PromotionRule.compile(Coupon.builder()
+                .code("LEVE").type(CouponType.BUY_X_GET_Y).productId(1L)
+                .buyQuantity(buy).freeQuantity(free).build());
+
+        // 3 unidades de 10.00 do produto 1 e 1 unidade de 20.00 do produto 2
+        assertThat(price(rule).getDiscount()).isEqualByComparingTo(expectedDiscount);
+    }
+
+    @Test
+    @DisplayName("Não deve dar desconto abaixo do gasto mínimo ou com cupom expirado")
+    void shouldRespectMinSpendAndExpiry() {
+        PromotionRule minSpend = PromotionRule.compile(Coupon.builder()
+                .code("MIN").type(CouponType.FIXED).value(BigDecimal.TEN).minSpend(new BigDecimal("100")).build());
+        PromotionRule expired = PromotionRule.compile(Coupon.builder()
+                .code("VELHO").type(CouponType.FIXED).value(BigDecimal.TEN)
+                .expiresAt(LocalDateTime.now().minusDays(1)).build());
+
+        assertThat(price(minSpend).getDiscount()).isZero();
+        assertThat(price(expired).getDiscount()).isZero();
+        assertThat(price(PromotionRule.NONE).getTotal()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Deve limitar o desconto ao produto do cupom")
+    void shouldRestrictDiscountToProduct() {
+        PromotionRule rule = PromotionRule.compile(Coupon.builder()
+                .code("PROD").type(CouponType.PERCENTAGE).value(BigDecimal.valueOf(50)).productId(2L).build());
+
+        assertThat(price(rule).getDiscount()).isEqualByComparingTo("10.00");
+    }
+
+    private PromotionRule.Pricing price(PromotionRule rule) {
+        PromotionRule.Pricing pricing = rule.start();
+        pricing.add(1L, BigDecimal.TEN, 3, new BigDecimal("30.00"));
+        pricing.add(2L, new BigDecimal("20.00"), 1, new BigDecimal("20.00"));
+        return pricing;
+    }
+}
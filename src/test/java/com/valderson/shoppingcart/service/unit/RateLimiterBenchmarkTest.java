@@ -0,0 +1,80 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.AuthRateLimitConfig;
+import com.valderson.shoppingcart.service.AuthRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Custo do limite por tentativa de login (IP + email), com várias threads disputando os mesmos baldes.
+// Roda só sob demanda: mvn test -Dtest=RateLimiterBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("AuthRateLimiter - Benchmark de custo por requisição")
+class RateLimiterBenchmarkTest {
+
+    private static final int KEYS = 10_000;
+    private static final long WARMUP_MILLIS = 2000;
+    private static final long MEASURE_MILLIS = 5000;
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = {1, 4, 16})
+    @DisplayName("Deve custar menos de um microssegundo por tentativa")
+    void shouldStayUnderOneMicrosecond(int threads) throws Exception {
+        AuthRateLimitConfig config = new AuthRateLimitConfig();
+        config.setLogin(new AuthRateLimitConfig.Limit(1_000_000, 1_000_000, 1_000_000, 1_000_000));
+        AuthRateLimiter limiter = new AuthRateLimiter(config, new SimpleMeterRegistry());
+
+        String[] ips = new String[KEYS];
+        String[] emails = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            ips[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+            emails[i] = "usuario" + i + "@email.com";
+        }
+
+        run(limiter, ips, emails, threads, WARMUP_MILLIS);
+        long calls = run(limiter, ips, emails, threads, MEASURE_MILLIS);
+
+        // Tempo de CPU por chamada: com mais threads que núcleos, as excedentes só se revezam
+        int busyCores = Math.min(threads, Runtime.getRuntime().availableProcessors());
+        double nanosPerCall = TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS) * (double) busyCores / calls;
+        System.out.printf("threads=%-3d cores=%-3d calls=%-12d ns/call=%7.1f%n", threads, busyCores, calls, nanosPerCall);
+        assertThat(nanosPerCall).isLessThan(1000.0);
+    }
+
+    private long run(AuthRateLimiter limiter, String[] ips, String[] emails, int threads, long millis) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            workers.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    int i = (int) ((count + offset) % KEYS);
+                    limiter.tryAcquireLogin(ips[i], emails[i]);
+                    count++;
+                }
+                return count;
+            }));
+        }
+
+        long total = 0;
+        for (Future<Long> worker : workers) {
+            total += worker.get();
+        }
+        executor.shutdown();
+        return total;
+    }
+}
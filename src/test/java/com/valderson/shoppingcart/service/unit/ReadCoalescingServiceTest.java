@@ -0,0 +1,96 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.dto.response.CartResponse;
+import com.valderson.shoppingcart.event.CartChangedEvent;
+import com.valderson.shoppingcart.service.CartService;
+import com.valderson.shoppingcart.service.ProductService;
+import com.valderson.shoppingcart.service.ReadCoalescingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReadCoalescingService - Testes Unitários")
+class ReadCoalescingServiceTest {
+
+    private CartService cartService;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadCoalescingService readCoalescingService;
+
+    @BeforeEach
+    void setUp() {
+        cartService = mock(CartService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        readCoalescingService = new ReadCoalescingService(cartService, mock(ProductService.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única carga para leituras simultâneas do mesmo carrinho")
+    void shouldShareInFlightLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        CartResponse cart = CartResponse.builder().id(100L).userId(1L).build();
+
+        when(cartService.getCartByUserId(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return cart;
+        });
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<CartResponse>> results = new ArrayList<>();
+        results.add(executor.submit(() -> readCoalescingService.getCartByUserId(1L)));
+        loadStarted.await(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 9; i++) {
+            results.add(executor.submit(() -> readCoalescingService.getCartByUserId(1L)));
+        }
+        // Aguarda os seguidores encontrarem a carga em andamento antes de liberá-la
+        while (meterRegistry.get("read.coalescing.joined").tag("read", "cart").functionCounter().count() < 9) {
+            Thread.sleep(5);
+        }
+        releaseLoad.countDown();
+
+        for (Future<CartResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(cart);
+        }
+        executor.shutdown();
+
+        verify(cartService, times(1)).getCartByUserId(1L);
+        assertThat(meterRegistry.get("read.coalescing.ratio").tag("read", "cart").gauge().value())
+                .isEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção da carga para quem chamou")
+    void shouldPropagateLoadFailure() {
+        when(cartService.getCartByUserId(99L)).thenThrow(new RuntimeException("Usuário não encontrado"));
+
+        assertThatThrownBy(() -> readCoalescingService.getCartByUserId(99L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Usuário não encontrado");
+    }
+
+    @Test
+    @DisplayName("Deve iniciar nova carga após alteração do carrinho")
+    void shouldReloadAfterInvalidation() {
+        when(cartService.getCartByUserId(1L)).thenReturn(CartResponse.builder().id(100L).build());
+
+        readCoalescingService.getCartByUserId(1L);
+        readCoalescingService.onCartChanged(new CartChangedEvent(1L));
+        readCoalescingService.getCartByUserId(1L);
+
+        verify(cartService, times(2)).getCartByUserId(1L);
+    }
+}
@@ -0,0 +1,124 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.RecommendationConfig;
+import com.valderson.shoppingcart.dto.projection.OrderProductPair;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.RelatedProductResponse;
+import com.valderson.shoppingcart.repository.OrderItemRepository;
+import com.valderson.shoppingcart.repository.OrderRepository;
+import com.valderson.shoppingcart.service.RecommendationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RecommendationService - Testes Unitários")
+class RecommendationServiceTest {
+
+    private OrderItemRepository orderItemRepository;
+    private OrderRepository orderRepository;
+    private RecommendationConfig config;
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        orderItemRepository = mock(OrderItemRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        config = new RecommendationConfig();
+        recommendationService = new RecommendationService(orderItemRepository, orderRepository, config);
+    }
+
+    @Test
+    @DisplayName("Deve recomendar os produtos comprados juntos com mais frequência")
+    void shouldRankProductsBoughtTogether() {
+        recommendationService.recordOrder(order(1L, 2L, 3L));
+        recommendationService.recordOrder(order(1L, 2L));
+        recommendationService.recordOrder(order(1L, 4L));
+        recommendationService.recordOrder(order(1L, 2L, 4L));
+
+        assertThat(recommendationService.getRelated(1L, 10))
+                .extracting(RelatedProductResponse::getProductId, RelatedProductResponse::getOrders)
+                .containsExactly(tuple(2L, 3), tuple(4L, 2), tuple(3L, 1));
+        assertThat(recommendationService.getRelated(1L, 1)).hasSize(1);
+        assertThat(recommendationService.getRelated(99L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve somar os vizinhos de um conjunto de produtos e excluir os próprios produtos")
+    void shouldRecommendForProductSet() {
+        recommendationService.recordOrder(order(1L, 3L));
+        recommendationService.recordOrder(order(2L, 3L));
+        recommendationService.recordOrder(order(2L, 4L));
+        recommendationService.recordOrder(order(1L, 2L));
+
+        assertThat(recommendationService.getRelated(Set.of(1L, 2L), 10))
+                .extracting(RelatedProductResponse::getProductId, RelatedProductResponse::getOrders)
+                .containsExactly(tuple(3L, 2), tuple(4L, 1));
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas os vizinhos mais frequentes de cada produto")
+    void shouldPruneRareNeighbors() {
+        config.setMaxNeighbors(2);
+        recommendationService.recordOrder(order(1L, 2L));
+        recommendationService.recordOrder(order(1L, 2L));
+        recommendationService.recordOrder(order(1L, 3L));
+        for (long other = 10; other < 20; other++) {
+            recommendationService.recordOrder(order(1L, other));
+        }
+
+        assertThat(recommendationService.getRelated(1L, 50).size()).isLessThanOrEqualTo(4);
+        assertThat(recommendationService.getRelated(1L, 1))
+                .extracting(RelatedProductResponse::getProductId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir a partir dos itens de pedido com o mesmo resultado do incremental")
+    void shouldRebuildFromOrderItems() {
+        // Pedidos suficientes para a reconstrução dividir o trabalho entre tarefas
+        List<OrderProductPair> pairs = new ArrayList<>();
+        RecommendationService incremental = new RecommendationService(orderItemRepository, orderRepository, config);
+        for (long orderId = 1; orderId <= 5000; orderId++) {
+            long[] products = {orderId % 7 + 1, orderId % 11 + 20, orderId % 3 + 40};
+            for (long product : products) {
+                pairs.add(new OrderProductPair(orderId, product));
+            }
+            incremental.recordOrder(order(products));
+        }
+        when(orderRepository.findMaxId()).thenReturn(5000L);
+        when(orderItemRepository.findOrderProductPairs(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            long upTo = invocation.getArgument(1);
+            return pairs.stream().filter(pair -> pair.orderId() > after && pair.orderId() <= upTo).toList();
+        });
+        config.setRebuildPageSize(1000);
+
+        int orders = recommendationService.rebuild();
+
+        assertThat(orders).isEqualTo(5000);
+        for (long product : new long[]{1, 7, 20, 30, 40, 42}) {
+            assertThat(recommendationService.getRelated(product, 50))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(incremental.getRelated(product, 50));
+        }
+        verify(orderItemRepository, times(5)).findOrderProductPairs(anyLong(), anyLong());
+    }
+
+    private OrderResponse order(long... productIds) {
+        return OrderResponse.builder()
+                .items(Arrays.stream(productIds)
+                        .mapToObj(id -> OrderItemResponse.builder().productId(id).quantity(1).build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.dto.request.RepricingRequest;
+import com.valderson.shoppingcart.enums.RepricingRounding;
+import com.valderson.shoppingcart.service.RepricingRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RepricingRule - Testes Unitários")
+class RepricingRuleTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "-10, NONE, 19.99, 17.99",
+            "-10, NONE, 10.05, 9.05",
+            "5, NONE, 10.00, 10.50",
+            "-10, NEAREST_TEN_CENTS, 19.99, 18.00",
+            "-10, ENDING_99, 19.99, 17.99",
+            "-10, ENDING_99, 25.00, 22.99",
+            "-90, ENDING_99, 1.00, 0.99"
+    })
+    @DisplayName("Deve aplicar o percentual e o arredondamento em centavos")
+    void shouldApplyPercentageAndRounding(String percentage, RepricingRounding rounding,
+                                          String price, String expected) {
+        RepricingRule rule = RepricingRule.compile(RepricingRequest.builder()
+                .percentage(new BigDecimal(percentage))
+                .rounding(rounding)
+                .build());
+
+        long repriced = rule.apply(RepricingRule.toCents(new BigDecimal(price)));
+
+        assertThat(RepricingRule.fromCents(repriced)).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    @DisplayName("Não deve reduzir o preço abaixo do mínimo")
+    void shouldRespectMinimumPrice() {
+        RepricingRule rule = RepricingRule.compile(RepricingRequest.builder()
+                .percentage(new BigDecimal("-50"))
+                .minPrice(new BigDecimal("8.00"))
+                .build());
+
+        assertThat(rule.apply(1000)).isEqualTo(800);
+        assertThat(rule.apply(3000)).isEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como fora do limite o preço que não cabe na coluna")
+    void shouldFlagPriceAboveColumnLimit() {
+        RepricingRule rule = RepricingRule.compile(RepricingRequest.builder()
+                .percentage(new BigDecimal("1000"))
+                .build());
+
+        assertThat(rule.apply(909_090_909L)).isEqualTo(RepricingRule.MAX_CENTS);
+        assertThat(rule.apply(909_090_910L)).isEqualTo(RepricingRule.OUT_OF_RANGE);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar preço mínimo acima do maior preço permitido")
+    void shouldRejectMinimumPriceAboveColumnLimit() {
+        assertThatThrownBy(() -> RepricingRule.compile(RepricingRequest.builder()
+                .percentage(BigDecimal.ONE)
+                .minPrice(new BigDecimal("100000000.00"))
+                .build()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Preço mínimo acima do maior preço permitido");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a regra apenas no intervalo informado do array")
+    void shouldApplyToRange() {
+        RepricingRule rule = RepricingRule.compile(RepricingRequest.builder()
+                .percentage(BigDecimal.TEN)
+                .build());
+        long[] prices = {1000, 2000, 3000};
+        long[] result = new long[3];
+
+        rule.applyAll(prices, result, 1, 3);
+
+        assertThat(result).containsExactly(0, 2200, 3300);
+    }
+}
@@ -0,0 +1,114 @@
+package com.valderson.shoppingcart.service.unit;
+
+import com.valderson.shoppingcart.config.TrendingConfig;
+import com.valderson.shoppingcart.dto.response.OrderItemResponse;
+import com.valderson.shoppingcart.dto.response.OrderResponse;
+import com.valderson.shoppingcart.dto.response.TrendingProductResponse;
+import com.valderson.shoppingcart.entity.Product;
+import com.valderson.shoppingcart.repository.ProductRepository;
+import com.valderson.shoppingcart.service.TrendingService;
+import com.valderson.shoppingcart.util.HeavyHitters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TrendingService - Testes Unitários")
+class TrendingServiceTest {
+
+    private ProductRepository productRepository;
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Product> products = new ArrayList<>();
+            ids.forEach(id -> products.add(Product.builder().id(id).name("Produto " + id).price(BigDecimal.TEN).build()));
+            return products;
+        });
+        trendingService = new TrendingService(new TrendingConfig(), productRepository);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar produtos pela demanda, com compras pesando mais que carrinho")
+    void shouldRankByWeightedDemand() {
+        trendingService.recordAddToCart(1L, 5);
+        trendingService.recordAddToCart(2L, 1);
+        trendingService.recordCheckout(OrderResponse.builder()
+                .items(List.of(OrderItemResponse.builder().productId(3L).quantity(2).build()))
+                .build());
+
+        List<TrendingProductResponse> trending = trendingService.getTrending(10);
+
+        assertThat(trending).extracting(TrendingProductResponse::getProductId).containsExactly(3L, 1L, 2L);
+        assertThat(trending.get(0).getScore()).isEqualTo(6.0);
+        assertThat(trending.get(0).getName()).isEqualTo("Produto 3");
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de produtos devolvidos")
+    void shouldRespectLimit() {
+        for (long productId = 1; productId <= 20; productId++) {
+            trendingService.recordAddToCart(productId, (int) productId);
+        }
+
+        assertThat(trendingService.getTrending(3)).extracting(TrendingProductResponse::getProductId)
+                .containsExactly(20L, 19L, 18L);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar apenas os produtos mais frequentes com memória fixa")
+    void shouldKeepOnlyHeavyHitters() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 4, 3, 1000, 0.5, 5);
+
+        for (long key = 1; key <= 1000; key++) {
+            heavyHitters.add(key, 1, 0);
+        }
+        for (long key = 1; key <= 5; key++) {
+            heavyHitters.add(key * 1000, 500, 0);
+        }
+
+        assertThat(heavyHitters.top(10, 0)).extracting(HeavyHitters.Entry::key)
+                .containsExactlyInAnyOrder(1000L, 2000L, 3000L, 4000L, 5000L);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a pontuação de quem já está no ranking e admitir quem passa do menor")
+    void shouldUpdateRankedKeysAndAdmitNewLeaders() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 4, 3, 1000, 0.5, 2);
+        heavyHitters.add(1L, 5, 0);
+        heavyHitters.add(2L, 3, 0);
+
+        // Chave 2 já acompanhada: passa à frente só com atualizações da própria pontuação
+        heavyHitters.add(2L, 4, 0);
+        assertThat(heavyHitters.top(2, 0)).extracting(HeavyHitters.Entry::key).containsExactly(2L, 1L);
+
+        // Chave nova abaixo do menor não entra; acima dele, entra e tira o menor
+        heavyHitters.add(3L, 4, 0);
+        assertThat(heavyHitters.top(3, 0)).extracting(HeavyHitters.Entry::key).containsExactly(2L, 1L);
+        heavyHitters.add(3L, 4, 0);
+        assertThat(heavyHitters.top(3, 0)).extracting(HeavyHitters.Entry::key).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o peso de janelas antigas e esquecer as que saíram do período")
+    void shouldDecayOlderWindows() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 4, 3, 1000, 0.5, 10);
+        heavyHitters.add(1L, 8, 0);
+
+        assertThat(heavyHitters.estimate(1L, 500)).isEqualTo(8.0);
+        assertThat(heavyHitters.estimate(1L, 1500)).isEqualTo(4.0);
+        assertThat(heavyHitters.estimate(1L, 2500)).isEqualTo(2.0);
+        assertThat(heavyHitters.estimate(1L, 3500)).isZero();
+        assertThat(heavyHitters.top(10, 3500)).isEmpty();
+    }
+}